@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Side-by-side load test of the servlet API (sms-api-controller, port 8080) and the reactive API
+# (sms-api-reactive, port 8081). Both are started from their packaged jars with the dev,h2 profiles,
+# driven with the same `hey` run and compared on throughput, latency and resident memory. hey repeats one
+# body, so the servlet API runs with repeat suppression off; otherwise every repeat would be answered with 409.
+#
+# Usage: scripts/compare-servlet-reactive.sh [connections] [duration]
+#   connections  concurrent connections kept open by hey (default 200)
+#   duration     length of each run, in hey format (default 30s)
+#
+# Requires: hey (https://github.com/rakyll/hey), curl, ps. Build first with ./mvnw -DskipTests package.
+
+set -euo pipefail
+
+CONNECTIONS=${1:-200}
+DURATION=${2:-30s}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=$(mktemp -d)
+BODY='{"from":"+1987654321","to":"+1234567890","message":"Load test message that is long enough to be split into two parts once the configured maximum length of one hundred and sixty characters is exceeded by the sender."}'
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+
+rss_kb() {
+    ps -o rss= -p "$1" | tr -d ' '
+}
+
+wait_for() {
+    for _ in $(seq 120); do
+        curl -sf "http://localhost:$1/actuator/health" >/dev/null && return 0
+        sleep 1
+    done
+    echo "Application on port $1 did not start" >&2
+    return 1
+}
+
+run() {
+    local name=$1 jar=$2 port=$3
+    shift 3
+    java -Xmx512m -jar "$jar" --server.port="$port" --logging.level.com.coffeepaw=WARN "$@" >"$WORK/$name.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+    wait_for "$port"
+
+    # Warm up so JIT compilation does not count against either stack
+    hey -z 10s -c 20 -m POST -T application/json -d "$BODY" "http://localhost:$port/api/sms" >/dev/null
+    local idle
+    idle=$(rss_kb "$pid")
+
+    hey -z "$DURATION" -c "$CONNECTIONS" -m POST -T application/json -d "$BODY" \
+        "http://localhost:$port/api/sms" >"$WORK/$name.hey" &
+    local hey_pid=$!
+    local peak=$idle
+    while kill -0 "$hey_pid" 2>/dev/null; do
+        local now
+        now=$(rss_kb "$pid")
+        (( now > peak )) && peak=$now
+        sleep 1
+    done
+
+    local rps p50 p99 errors
+    rps=$(awk '/Requests\/sec/ {print $2}' "$WORK/$name.hey")
+    p50=$(awk '/50%+ in/ {print $3}' "$WORK/$name.hey")
+    p99=$(awk '/99%+ in/ {print $3}' "$WORK/$name.hey")
+    errors=$(awk '/^  \[[^2][0-9][0-9]\]/ {sum += $2} END {print sum + 0}' "$WORK/$name.hey")
+    printf '%-9s %10s %10s %10s %8s %10s %10s %12s\n' "$name" "$rps" "$p50" "$p99" "$errors" \
+        "$((idle / 1024))" "$((peak / 1024))" "$(( (peak - idle) / CONNECTIONS ))"
+}
+
+echo "connections=$CONNECTIONS duration=$DURATION (latencies in seconds, memory in MiB, per connection in KiB)"
+printf '%-9s %10s %10s %10s %8s %10s %10s %12s\n' stack req/s p50 p99 non-2xx idle-rss peak-rss rss/conn
+run servlet "$ROOT/sms-api-controller/target/sms-api-controller-0.0.1-SNAPSHOT.jar" 8080 --sms.dedup.enabled=false
+run reactive "$ROOT/sms-api-reactive/target/sms-api-reactive-0.0.1-SNAPSHOT.jar" 8081
+echo "Raw hey output and application logs: $WORK"
@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Measures startup time and resident memory of the servlet API in its different packagings.
+#
+# Usage: scripts/measure-startup.sh <mode> [runs]
+#   mode  jar     plain executable jar           (./mvnw -pl sms-api-controller -am package -DskipTests)
+#         aot     AOT-processed, extracted jar   (./mvnw -pl sms-api-controller -am package -Paot -DskipTests)
+#         cds     aot plus the CDS archive       (same build as aot)
+#         native  GraalVM native executable      (./mvnw -pl sms-api-controller -am package -Pnative -DskipTests)
+#   runs  number of starts, reported as min / median / max (default 5)
+#
+# Every start uses an in-memory H2 database so no MySQL is needed. Time to ready is measured from launch until
+# /actuator/health answers; RSS is read with ps once the application is ready and after a short burst of requests.
+
+set -euo pipefail
+
+MODE=${1:?usage: $0 jar|aot|cds|native [runs]}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+TARGET="$ROOT/sms-api-controller/target"
+JAR=sms-api-controller-0.0.1-SNAPSHOT.jar
+DB_ARGS=(--spring.datasource.url=jdbc:h2:mem:startup --spring.datasource.driver-class-name=org.h2.Driver
+    --spring.datasource.username=sa --spring.datasource.password=
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect --server.port="$PORT"
+    --sms.security.api-key.pepper=startup-measurement)
+
+case "$MODE" in
+    jar) DIR=$TARGET; CMD=(java -jar "$JAR") ;;
+    aot) DIR=$TARGET/cds; CMD=(java -Dspring.aot.enabled=true -jar "$JAR") ;;
+    cds) DIR=$TARGET/cds; CMD=(java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR") ;;
+    native) DIR=$TARGET; CMD=(./sms-api) ;;
+    *) echo "Unknown mode $MODE" >&2; exit 1 ;;
+esac
+
+now_ms() {
+    date +%s%3N
+}
+
+summary() {
+    sort -n | awk '{v[NR] = $1} END {printf "min %s  median %s  max %s\n", v[1], v[int((NR + 1) / 2)], v[NR]}'
+}
+
+startup=()
+ready_rss=()
+loaded_rss=()
+cd "$DIR"
+for run in $(seq "$RUNS"); do
+    start=$(now_ms)
+    "${CMD[@]}" "${DB_ARGS[@]}" >"/tmp/measure-startup-$MODE.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do
+        kill -0 "$pid" 2>/dev/null || { echo "Application exited, see /tmp/measure-startup-$MODE.log" >&2; exit 1; }
+        sleep 0.02
+    done
+    startup+=($(( $(now_ms) - start )))
+    ready_rss+=($(( $(ps -o rss= -p "$pid") / 1024 )))
+
+    for _ in $(seq 200); do
+        curl -s -o /dev/null -X POST -H 'Content-Type: application/json' \
+            -d '{"from":"+1987654321","to":"+1234567890","message":"Startup measurement"}' \
+            "http://localhost:$PORT/api/sms"
+    done
+    loaded_rss+=($(( $(ps -o rss= -p "$pid") / 1024 )))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "run $run: ready in ${startup[-1]} ms, rss ${ready_rss[-1]} MiB ready / ${loaded_rss[-1]} MiB after requests"
+done
+
+echo "mode=$MODE runs=$RUNS"
+echo "time to ready (ms):      $(printf '%s\n' "${startup[@]}" | summary)"
+echo "rss when ready (MiB):    $(printf '%s\n' "${ready_rss[@]}" | summary)"
+echo "rss after requests (MiB): $(printf '%s\n' "${loaded_rss[@]}" | summary)"
@@ -1,25 +1,28 @@
 package com.coffeepaw.smsapi.controller;
 
+import com.coffeepaw.smsapi.controller.config.SmsApiRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+/**
+ * Components only live in the controller and service packages; repositories and entities are picked up by
+ * their dedicated scans, so the component scan does not walk the other modules on startup.
+ */
 @SpringBootApplication(scanBasePackages = {
-        "com.coffeepaw.smsapi",
         "com.coffeepaw.smsapi.controller",
-        "com.coffeepaw.smsapi.service",
-        "com.coffeepaw.smsapi.repository",
-        "com.coffeepaw.smsapi.mapper",
-        "com.coffeepaw.smsapi.model"
+        "com.coffeepaw.smsapi.service"
 })
 @EnableJpaRepositories(basePackages = "com.coffeepaw.smsapi.repository")
 @EnableJpaAuditing
 @EntityScan(basePackages = "com.coffeepaw.smsapi.model")
+@ImportRuntimeHints(SmsApiRuntimeHints.class)
 public class SmsApiControllerApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(SmsApiControllerApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.coffeepaw.smsapi.controller.config;
+
+import com.coffeepaw.smsapi.service.ApiKeyService;
+import com.coffeepaw.smsapi.service.auth.ApiKeyPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying an {@code X-API-Key} header. Requests without the header continue to the other
+ * authentication mechanisms; requests with an unknown or revoked key are rejected with 401.
+ */
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-API-Key";
+
+    private final ApiKeyService apiKeyService;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public ApiKeyAuthenticationFilter(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presentedKey = request.getHeader(HEADER);
+        if (presentedKey == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Optional<ApiKeyPrincipal> principal = apiKeyService.authenticate(presentedKey);
+        if (principal.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid API key");
+            return;
+        }
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal.get(), null,
+                AuthorityUtils.createAuthorityList("ROLE_API_CLIENT")));
+        securityContextHolderStrategy.setContext(context);
+        filterChain.doFilter(request, response);
+    }
+}
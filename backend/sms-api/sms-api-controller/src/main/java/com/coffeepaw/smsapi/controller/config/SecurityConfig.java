@@ -1,9 +1,11 @@
 package com.coffeepaw.smsapi.controller.config;
 
+import com.coffeepaw.smsapi.service.ApiKeyService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.userdetails.User;
@@ -12,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
@@ -22,7 +25,7 @@ public class SecurityConfig {
     @Value("${SMS_API_PASSWORD:password}") // default "password" if env var missing
     private String password;
 
-    @Value("${SMS_API_ROLES:USER}") // default role USER if missing
+    @Value("${SMS_API_ROLES:USER}") // default role USER if missing; admin endpoints need SMS_API_ROLES=USER,ADMIN
     private String roles;
 
     @Bean
@@ -36,18 +39,28 @@ public class SecurityConfig {
 
     @Bean
     @Profile("prod")
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ApiKeyService apiKeyService) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
+                                "/error",
                                 "/actuator/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**")
                         .permitAll()
+                        // API clients may only send; everything else is for operators
+                        .requestMatchers(HttpMethod.POST, "/api/sms", "/api/sms/stream")
+                        .hasAnyRole("API_CLIENT", "USER", "ADMIN")
+                        .requestMatchers("/api/sms/api-keys/**", "/api/sms/blocklist/**", "/api/sms/routes/**",
+                                "/api/sms/stats/**", "/api/sms/dead-letters/**", "/api/sms/configuration/**")
+                        .hasRole("ADMIN")
                         .anyRequest()
-                        .authenticated()
+                        .hasAnyRole("USER", "ADMIN")
                 )
+                // API clients authenticate with X-API-Key (one HMAC, cached credential);
+                // HTTP Basic with BCrypt stays for operators
+                .addFilterBefore(new ApiKeyAuthenticationFilter(apiKeyService), BasicAuthenticationFilter.class)
                 .httpBasic(httpBasic -> {
                 });
 
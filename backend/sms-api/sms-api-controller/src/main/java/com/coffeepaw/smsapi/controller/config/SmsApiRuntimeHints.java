@@ -0,0 +1,79 @@
+package com.coffeepaw.smsapi.controller.config;
+
+import com.coffeepaw.smsapi.mapper.ApiKeyMapper;
+import com.coffeepaw.smsapi.mapper.SmsConfigurationMapper;
+import com.coffeepaw.smsapi.mapper.SmsDeadLetterMapper;
+import com.coffeepaw.smsapi.mapper.SmsRouteMapper;
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.model.AuditModel;
+import com.coffeepaw.smsapi.model.BlocklistAction;
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import com.coffeepaw.smsapi.model.PartitionLease;
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsConfiguration;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsNode;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsRoute;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.model.SmsUsage;
+import com.coffeepaw.smsapi.model.dto.ApiKeyDto;
+import com.coffeepaw.smsapi.model.dto.ApiKeyRequestDto;
+import com.coffeepaw.smsapi.model.dto.BlocklistImportDto;
+import com.coffeepaw.smsapi.model.dto.BlocklistImportResultDto;
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
+import com.coffeepaw.smsapi.model.dto.SmsDeadLetterDto;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.model.dto.SmsRouteDto;
+import com.coffeepaw.smsapi.model.dto.SmsUsageDto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer on its own.
+ */
+public class SmsApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * MapStruct mappers are looked up by name ({@code Mappers.getMapper}) and instantiated reflectively.
+     */
+    private static final List<Class<?>> MAPPERS = List.of(ApiKeyMapper.class, SmsConfigurationMapper.class,
+            SmsDeadLetterMapper.class, SmsRouteMapper.class);
+
+    /**
+     * Entities are read and written by Hibernate through their Lombok-generated accessors and constructors.
+     */
+    private static final List<Class<?>> ENTITIES = List.of(ApiKey.class, AuditModel.class, BlocklistAction.class,
+            BlocklistChange.class, BlocklistEntry.class, PartitionLease.class, Sms.class, SmsConfiguration.class,
+            SmsDeadLetter.class, SmsNode.class, SmsPriority.class, SmsRoute.class, SmsStatus.class, SmsUsage.class);
+
+    /**
+     * DTOs are bound by Jackson, also when they only appear nested or inside collections.
+     */
+    private static final List<Class<?>> DTOS = List.of(ApiKeyDto.class, ApiKeyRequestDto.class,
+            BlocklistImportDto.class, BlocklistImportResultDto.class, MessageDto.class, SmsConfigurationDto.class,
+            SmsDeadLetterDto.class, SmsRequestDto.class, SmsRouteDto.class, SmsUsageDto.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> mapper : MAPPERS) {
+            hints.reflection().registerType(TypeReference.of(mapper.getName() + "Impl"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        for (Class<?> type : ENTITIES) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        for (Class<?> type : DTOS) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("db/changelog/*.yaml");
+    }
+}
@@ -0,0 +1,28 @@
+package com.coffeepaw.smsapi.controller.config;
+
+import com.coffeepaw.smsapi.service.lifecycle.SmsTrafficGate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of this instance for SMS traffic ({@code smsTraffic} in the {@code readiness} health group): down
+ * while warming up and once draining for shutdown.
+ */
+@Component
+public class SmsTrafficHealthIndicator implements HealthIndicator {
+
+    private final SmsTrafficGate smsTrafficGate;
+
+    @Autowired
+    public SmsTrafficHealthIndicator(SmsTrafficGate smsTrafficGate) {
+        this.smsTrafficGate = smsTrafficGate;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = smsTrafficGate.isReady() ? Health.up() : Health.outOfService();
+        return health.withDetail("state", smsTrafficGate.getState()).build();
+    }
+}
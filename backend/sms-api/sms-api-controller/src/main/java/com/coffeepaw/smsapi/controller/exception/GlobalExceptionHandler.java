@@ -1,13 +1,24 @@
 package com.coffeepaw.smsapi.controller.exception;
 
 import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.exception.ShuttingDownException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.aspectj.bridge.Message;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.List;
@@ -17,6 +28,8 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<MessageDto> handleValidationExceptions(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult()
@@ -40,11 +53,79 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<MessageDto> handleMethodValidation(HandlerMethodValidationException ex) {
+        List<String> errors = ex.getAllErrors()
+                .stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+
+        MessageDto response = MessageDto.builder()
+                .message("Validation failed for request")
+                .code(HttpStatus.BAD_REQUEST.value())
+                .errors(errors)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler({LaneSaturatedException.class, GatewayUnavailableException.class, ShuttingDownException.class})
+    public ResponseEntity<MessageDto> handleServiceUnavailable(RuntimeException ex) {
+        MessageDto response = MessageDto.builder()
+                .message(ex.getMessage())
+                .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(RecipientBlockedException.class)
+    public ResponseEntity<MessageDto> handleRecipientBlocked(RecipientBlockedException ex) {
+        MessageDto response = MessageDto.builder()
+                .message(ex.getMessage())
+                .code(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(DuplicateSmsException.class)
+    public ResponseEntity<MessageDto> handleDuplicateSms(DuplicateSmsException ex) {
+        MessageDto response = MessageDto.builder()
+                .message(ex.getMessage())
+                .code(HttpStatus.CONFLICT.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DatabaseTransactionException.class)
+    public ResponseEntity<MessageDto> handleDatabaseTransaction(DatabaseTransactionException ex) {
+        logger.error("Database error while handling request", ex);
+        MessageDto response = MessageDto.builder()
+                .message("SMS could not be stored, please retry later.")
+                .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(SendingException.class)
+    public ResponseEntity<MessageDto> handleSending(SendingException ex) {
+        logger.error("Gateway error while handling request", ex);
+        MessageDto response = MessageDto.builder()
+                .message("SMS could not be delivered, please retry later.")
+                .code(HttpStatus.BAD_GATEWAY.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_GATEWAY);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleOtherExceptions(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unexpected error: " + ex.getMessage());
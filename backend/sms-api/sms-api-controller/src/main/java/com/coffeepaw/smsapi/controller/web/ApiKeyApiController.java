@@ -0,0 +1,50 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.mapper.ApiKeyMapper;
+import com.coffeepaw.smsapi.model.dto.ApiKeyDto;
+import com.coffeepaw.smsapi.model.dto.ApiKeyRequestDto;
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.service.ApiKeyService;
+import com.coffeepaw.smsapi.service.auth.IssuedApiKey;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sms/api-keys")
+public class ApiKeyApiController {
+
+    private final ApiKeyService apiKeyService;
+
+    @Autowired
+    public ApiKeyApiController(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiKeyDto> createApiKey(@Valid @RequestBody ApiKeyRequestDto apiKeyRequestDto) {
+        IssuedApiKey issued = apiKeyService.createApiKey(apiKeyRequestDto.getTenant(), apiKeyRequestDto.getRateTier());
+        ApiKeyDto response = ApiKeyMapper.INSTANCE.toDto(issued.apiKey());
+        response.setApiKey(issued.rawKey());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ApiKeyDto>> getApiKeys() {
+        return ResponseEntity.ok(ApiKeyMapper.INSTANCE.toDtos(apiKeyService.getApiKeys()));
+    }
+
+    @DeleteMapping("/{keyId}")
+    public ResponseEntity<MessageDto> revokeApiKey(@PathVariable String keyId) {
+        apiKeyService.revokeApiKey(keyId);
+        MessageDto response = MessageDto.builder()
+                .message("API key " + keyId + " revoked.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,39 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.model.dto.BlocklistImportDto;
+import com.coffeepaw.smsapi.model.dto.BlocklistImportResultDto;
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.service.BlocklistService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sms/blocklist")
+public class BlocklistApiController {
+
+    private final BlocklistService blocklistService;
+
+    @Autowired
+    public BlocklistApiController(BlocklistService blocklistService) {
+        this.blocklistService = blocklistService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BlocklistImportResultDto> importNumbers(@Valid @RequestBody BlocklistImportDto blocklistImportDto) {
+        return ResponseEntity.ok(blocklistService.importNumbers(blocklistImportDto.getNumbers(),
+                blocklistImportDto.getReason()));
+    }
+
+    @DeleteMapping("/{number}")
+    public ResponseEntity<MessageDto> removeNumber(@PathVariable String number) {
+        blocklistService.removeNumber(number);
+        MessageDto response = MessageDto.builder()
+                .message("Number " + number + " removed from the blocklist.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
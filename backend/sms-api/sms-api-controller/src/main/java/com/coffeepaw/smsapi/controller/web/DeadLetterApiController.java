@@ -0,0 +1,50 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.mapper.SmsDeadLetterMapper;
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.model.dto.SmsDeadLetterDto;
+import com.coffeepaw.smsapi.service.DeadLetterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sms/dead-letters")
+public class DeadLetterApiController {
+
+    private final DeadLetterService deadLetterService;
+
+    @Autowired
+    public DeadLetterApiController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SmsDeadLetterDto>> getPendingDeadLetters() {
+        return ResponseEntity.ok(SmsDeadLetterMapper.INSTANCE.toDtos(deadLetterService.getPendingDeadLetters()));
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<MessageDto> replay(@PathVariable Long id) {
+        deadLetterService.replay(id);
+        MessageDto response = MessageDto.builder()
+                .message("Dead letter " + id + " queued for delivery.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<MessageDto> replayAll() {
+        DeadLetterService.ReplayResult result = deadLetterService.replayAll();
+        MessageDto response = MessageDto.builder()
+                .message(result.replayed() + " dead letters queued for delivery, " + result.failed() + " failed.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,6 +3,9 @@ package com.coffeepaw.smsapi.controller.web;
 import com.coffeepaw.smsapi.model.dto.MessageDto;
 import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
 import com.coffeepaw.smsapi.service.SmsHandlerService;
+import com.coffeepaw.smsapi.service.SmsIngestService;
+import com.coffeepaw.smsapi.service.ingest.SmsFrames;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,18 +15,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/sms")
 public class SmsApiController {
 
     private final SmsHandlerService smsHandlerService;
+    private final SmsIngestService smsIngestService;
 
     @Autowired
-    public SmsApiController(SmsHandlerService smsHandlerService) {
+    public SmsApiController(SmsHandlerService smsHandlerService, SmsIngestService smsIngestService) {
         this.smsHandlerService = smsHandlerService;
+        this.smsIngestService = smsIngestService;
     }
 
     @PostMapping
@@ -36,4 +41,15 @@ public class SmsApiController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Streaming ingest for internal producers: a binary stream of send requests, answered with a stream of
+     * per-request results. The format is described in {@link SmsFrames}.
+     */
+    @PostMapping(path = "/stream", consumes = SmsFrames.MEDIA_TYPE)
+    public void streamSms(InputStream requests, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(SmsFrames.MEDIA_TYPE);
+        smsIngestService.ingest(requests, response.getOutputStream());
+    }
 }
@@ -0,0 +1,51 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.mapper.SmsRouteMapper;
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.model.dto.SmsRouteDto;
+import com.coffeepaw.smsapi.service.SmsRouteService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sms/routes")
+public class SmsRouteApiController {
+
+    private final SmsRouteService smsRouteService;
+
+    @Autowired
+    public SmsRouteApiController(SmsRouteService smsRouteService) {
+        this.smsRouteService = smsRouteService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SmsRouteDto>> getRoutes() {
+        return ResponseEntity.ok(SmsRouteMapper.INSTANCE.toDtos(smsRouteService.getRoutes()));
+    }
+
+    @PutMapping
+    public ResponseEntity<MessageDto> replaceRoutes(@RequestBody List<@Valid SmsRouteDto> routes) {
+        smsRouteService.replaceRoutes(SmsRouteMapper.INSTANCE.toEntities(routes));
+        MessageDto response = MessageDto.builder()
+                .message("Routing table replaced with " + routes.size() + " prefixes.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<MessageDto> reloadRoutes() {
+        int loaded = smsRouteService.reloadRoutes();
+        MessageDto response = MessageDto.builder()
+                .message("Routing table reloaded with " + loaded + " prefixes.")
+                .code(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
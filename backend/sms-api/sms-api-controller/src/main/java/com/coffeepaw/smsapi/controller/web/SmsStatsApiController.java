@@ -0,0 +1,39 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.model.dto.SmsUsageDto;
+import com.coffeepaw.smsapi.service.SmsUsageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sms/stats")
+public class SmsStatsApiController {
+
+    private static final Duration DEFAULT_PERIOD = Duration.ofDays(1);
+
+    private final SmsUsageService smsUsageService;
+
+    @Autowired
+    public SmsStatsApiController(SmsUsageService smsUsageService) {
+        this.smsUsageService = smsUsageService;
+    }
+
+    /**
+     * Usage per sender from the rollup, by default over the last day.
+     */
+    @GetMapping
+    public ResponseEntity<List<SmsUsageDto>> getUsage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String sender) {
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(DEFAULT_PERIOD) : from;
+        return ResponseEntity.ok(smsUsageService.getUsage(start, end, sender));
+    }
+}
@@ -0,0 +1,100 @@
+package com.coffeepaw.smsapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * The application with the {@code prod} security and an in-memory database, started once for all tests of the
+ * module and stopped with the test JVM. The operator has both roles.
+ */
+public final class ProdApplication {
+
+    public static final String ADMIN = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:secret".getBytes(StandardCharsets.UTF_8));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    private static String baseUri;
+
+    private ProdApplication() {
+    }
+
+    public static synchronized void start() {
+        if (baseUri != null) {
+            return;
+        }
+        WebServerApplicationContext application = (WebServerApplicationContext) new SpringApplicationBuilder(
+                SmsApiControllerApplication.class).run(
+                "--spring.profiles.active=prod,h2",
+                "--spring.datasource.url=jdbc:h2:mem:prod-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--server.port=0",
+                "--spring.devtools.restart.enabled=false",
+                "--sms.warmup.enabled=false",
+                "--spring.lifecycle.timeout-per-shutdown-phase=1s",
+                "--sms.dispatch.drain-timeout=1s",
+                "--sms.security.api-key.pepper=prod-application-test",
+                "--SMS_API_PASSWORD=secret",
+                "--SMS_API_ROLES=USER,ADMIN");
+        baseUri = "http://localhost:" + application.getWebServer().getPort();
+    }
+
+    /**
+     * Issues an API key as the operator.
+     *
+     * @return the full key, for the {@code X-API-Key} header
+     */
+    public static String issueApiKey(String tenant) {
+        HttpResponse<String> issued = send("POST", "/api/sms/api-keys", "Authorization", ADMIN,
+                "{\"tenant\":\"" + tenant + "\",\"rateTier\":\"standard\"}");
+        if (issued.statusCode() != 200) {
+            throw new IllegalStateException("API key not issued: " + issued.statusCode() + " " + issued.body());
+        }
+        return json(issued).path("apiKey").asText();
+    }
+
+    /**
+     * @param body JSON body, ignored for {@code GET} and {@code DELETE}
+     */
+    public static HttpResponse<String> send(String method, String path, String header, String value, String body) {
+        HttpRequest.BodyPublisher publisher = body == null || method.equals("GET") || method.equals("DELETE")
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header(header, value)
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+        try {
+            return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static HttpResponse<String> asAdmin(String method, String path, String body) {
+        return send(method, path, "Authorization", ADMIN, body);
+    }
+
+    public static JsonNode json(HttpResponse<String> response) {
+        try {
+            return OBJECT_MAPPER.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
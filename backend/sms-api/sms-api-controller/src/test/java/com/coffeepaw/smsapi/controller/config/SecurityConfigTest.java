@@ -0,0 +1,67 @@
+package com.coffeepaw.smsapi.controller.config;
+
+import com.coffeepaw.smsapi.controller.ProdApplication;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The prod filter chain of the running application: what an API key and what an operator may call.
+ */
+class SecurityConfigTest {
+
+    private static String apiKey;
+
+    @BeforeAll
+    static void issueApiKey() {
+        ProdApplication.start();
+        apiKey = ProdApplication.issueApiKey("acme");
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "GET,  /api/sms/dead-letters",
+            "POST, /api/sms/dead-letters/1/replay",
+            "POST, /api/sms/dead-letters/replay",
+            "GET,  /api/sms/configuration",
+            "POST, /api/sms/configuration",
+            "GET,  /api/sms/api-keys",
+            "GET,  /api/sms/stats",
+            "GET,  /api/sms/routes"
+    })
+    void apiKeyShouldBeForbiddenOutsideSending(String method, String path) {
+        HttpResponse<String> response = ProdApplication.send(method, path, ApiKeyAuthenticationFilter.HEADER, apiKey,
+                "{\"maxSmsLength\":10,\"suffixTemplate\":\"%d/%d\"}");
+
+        assertEquals(403, response.statusCode(), method + " " + path);
+    }
+
+    @Test
+    void apiKeyShouldSendSms() {
+        HttpResponse<String> response = ProdApplication.send("POST", "/api/sms", ApiKeyAuthenticationFilter.HEADER,
+                apiKey, "{\"from\":\"+15551234567\",\"to\":\"+447911123456\",\"message\":\"Hello\"}");
+
+        assertNotEquals(401, response.statusCode(), response.body());
+        assertNotEquals(403, response.statusCode(), response.body());
+    }
+
+    @Test
+    void unknownApiKeyShouldBeUnauthorized() {
+        HttpResponse<String> response = ProdApplication.send("POST", "/api/sms", ApiKeyAuthenticationFilter.HEADER,
+                "sk_unknown", "{\"from\":\"+15551234567\",\"to\":\"+447911123456\",\"message\":\"Hello\"}");
+
+        assertEquals(401, response.statusCode(), response.body());
+    }
+
+    @Test
+    void adminShouldReadDeadLetters() {
+        HttpResponse<String> response = ProdApplication.asAdmin("GET", "/api/sms/dead-letters", null);
+
+        assertEquals(200, response.statusCode(), response.body());
+    }
+}
@@ -0,0 +1,67 @@
+package com.coffeepaw.smsapi.controller.exception;
+
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.exception.ShuttingDownException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void backPressureShouldBeServiceUnavailable() {
+        assertEquals(503, handler.handleServiceUnavailable(new LaneSaturatedException("full")).getStatusCode().value());
+        assertEquals(503, handler.handleServiceUnavailable(new GatewayUnavailableException("open"))
+                .getStatusCode().value());
+        assertEquals(503, handler.handleServiceUnavailable(new ShuttingDownException("draining"))
+                .getStatusCode().value());
+    }
+
+    @Test
+    void rejectionsShouldKeepTheirReason() {
+        ResponseEntity<MessageDto> blocked = handler.handleRecipientBlocked(new RecipientBlockedException("blocked"));
+        ResponseEntity<MessageDto> duplicate = handler.handleDuplicateSms(new DuplicateSmsException("duplicate"));
+
+        assertEquals(422, blocked.getStatusCode().value());
+        assertEquals("blocked", blocked.getBody().getMessage());
+        assertEquals(409, duplicate.getStatusCode().value());
+        assertEquals("duplicate", duplicate.getBody().getMessage());
+    }
+
+    @Test
+    void infrastructureFailuresShouldNotLeakTheirCause() {
+        ResponseEntity<MessageDto> database = handler.handleDatabaseTransaction(
+                new DatabaseTransactionException("insert failed", new SQLException("jdbc:h2:mem:secret")));
+        ResponseEntity<MessageDto> gateway = handler.handleSending(
+                new SendingException("gateway failed", new IllegalStateException("token=secret")));
+
+        assertEquals(503, database.getStatusCode().value());
+        assertFalse(database.getBody().getMessage().contains("secret"));
+        assertEquals(502, gateway.getStatusCode().value());
+        assertFalse(gateway.getBody().getMessage().contains("secret"));
+    }
+
+    @Test
+    void illegalArgumentShouldBeBadRequest() {
+        ResponseEntity<String> response = handler.handleIllegalArgument(new IllegalArgumentException("unknown id"));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("unknown id", response.getBody());
+    }
+
+    @Test
+    void anythingElseShouldBeInternalServerError() {
+        assertEquals(500, handler.handleOtherExceptions(new IllegalStateException("boom")).getStatusCode().value());
+    }
+}
@@ -0,0 +1,112 @@
+package com.coffeepaw.smsapi.controller.web;
+
+import com.coffeepaw.smsapi.controller.ProdApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The operator endpoints of the running application, called with the operator's Basic Auth.
+ */
+class OperatorApiTest {
+
+    @BeforeAll
+    static void startApplication() {
+        ProdApplication.start();
+    }
+
+    @Test
+    void routesShouldBeReplacedAndReloaded() {
+        HttpResponse<String> replaced = ProdApplication.asAdmin("PUT", "/api/sms/routes",
+                "[{\"prefix\":\"44\",\"route\":\"uk-primary\"}]");
+        assertEquals(200, replaced.statusCode(), replaced.body());
+
+        HttpResponse<String> routes = ProdApplication.asAdmin("GET", "/api/sms/routes", null);
+        assertEquals(200, routes.statusCode(), routes.body());
+        assertEquals("uk-primary", ProdApplication.json(routes).path(0).path("route").asText());
+
+        HttpResponse<String> reloaded = ProdApplication.asAdmin("POST", "/api/sms/routes/reload", null);
+        assertEquals(200, reloaded.statusCode(), reloaded.body());
+    }
+
+    @Test
+    void invalidRouteShouldBeRejected() {
+        HttpResponse<String> response = ProdApplication.asAdmin("PUT", "/api/sms/routes",
+                "[{\"prefix\":\"+44\",\"route\":\"uk-primary\"}]");
+
+        assertEquals(400, response.statusCode(), response.body());
+    }
+
+    @Test
+    void configurationShouldBeReadAndWritten() {
+        HttpResponse<String> current = ProdApplication.asAdmin("GET", "/api/sms/configuration", null);
+        assertEquals(200, current.statusCode(), current.body());
+
+        HttpResponse<String> saved = ProdApplication.asAdmin("POST", "/api/sms/configuration", current.body());
+        assertEquals(200, saved.statusCode(), saved.body());
+    }
+
+    @Test
+    void blocklistShouldImportAndRemoveNumbers() {
+        HttpResponse<String> imported = ProdApplication.asAdmin("POST", "/api/sms/blocklist",
+                "{\"numbers\":[\"+447911999001\"],\"reason\":\"opt-out\"}");
+        assertEquals(200, imported.statusCode(), imported.body());
+
+        HttpResponse<String> removed = ProdApplication.asAdmin("DELETE", "/api/sms/blocklist/+447911999001", null);
+        assertEquals(200, removed.statusCode(), removed.body());
+    }
+
+    @Test
+    void emptyBlocklistImportShouldListTheViolations() {
+        HttpResponse<String> response = ProdApplication.asAdmin("POST", "/api/sms/blocklist", "{\"numbers\":[]}");
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(ProdApplication.json(response).path("errors").size() > 0, response.body());
+    }
+
+    @Test
+    void statsShouldBeReadForAPeriod() {
+        HttpResponse<String> response = ProdApplication.asAdmin("GET",
+                "/api/sms/stats?from=2026-01-01T00:00:00Z&to=2026-01-02T00:00:00Z&sender=%2B15551234567", null);
+
+        assertEquals(200, response.statusCode(), response.body());
+    }
+
+    @Test
+    void deadLettersShouldBeReplayed() {
+        HttpResponse<String> all = ProdApplication.asAdmin("POST", "/api/sms/dead-letters/replay", null);
+        assertEquals(200, all.statusCode(), all.body());
+
+        HttpResponse<String> unknown = ProdApplication.asAdmin("POST", "/api/sms/dead-letters/999999/replay", null);
+        assertEquals(400, unknown.statusCode(), unknown.body());
+    }
+
+    @Test
+    void apiKeyShouldBeListedAndRevoked() {
+        ProdApplication.issueApiKey("revoked-tenant");
+
+        HttpResponse<String> keys = ProdApplication.asAdmin("GET", "/api/sms/api-keys", null);
+        assertEquals(200, keys.statusCode(), keys.body());
+        String keyId = null;
+        for (JsonNode key : ProdApplication.json(keys)) {
+            if (key.path("tenant").asText().equals("revoked-tenant")) {
+                keyId = key.path("keyId").asText();
+            }
+        }
+        assertNotNull(keyId, keys.body());
+
+        HttpResponse<String> revoked = ProdApplication.asAdmin("DELETE", "/api/sms/api-keys/" + keyId, null);
+        assertEquals(200, revoked.statusCode(), revoked.body());
+    }
+
+    @Test
+    void readinessShouldBeUp() {
+        HttpResponse<String> response = ProdApplication.asAdmin("GET", "/actuator/health/readiness", null);
+
+        assertEquals(200, response.statusCode(), response.body());
+    }
+}
@@ -0,0 +1,154 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the connection pool and the garbage collector of the application under test through its actuator
+ * metrics while a step runs.
+ * <p>
+ * Pool occupancy is sampled every second. Pause counts and times are the difference of the cumulative
+ * {@code jvm.gc.pause} timer across the step. Longest pause and connection wait are the timer maxima of samples
+ * taken after the timer counted something new, since actuator maxima also cover the moments before the step; they
+ * belong to the step when the application keeps its maxima for a few seconds only. A metric the application does
+ * not have, such as the Hikari pool of the reactive variant, leaves its part of the summary out.
+ */
+public class ActuatorSampler {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    private final HttpClient httpClient;
+    private final URI metricsUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ScheduledExecutorService scheduler;
+    private long startNanos;
+    private Map<String, Double> gcAtStart;
+    private Map<String, Double> acquireAtStart;
+    private double maxConnections;
+    private int samples;
+    private double activeSum;
+    private double peakActive;
+    private double peakPending;
+    private int saturatedSamples;
+    private double gcMaxSeconds;
+    private double acquireMaxSeconds;
+    private double lastGcCount;
+    private double lastAcquireCount;
+
+    public ActuatorSampler(HttpClient httpClient, URI baseUri) {
+        this.httpClient = httpClient;
+        this.metricsUri = URI.create(baseUri + "/actuator/metrics/");
+    }
+
+    public synchronized void start() {
+        samples = 0;
+        activeSum = peakActive = peakPending = gcMaxSeconds = acquireMaxSeconds = 0;
+        saturatedSamples = 0;
+        startNanos = System.nanoTime();
+        gcAtStart = read("jvm.gc.pause");
+        acquireAtStart = read("hikaricp.connections.acquire");
+        lastGcCount = gcAtStart == null ? 0 : gcAtStart.getOrDefault("COUNT", 0.0);
+        lastAcquireCount = acquireAtStart == null ? 0 : acquireAtStart.getOrDefault("COUNT", 0.0);
+        Map<String, Double> max = read("hikaricp.connections.max");
+        maxConnections = max == null ? 0 : max.getOrDefault("VALUE", 0.0);
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sms-loadtest-sampler").daemon()
+                .factory());
+        scheduler.scheduleAtFixedRate(this::sample, 0, INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and summarises the step.
+     */
+    public LoadReport.Resources stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        synchronized (this) {
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+            LoadReport.Pool pool = null;
+            Map<String, Double> acquire = read("hikaricp.connections.acquire");
+            if (maxConnections > 0 && samples > 0 && acquire != null) {
+                double acquisitions = difference(acquire, acquireAtStart, "COUNT");
+                double acquireSeconds = difference(acquire, acquireAtStart, "TOTAL_TIME");
+                pool = new LoadReport.Pool((int) maxConnections, LoadReport.round(activeSum / samples),
+                        (int) peakActive, (int) peakPending, LoadReport.round(saturatedSamples / (double) samples),
+                        LoadReport.round(acquisitions == 0 ? 0 : acquireSeconds * 1000 / acquisitions),
+                        LoadReport.round(acquireMaxSeconds * 1000));
+            }
+            // the pause timer only appears with the first collection
+            Map<String, Double> gcAtEnd = read("jvm.gc.pause");
+            double pauseSeconds = difference(gcAtEnd, gcAtStart, "TOTAL_TIME");
+            double longestPauseSeconds = Math.min(gcMaxSeconds, pauseSeconds);
+            LoadReport.Gc gc = new LoadReport.Gc((long) difference(gcAtEnd, gcAtStart, "COUNT"),
+                    LoadReport.round(pauseSeconds * 1000), LoadReport.round(longestPauseSeconds * 1000),
+                    LoadReport.round(pauseSeconds / elapsedSeconds));
+            return new LoadReport.Resources(pool, gc);
+        }
+    }
+
+    private synchronized void sample() {
+        Map<String, Double> active = read("hikaricp.connections.active");
+        Map<String, Double> pending = read("hikaricp.connections.pending");
+        if (active != null && pending != null) {
+            double activeNow = active.getOrDefault("VALUE", 0.0);
+            double pendingNow = pending.getOrDefault("VALUE", 0.0);
+            samples++;
+            activeSum += activeNow;
+            peakActive = Math.max(peakActive, activeNow);
+            peakPending = Math.max(peakPending, pendingNow);
+            if (pendingNow > 0 || (maxConnections > 0 && activeNow >= maxConnections)) {
+                saturatedSamples++;
+            }
+        }
+        Map<String, Double> acquire = read("hikaricp.connections.acquire");
+        if (acquire != null && acquire.getOrDefault("COUNT", 0.0) > lastAcquireCount) {
+            lastAcquireCount = acquire.get("COUNT");
+            acquireMaxSeconds = Math.max(acquireMaxSeconds, acquire.getOrDefault("MAX", 0.0));
+        }
+        Map<String, Double> gc = read("jvm.gc.pause");
+        if (gc != null && gc.getOrDefault("COUNT", 0.0) > lastGcCount) {
+            lastGcCount = gc.get("COUNT");
+            gcMaxSeconds = Math.max(gcMaxSeconds, gc.getOrDefault("MAX", 0.0));
+        }
+    }
+
+    private static double difference(Map<String, Double> end, Map<String, Double> start, String statistic) {
+        double before = start == null ? 0 : start.getOrDefault(statistic, 0.0);
+        return end == null ? 0 : end.getOrDefault(statistic, 0.0) - before;
+    }
+
+    /**
+     * @return the measurements of a metric by statistic, or {@code null} when the application does not have it
+     */
+    private Map<String, Double> read(String metric) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(metricsUri.resolve(metric))
+                    .timeout(INTERVAL.multipliedBy(5)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            Map<String, Double> measurements = new HashMap<>();
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                measurements.put(measurement.path("statistic").asText(), measurement.path("value").asDouble());
+            }
+            return measurements;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
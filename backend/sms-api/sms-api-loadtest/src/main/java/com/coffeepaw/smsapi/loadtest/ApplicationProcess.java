@@ -0,0 +1,104 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged application under test, started in a JVM of its own with the in-memory H2 database and the
+ * simulated gateway, and stopped with the run.
+ */
+public class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final URI baseUri;
+    private final Path log;
+
+    private ApplicationProcess(Process process, URI baseUri, Path log) {
+        this.process = process;
+        this.baseUri = baseUri;
+        this.log = log;
+    }
+
+    /**
+     * Starts the application and waits until it reports ready, which includes its own warm-up.
+     *
+     * @throws IllegalStateException if the jar is missing or the application does not become ready
+     */
+    public static ApplicationProcess start(LoadTestSettings settings, HttpClient httpClient, Path log)
+            throws IOException, InterruptedException {
+        if (!Files.isRegularFile(settings.appJar())) {
+            throw new IllegalStateException("No application jar at " + settings.appJar().toAbsolutePath()
+                    + ", build it first with ./mvnw -DskipTests package");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(settings.jvmArgs());
+        command.addAll(List.of("-jar", settings.appJar().toString(),
+                "--server.port=" + settings.port(),
+                "--spring.profiles.active=dev,h2",
+                "--logging.level.com.coffeepaw=WARN",
+                "--sms.gateway.simulator.enabled=true",
+                "--sms.gateway.simulator.latency=" + settings.gatewayLatency().toMillis() + "ms",
+                "--sms.gateway.simulator.jitter=" + settings.gatewayJitter().toMillis() + "ms",
+                "--sms.gateway.simulator.failure-rate=" + settings.gatewayFailureRate(),
+                // short-lived maxima, so the longest pause and wait sampled during a step belong to that step
+                "--management.metrics.distribution.expiry.jvm.gc.pause=5s",
+                "--management.metrics.distribution.expiry.hikaricp.connections.acquire=5s"));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        ApplicationProcess application = new ApplicationProcess(process,
+                URI.create("http://localhost:" + settings.port()), log);
+        try {
+            application.awaitReady(httpClient);
+        } catch (RuntimeException | InterruptedException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    private void awaitReady(HttpClient httpClient) throws InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUri + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application not ready within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    /**
+     * Stops the application gracefully, so it drains what it accepted, and forcibly if that takes too long.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Machine-readable result of a run, written as JSON with a fixed field order and rounded values so two reports,
+ * for example of consecutive releases, can be compared with a plain diff or with {@link #compare(LoadReport)}.
+ * Times are in milliseconds, rates per second and shares between 0 and 1.
+ *
+ * @param settings what was run, so reports of different runs are not compared by mistake
+ * @param steps    one entry per arrival rate, in the order they ran
+ */
+public record LoadReport(String label, String startedAt, Settings settings, List<Step> steps) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static LoadReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    public void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    /**
+     * Relative change of the main figures of each step against the step of the same rate in a baseline report.
+     *
+     * @return one line per compared step
+     */
+    public List<String> compare(LoadReport baseline) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%8s %12s %12s %12s %12s %12s", "rate/s", "throughput", "p50", "p99", "p99.9",
+                "gc pause"));
+        for (Step step : steps) {
+            baseline.steps.stream().filter(old -> old.targetRate() == step.targetRate()).findFirst().ifPresent(old ->
+                    lines.add(String.format("%8d %12s %12s %12s %12s %12s", step.targetRate(),
+                            change(old, step, Step::throughput),
+                            change(old, step, s -> s.responseTime().p50()),
+                            change(old, step, s -> s.responseTime().p99()),
+                            change(old, step, s -> s.responseTime().p999()),
+                            change(old, step, s -> s.resources().gc().totalMillis()))));
+        }
+        return lines;
+    }
+
+    static Latency latency(Histogram micros) {
+        return new Latency(millis(micros.getValueAtPercentile(50)), millis(micros.getValueAtPercentile(90)),
+                millis(micros.getValueAtPercentile(99)), millis(micros.getValueAtPercentile(99.9)),
+                millis(micros.getValueAtPercentile(99.99)), millis(micros.getMaxValue()),
+                round(micros.getMean() / 1000));
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static String change(Step before, Step after, ToDoubleFunction<Step> figure) {
+        double old = figure.applyAsDouble(before);
+        double now = figure.applyAsDouble(after);
+        if (old == 0) {
+            return now == 0 ? "=" : "new";
+        }
+        return String.format("%+.1f%%", (now - old) * 100 / old);
+    }
+
+    /**
+     * @param target  base URL that was driven
+     * @param gateway simulated gateway of the started application, or {@code null} for an external target
+     */
+    public record Settings(String target, List<Integer> rates, String warmup, String duration, String mix,
+                           int senders, int recipients, int maxInFlight, Gateway gateway) {
+    }
+
+    public record Gateway(String latency, String jitter, double failureRatePercent) {
+    }
+
+    /**
+     * @param arrivals     requests due, dropped ones included
+     * @param dropped      requests not sent because too many were waiting for a response
+     * @param responses    responses by status code, or {@code timeout} and {@code io-error}
+     * @param throughput   successful responses per second
+     * @param responseTime from when a request was due to its response
+     * @param serviceTime  from when a request was sent to its response
+     */
+    public record Step(int targetRate, long arrivals, long dropped, Map<String, Long> responses, double throughput,
+                       Latency responseTime, Latency serviceTime, Resources resources) {
+    }
+
+    public record Latency(double p50, double p90, double p99, double p999, double p9999, double max, double mean) {
+    }
+
+    /**
+     * @param pool connection pool, or {@code null} when the application has no Hikari pool
+     */
+    public record Resources(Pool pool, Gc gc) {
+    }
+
+    /**
+     * @param saturatedShare share of samples with callers waiting for a connection or every connection in use
+     */
+    public record Pool(int maxConnections, double meanActive, int peakActive, int peakPending, double saturatedShare,
+                       double acquireMeanMillis, double acquireMaxMillis) {
+    }
+
+    /**
+     * @param pausedShare share of the step the application spent in collection pauses
+     */
+    public record Gc(long pauses, double totalMillis, double maxMillis, double pausedShare) {
+    }
+}
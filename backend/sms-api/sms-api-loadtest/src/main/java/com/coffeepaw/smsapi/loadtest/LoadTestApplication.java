@@ -0,0 +1,129 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test of {@code POST /api/sms}: starts the packaged application with the H2 profile and the simulated
+ * gateway (or drives one given with {@code --target}), warms it up, then runs one step per arrival rate and
+ * writes a JSON report, with the full latency distribution of each step next to it as an HdrHistogram
+ * {@code .hgrm} file.
+ * <p>
+ * {@code java -jar sms-api-loadtest/target/sms-api-loadtest-0.0.1-SNAPSHOT.jar --rates=100,200,400 --duration=30s}
+ */
+public class LoadTestApplication {
+
+    /**
+     * Pause before each step, so the backlog of the previous one drains and the short-lived maxima of the started
+     * application expire.
+     */
+    private static final Duration SETTLE = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings;
+        try {
+            settings = LoadTestSettings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        LoadReport report = run(settings);
+        report.write(settings.report());
+        System.out.println("Report written to " + settings.report().toAbsolutePath());
+        if (settings.baseline() != null) {
+            System.out.println("Change against " + settings.baseline() + ":");
+            report.compare(LoadReport.read(settings.baseline())).forEach(System.out::println);
+        }
+    }
+
+    static LoadReport run(LoadTestSettings settings) throws IOException, InterruptedException {
+        String startedAt = Instant.now().toString();
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        ApplicationProcess application = null;
+        URI target = settings.target();
+        if (target == null) {
+            Path log = settings.report().resolveSibling("application.log");
+            System.out.println("Starting " + settings.appJar() + ", logging to " + log);
+            application = ApplicationProcess.start(settings, httpClient, log);
+            target = application.getBaseUri();
+        }
+        try {
+            OpenLoadGenerator generator = new OpenLoadGenerator(httpClient, target, MessageMix.parse(settings.mix()),
+                    settings.senders(), settings.recipients(), settings.maxInFlight());
+            ActuatorSampler sampler = new ActuatorSampler(httpClient, target);
+
+            System.out.printf("Warming up at %d/s for %ss%n", settings.rates().getFirst(),
+                    settings.warmup().toSeconds());
+            generator.run(settings.rates().getFirst(), settings.warmup(), 0);
+
+            List<LoadReport.Step> steps = new ArrayList<>();
+            System.out.printf("%8s %10s %8s %10s %10s %10s %10s %8s %8s%n", "rate/s", "ok/s", "errors", "p50 ms",
+                    "p99 ms", "p99.9 ms", "max ms", "pending", "gc ms");
+            for (int rate : settings.rates()) {
+                Thread.sleep(SETTLE);
+                sampler.start();
+                OpenLoadGenerator.Step step = generator.run(rate, settings.duration(), rate);
+                LoadReport.Resources resources = sampler.stop();
+                LoadReport.Step summary = new LoadReport.Step(rate, step.getArrivals(), step.getDropped(),
+                        step.getOutcomes(), LoadReport.round(step.getThroughput()),
+                        LoadReport.latency(step.getResponseTime()), LoadReport.latency(step.getServiceTime()),
+                        resources);
+                steps.add(summary);
+                writeDistribution(settings.report(), rate, step.getResponseTime());
+                print(summary);
+            }
+            return new LoadReport(settings.label(), startedAt, settingsOf(settings, target), steps);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void print(LoadReport.Step step) {
+        long errors = step.responses().entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("2"))
+                .mapToLong(entry -> entry.getValue())
+                .sum() + step.dropped();
+        LoadReport.Pool pool = step.resources().pool();
+        System.out.printf("%8d %10.1f %8d %10.2f %10.2f %10.2f %10.2f %8s %8.1f%n", step.targetRate(),
+                step.throughput(), errors, step.responseTime().p50(), step.responseTime().p99(),
+                step.responseTime().p999(), step.responseTime().max(), pool == null ? "-" : pool.peakPending(),
+                step.resources().gc().totalMillis());
+    }
+
+    private static void writeDistribution(Path report, int rate, Histogram responseTime) throws IOException {
+        String name = report.getFileName().toString().replaceFirst("\\.json$", "");
+        Path distribution = report.resolveSibling(name + "-" + rate + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+            // recorded in microseconds, written in milliseconds
+            responseTime.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static LoadReport.Settings settingsOf(LoadTestSettings settings, URI target) {
+        LoadReport.Gateway gateway = settings.target() != null ? null : new LoadReport.Gateway(
+                settings.gatewayLatency().toMillis() + "ms", settings.gatewayJitter().toMillis() + "ms",
+                settings.gatewayFailureRate());
+        return new LoadReport.Settings(target.toString(), settings.rates(), settings.warmup().toSeconds() + "s",
+                settings.duration().toSeconds() + "s", settings.mix(), settings.senders(), settings.recipients(),
+                settings.maxInFlight(), gateway);
+    }
+}
@@ -0,0 +1,125 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Options of a load test run, given as {@code --name=value} arguments.
+ *
+ * @param target             base URL of an application that is already running; when {@code null} the packaged
+ *                           application is started with the {@code dev,h2} profiles and the simulated gateway
+ * @param appJar             executable jar of the application to start
+ * @param port               port of the started application
+ * @param jvmArgs            JVM options of the started application
+ * @param gatewayLatency     simulated gateway latency per part
+ * @param gatewayJitter      uniform jitter around the simulated latency
+ * @param gatewayFailureRate share of failed gateway calls, in percent
+ * @param rates              arrival rates in requests per second, one measured step each
+ * @param warmup             unmeasured run at the first rate before the steps
+ * @param duration           length of each step
+ * @param mix                message size mix, see {@link MessageMix#parse(String)}
+ * @param senders            distinct senders drawn from
+ * @param recipients         distinct recipients drawn from
+ * @param maxInFlight        requests waiting for a response beyond which arrivals are dropped and counted
+ * @param report             JSON report to write
+ * @param baseline           earlier report to compare with, or {@code null}
+ * @param label              name of the build under test, copied into the report
+ */
+public record LoadTestSettings(URI target, Path appJar, int port, List<String> jvmArgs, Duration gatewayLatency,
+                               Duration gatewayJitter, double gatewayFailureRate, List<Integer> rates,
+                               Duration warmup, Duration duration, String mix, int senders, int recipients,
+                               int maxInFlight, Path report, Path baseline, String label) {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("target", ""),
+            Map.entry("app-jar", "sms-api-controller/target/sms-api-controller-0.0.1-SNAPSHOT.jar"),
+            Map.entry("port", "18080"),
+            Map.entry("jvm-args", "-Xmx512m"),
+            Map.entry("gateway-latency", "50ms"),
+            Map.entry("gateway-jitter", "20ms"),
+            Map.entry("gateway-failure-rate", "0"),
+            Map.entry("rates", "100,200,400"),
+            Map.entry("warmup", "15s"),
+            Map.entry("duration", "30s"),
+            Map.entry("mix", "70:60,20:300,10:900"),
+            Map.entry("senders", "50"),
+            Map.entry("recipients", "100000"),
+            Map.entry("max-in-flight", "10000"),
+            Map.entry("report", "sms-api-loadtest/target/loadtest-report.json"),
+            Map.entry("baseline", ""),
+            Map.entry("label", "local"));
+
+    /**
+     * @throws IllegalArgumentException for unknown options or values out of range
+     */
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name == null || !DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected one of "
+                        + new TreeSet<>(DEFAULTS.keySet()));
+            }
+            options.put(name, arg.substring(equals + 1));
+        }
+        List<Integer> rates = Arrays.stream(options.get("rates").split(",")).map(String::trim)
+                .map(Integer::parseInt).toList();
+        if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("Rates must be positive requests per second");
+        }
+        MessageMix.parse(options.get("mix"));
+        String target = options.get("target").replaceFirst("/$", "");
+        String baseline = options.get("baseline");
+        String jvmArgs = options.get("jvm-args").trim();
+        return new LoadTestSettings(
+                target.isBlank() ? null : URI.create(target),
+                Path.of(options.get("app-jar")),
+                Integer.parseInt(options.get("port")),
+                jvmArgs.isEmpty() ? List.of() : List.of(jvmArgs.split("\\s+")),
+                duration(options.get("gateway-latency")),
+                duration(options.get("gateway-jitter")),
+                Double.parseDouble(options.get("gateway-failure-rate")),
+                rates,
+                duration(options.get("warmup")),
+                duration(options.get("duration")),
+                options.get("mix"),
+                positive(options, "senders"),
+                positive(options, "recipients"),
+                positive(options, "max-in-flight"),
+                Path.of(options.get("report")),
+                baseline.isBlank() ? null : Path.of(baseline),
+                options.get("label"));
+    }
+
+    /**
+     * Parses durations in the form of the application properties: {@code 250ms}, {@code 30s}, {@code 2m}.
+     */
+    static Duration duration(String text) {
+        String value = text.trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Duration " + text + " needs a unit of ms, s or m");
+    }
+
+    private static int positive(Map<String, String> options, String name) {
+        int value = Integer.parseInt(options.get(name));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
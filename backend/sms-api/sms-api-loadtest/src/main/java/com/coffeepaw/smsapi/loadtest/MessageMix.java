@@ -0,0 +1,79 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of message lengths, so a run exercises single-part texts and multipart campaigns in a known
+ * proportion. Written as {@code weight:characters} pairs, for example {@code 70:60,20:300,10:900}.
+ * <p>
+ * Every message starts with a sequence number, so no two requests of a run are suppressed as repeats of each
+ * other by the duplicate window.
+ */
+public final class MessageMix {
+
+    private final int[] cumulativeWeights;
+    private final int[] lengths;
+    private final String[] fillers;
+
+    private MessageMix(int[] cumulativeWeights, int[] lengths, String[] fillers) {
+        this.cumulativeWeights = cumulativeWeights;
+        this.lengths = lengths;
+        this.fillers = fillers;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the mix is malformed or a weight or length is not positive
+     */
+    public static MessageMix parse(String mix) {
+        List<int[]> entries = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry " + entry + " is not weight:characters");
+            }
+            int weight = Integer.parseInt(parts[0].trim());
+            int length = Integer.parseInt(parts[1].trim());
+            if (weight <= 0 || length <= 0) {
+                throw new IllegalArgumentException("Mix entry " + entry + " needs a positive weight and length");
+            }
+            entries.add(new int[]{weight, length});
+        }
+        int[] cumulativeWeights = new int[entries.size()];
+        int[] lengths = new int[entries.size()];
+        String[] fillers = new String[entries.size()];
+        Random random = new Random(40);
+        int total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            total += entries.get(i)[0];
+            cumulativeWeights[i] = total;
+            lengths[i] = entries.get(i)[1];
+            fillers[i] = filler(random, lengths[i]);
+        }
+        return new MessageMix(cumulativeWeights, lengths, fillers);
+    }
+
+    /**
+     * @return a message of one of the mixed lengths, chosen by weight
+     */
+    public String next(Random random, long sequence) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+        String prefix = "#" + sequence + " ";
+        return prefix.length() >= lengths[index]
+                ? prefix.substring(0, lengths[index])
+                : prefix + fillers[index].substring(prefix.length());
+    }
+
+    private static String filler(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(random.nextInt(6) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
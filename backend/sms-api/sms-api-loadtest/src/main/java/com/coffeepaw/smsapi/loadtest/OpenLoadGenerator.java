@@ -0,0 +1,190 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends {@code POST /api/sms} requests in an open model: arrivals follow a Poisson process at the target rate
+ * whatever the response times, the way independent clients would, instead of each connection waiting for its
+ * previous answer. Every request runs on a virtual thread of its own.
+ * <p>
+ * Response time is taken from the moment a request was due, not from when it was actually sent, so a stalled
+ * application is charged for the requests queued behind the stall (no coordinated omission). Service time, from
+ * the actual send, is recorded next to it.
+ */
+public class OpenLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final MessageMix mix;
+    private final int senders;
+    private final int recipients;
+    private final int maxInFlight;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public OpenLoadGenerator(HttpClient httpClient, URI baseUri, MessageMix mix, int senders, int recipients,
+                             int maxInFlight) {
+        this.httpClient = httpClient;
+        this.endpoint = URI.create(baseUri + "/api/sms");
+        this.mix = mix;
+        this.senders = senders;
+        this.recipients = recipients;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends at the given rate for the given time, then waits for the requests still in flight.
+     */
+    public Step run(int rate, Duration duration, long seed) {
+        Step step = new Step(rate);
+        SplittableRandom gaps = new SplittableRandom(seed);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        long durationNanos = duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long due = start;
+            while (due - start < durationNanos) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (step.inFlight.get() >= maxInFlight) {
+                    step.dropped.increment();
+                } else {
+                    step.inFlight.incrementAndGet();
+                    long dueAt = due;
+                    executor.execute(() -> send(step, dueAt));
+                }
+                step.arrivals.increment();
+                due += (long) (-Math.log(1 - gaps.nextDouble()) * meanGapNanos);
+            }
+            step.elapsedNanos = System.nanoTime() - start;
+        }
+        return step;
+    }
+
+    private void send(Step step, long due) {
+        String outcome;
+        long sentAt = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request(), HttpResponse.BodyHandlers.discarding());
+            outcome = String.valueOf(response.statusCode());
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+        } catch (IOException e) {
+            outcome = "io-error";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } finally {
+            step.inFlight.decrementAndGet();
+        }
+        long now = System.nanoTime();
+        step.responseTime.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(now - due)));
+        step.serviceTime.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(now - sentAt)));
+        step.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private HttpRequest request() throws JsonProcessingException {
+        Random random = ThreadLocalRandom.current();
+        Map<String, String> body = Map.of(
+                "from", "+1555" + (1_000_000 + random.nextInt(senders)),
+                "to", "+44791" + (1_000_000 + random.nextInt(recipients)),
+                "message", mix.next(random, sequence.incrementAndGet()));
+        return HttpRequest.newBuilder(endpoint)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    /**
+     * Outcome of one rate step: response and service time histograms in microseconds, and the responses by
+     * status code, or by {@code timeout} and {@code io-error} when none came.
+     */
+    public static class Step {
+
+        private final int rate;
+        private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final LongAdder arrivals = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private long elapsedNanos;
+
+        Step(int rate) {
+            this.rate = rate;
+        }
+
+        public int getRate() {
+            return rate;
+        }
+
+        public Histogram getResponseTime() {
+            return responseTime;
+        }
+
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /**
+         * @return arrivals due during the step, including the dropped ones
+         */
+        public long getArrivals() {
+            return arrivals.sum();
+        }
+
+        /**
+         * @return arrivals not sent because too many requests were waiting for a response
+         */
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        public Map<String, Long> getOutcomes() {
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return counts;
+        }
+
+        /**
+         * @return successful responses per second of the step
+         */
+        public double getThroughput() {
+            long succeeded = outcomes.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("2"))
+                    .mapToLong(entry -> entry.getValue().sum())
+                    .sum();
+            return succeeded / (elapsedNanos / 1e9);
+        }
+    }
+}
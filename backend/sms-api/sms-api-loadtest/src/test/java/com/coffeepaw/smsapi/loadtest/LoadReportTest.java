@@ -0,0 +1,63 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportTest {
+
+    @Test
+    void latencyShouldSummariseMicrosecondsInMilliseconds() {
+        Histogram micros = new Histogram(3);
+        for (long value = 1; value <= 1000; value++) {
+            micros.recordValue(value * 1000);
+        }
+
+        LoadReport.Latency latency = LoadReport.latency(micros);
+
+        assertEquals(500, latency.p50(), 1);
+        assertEquals(990, latency.p99(), 1);
+        assertEquals(1000, latency.max(), 1);
+        assertEquals(500.5, latency.mean(), 1);
+    }
+
+    @Test
+    void reportShouldReadBackWhatWasWritten(@TempDir Path directory) throws IOException {
+        LoadReport report = report("1.0", 100, 12.5);
+        Path path = directory.resolve("report.json");
+
+        report.write(path);
+
+        assertEquals(report, LoadReport.read(path));
+    }
+
+    @Test
+    void compareShouldShowTheChangeOfStepsWithTheSameRate() {
+        LoadReport baseline = report("1.0", 100, 10);
+        LoadReport current = report("1.1", 100, 15);
+
+        List<String> lines = current.compare(baseline);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("+50.0%"), lines.get(1));
+        assertEquals(1, current.compare(report("1.0", 200, 10)).size());
+    }
+
+    private static LoadReport report(String label, int rate, double p99) {
+        LoadReport.Latency latency = new LoadReport.Latency(5, 8, p99, 20, 30, 40, 6);
+        LoadReport.Resources resources = new LoadReport.Resources(
+                new LoadReport.Pool(10, 2.5, 6, 0, 0, 0.05, 1.2), new LoadReport.Gc(3, 12, 6, 0.01));
+        LoadReport.Step step = new LoadReport.Step(rate, 3000, 0, Map.of("200", 2990L, "503", 10L), 99.7, latency,
+                latency, resources);
+        LoadReport.Settings settings = new LoadReport.Settings("http://localhost:18080", List.of(rate), "15s", "30s",
+                "70:60,20:300,10:900", 50, 100_000, 10_000, new LoadReport.Gateway("50ms", "20ms", 0));
+        return new LoadReport(label, "2026-10-19T12:00:00Z", settings, List.of(step));
+    }
+}
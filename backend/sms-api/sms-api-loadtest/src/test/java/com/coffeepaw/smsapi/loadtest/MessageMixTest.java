@@ -0,0 +1,50 @@
+package com.coffeepaw.smsapi.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageMixTest {
+
+    @Test
+    void nextShouldPickLengthsByWeight() {
+        MessageMix mix = MessageMix.parse("70:60, 20:300, 10:900");
+        Random random = new Random(1);
+
+        Map<Integer, Integer> byLength = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            byLength.merge(mix.next(random, i).length(), 1, Integer::sum);
+        }
+
+        assertEquals(Set.of(60, 300, 900), byLength.keySet());
+        assertEquals(7_000, byLength.get(60), 300);
+        assertEquals(2_000, byLength.get(300), 300);
+        assertEquals(1_000, byLength.get(900), 300);
+    }
+
+    @Test
+    void nextShouldNeverRepeatAMessage() {
+        MessageMix mix = MessageMix.parse("1:40");
+        Random random = new Random(1);
+
+        Set<String> messages = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            messages.add(mix.next(random, i));
+        }
+
+        assertEquals(10_000, messages.size());
+    }
+
+    @Test
+    void parseShouldRejectMalformedMixes() {
+        assertThrows(IllegalArgumentException.class, () -> MessageMix.parse("70"));
+        assertThrows(IllegalArgumentException.class, () -> MessageMix.parse("70:60,0:300"));
+        assertThrows(IllegalArgumentException.class, () -> MessageMix.parse("70:-1"));
+    }
+}
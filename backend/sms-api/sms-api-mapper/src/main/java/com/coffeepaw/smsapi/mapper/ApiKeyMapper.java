@@ -0,0 +1,19 @@
+package com.coffeepaw.smsapi.mapper;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.model.dto.ApiKeyDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper
+public interface ApiKeyMapper {
+    ApiKeyMapper INSTANCE = Mappers.getMapper(ApiKeyMapper.class);
+
+    @Mapping(target = "apiKey", ignore = true)
+    ApiKeyDto toDto(ApiKey entity);
+
+    List<ApiKeyDto> toDtos(List<ApiKey> entities);
+}
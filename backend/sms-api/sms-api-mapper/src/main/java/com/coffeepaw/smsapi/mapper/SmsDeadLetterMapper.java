@@ -0,0 +1,17 @@
+package com.coffeepaw.smsapi.mapper;
+
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.dto.SmsDeadLetterDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper
+public interface SmsDeadLetterMapper {
+    SmsDeadLetterMapper INSTANCE = Mappers.getMapper(SmsDeadLetterMapper.class);
+
+    SmsDeadLetterDto toDto(SmsDeadLetter entity);
+
+    List<SmsDeadLetterDto> toDtos(List<SmsDeadLetter> entities);
+}
@@ -0,0 +1,23 @@
+package com.coffeepaw.smsapi.mapper;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+import com.coffeepaw.smsapi.model.dto.SmsRouteDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper
+public interface SmsRouteMapper {
+    SmsRouteMapper INSTANCE = Mappers.getMapper(SmsRouteMapper.class);
+
+    SmsRouteDto toDto(SmsRoute entity);
+
+    List<SmsRouteDto> toDtos(List<SmsRoute> entities);
+
+    @Mapping(target = "id", ignore = true)
+    SmsRoute toEntity(SmsRouteDto dto);
+
+    List<SmsRoute> toEntities(List<SmsRouteDto> dtos);
+}
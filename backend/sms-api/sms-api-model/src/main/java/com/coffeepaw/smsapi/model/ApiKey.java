@@ -0,0 +1,39 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * API client credential. Only a keyed hash of the secret is stored; the key id is the public half used to look
+ * the credential up.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "api_key")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ApiKey extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "key_id", nullable = false, unique = true, length = 32)
+    private String keyId;
+
+    @Column(name = "secret_hash", nullable = false, length = 64)
+    private String secretHash;
+
+    @Column(name = "tenant", nullable = false, length = 100)
+    private String tenant;
+
+    @Column(name = "rate_tier", nullable = false, length = 32)
+    private String rateTier;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
@@ -0,0 +1,6 @@
+package com.coffeepaw.smsapi.model;
+
+public enum BlocklistAction {
+    ADD,
+    REMOVE
+}
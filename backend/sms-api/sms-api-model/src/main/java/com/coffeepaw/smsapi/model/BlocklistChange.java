@@ -0,0 +1,33 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Append-only log of blocklist additions and removals. Instances replay it from the last id they applied to
+ * keep their in-memory blocklist current without reloading it.
+ */
+@Entity
+@Table(name = "sms_blocklist_change")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BlocklistChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "number_key", nullable = false)
+    private Long numberKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 8)
+    private BlocklistAction action;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,30 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number that opted out of receiving SMS. Sends to it are suppressed.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "sms_blocklist")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BlocklistEntry extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * E.164 key of the number, see {@link com.coffeepaw.smsapi.model.phone.PhoneNumbers}.
+     */
+    @Column(name = "number_key", nullable = false, unique = true)
+    private Long numberKey;
+
+    @Column(name = "reason", length = 255)
+    private String reason;
+}
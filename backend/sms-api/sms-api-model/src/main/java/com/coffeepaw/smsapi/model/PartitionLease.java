@@ -0,0 +1,38 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Time-bound ownership of one delivery partition by one node.
+ * <p>
+ * Every change of owner increments the fencing token, so a node that lost the lease, e.g. after a long pause,
+ * can be told apart from the current owner by the token it still holds.
+ */
+@Entity
+@Table(name = "sms_partition_lease")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PartitionLease {
+
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    /**
+     * Node holding the lease, {@code null} while the partition is free.
+     */
+    @Column(name = "owner_id", length = 36)
+    private String ownerId;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+
+    /**
+     * Epoch millis after which the lease may be claimed by another node.
+     */
+    @Column(name = "lease_until", nullable = false)
+    private long leaseUntil;
+}
@@ -20,21 +20,65 @@ public class Sms extends AuditModel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Recipient in E.164 display form, e.g. {@code +447911123456}.
+     */
     @Column(name = "to_number")
     private String to;
 
+    /**
+     * Recipient E.164 digits as a number, the compact and indexed form used for lookups.
+     */
+    @Column(name = "to_key")
+    private Long toKey;
+
+    @Column(name = "to_cc")
+    private Short toCountryCode;
+
     @Column(name = "from_number")
     private String from;
 
+    @Column(name = "from_key")
+    private Long fromKey;
+
+    @Column(name = "from_cc")
+    private Short fromCountryCode;
+
     @Column(name = "size")
     private int size;
 
     @Column(name = "parts")
     private int parts;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private SmsPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private SmsStatus status;
+
     @Column(name = "sent_date")
     private LocalDateTime sentDate;
 
+    /**
+     * Delivery route chosen for the recipient from the prefix routing table.
+     */
+    @Column(name = "route", length = 64)
+    private String route;
+
+    /**
+     * Hash partition of the recipient; all messages to a recipient share it, and so its owner.
+     */
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    /**
+     * Fencing token of the partition lease under which the message was last claimed for delivery.
+     */
+    @Column(name = "claim_token")
+    private Long claimToken;
+
     @ElementCollection
     @CollectionTable(name = "sms_content", joinColumns = @JoinColumn(name = "sms_id"))
     @Column(name = "content_part")
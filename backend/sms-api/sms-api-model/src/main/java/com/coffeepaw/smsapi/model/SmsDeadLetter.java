@@ -0,0 +1,35 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "sms_dead_letter")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SmsDeadLetter extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sms_id", nullable = false)
+    private Long smsId;
+
+    @Column(name = "error_type", nullable = false)
+    private String errorType;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "replayed_at")
+    private Instant replayedAt;
+}
@@ -0,0 +1,26 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running API node, kept alive by heartbeats. The live nodes determine each node's share of the partitions.
+ */
+@Entity
+@Table(name = "sms_node")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SmsNode {
+
+    @Id
+    @Column(name = "node_id", length = 36)
+    private String nodeId;
+
+    /**
+     * Epoch millis of the last heartbeat.
+     */
+    @Column(name = "heartbeat_at", nullable = false)
+    private long heartbeatAt;
+}
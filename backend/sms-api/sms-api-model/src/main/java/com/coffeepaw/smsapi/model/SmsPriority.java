@@ -0,0 +1,11 @@
+package com.coffeepaw.smsapi.model;
+
+/**
+ * Delivery lane of an SMS. Time-critical traffic (one-time passwords, alerts) goes to {@link #HIGH}
+ * so it is never queued behind bulk campaigns sent with {@link #LOW}.
+ */
+public enum SmsPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,31 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Routing table entry: recipients whose E.164 number starts with the prefix are delivered through the route.
+ * The longest matching prefix wins.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "sms_route")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SmsRoute extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Leading E.164 digits without {@code +}: a country code, optionally followed by operator or area digits.
+     */
+    @Column(name = "prefix", nullable = false, unique = true, length = 15)
+    private String prefix;
+
+    @Column(name = "route", nullable = false, length = 64)
+    private String route;
+}
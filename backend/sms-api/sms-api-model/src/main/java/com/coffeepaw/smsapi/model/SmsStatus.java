@@ -0,0 +1,11 @@
+package com.coffeepaw.smsapi.model;
+
+public enum SmsStatus {
+    QUEUED,
+    /**
+     * Claimed for delivery by the owner of its partition, only used when partitioned delivery is enabled.
+     */
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,51 @@
+package com.coffeepaw.smsapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Usage of one sender in one minute as counted by one instance, the rollup that stats and billing read instead
+ * of aggregating the {@code sms} table.
+ * <p>
+ * Every instance only writes its own rows and always writes its running totals, never increments, so writing
+ * the same totals again changes nothing. Totals of a sender are the sum over instances.
+ */
+@Entity
+@Table(name = "sms_usage")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SmsUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identifies the run of the instance that counted the usage, new on every start.
+     */
+    @Column(name = "instance_id", nullable = false, length = 36)
+    private String instanceId;
+
+    /**
+     * E.164 key of the sender, see {@link com.coffeepaw.smsapi.model.phone.PhoneNumbers}.
+     */
+    @Column(name = "sender_key", nullable = false)
+    private Long senderKey;
+
+    /**
+     * Minutes since the epoch (UTC) of the minute counted.
+     */
+    @Column(name = "bucket_minute", nullable = false)
+    private Long bucketMinute;
+
+    @Column(name = "messages", nullable = false)
+    private long messages;
+
+    @Column(name = "parts", nullable = false)
+    private long parts;
+
+    @Column(name = "characters", nullable = false)
+    private long characters;
+}
@@ -0,0 +1,25 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyDto {
+
+    private String keyId;
+
+    /**
+     * Full key to send in the {@code X-API-Key} header. Only returned once, when the key is created.
+     */
+    private String apiKey;
+
+    private String tenant;
+    private String rateTier;
+    private Instant createdAt;
+    private Instant revokedAt;
+}
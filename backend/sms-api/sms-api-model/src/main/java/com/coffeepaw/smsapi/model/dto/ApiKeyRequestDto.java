@@ -0,0 +1,21 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyRequestDto {
+
+    @NotBlank(message = "Tenant must not be blank")
+    @Size(max = 100, message = "Tenant must be at most 100 characters")
+    private String tenant;
+
+    @NotBlank(message = "Rate tier must not be blank")
+    @Size(max = 32, message = "Rate tier must be at most 32 characters")
+    private String rateTier;
+}
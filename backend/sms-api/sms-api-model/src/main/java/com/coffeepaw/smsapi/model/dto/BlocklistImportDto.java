@@ -0,0 +1,22 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlocklistImportDto {
+
+    @NotEmpty(message = "Numbers must not be empty")
+    @Size(max = 100000, message = "At most 100000 numbers can be imported at once")
+    private List<String> numbers;
+
+    @Size(max = 255, message = "Reason must be at most 255 characters")
+    private String reason;
+}
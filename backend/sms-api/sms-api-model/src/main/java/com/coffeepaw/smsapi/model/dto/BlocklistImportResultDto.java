@@ -0,0 +1,21 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlocklistImportResultDto {
+
+    private int added;
+    private int alreadyBlocked;
+
+    /**
+     * Numbers of the import that are not valid E.164 numbers and were skipped.
+     */
+    private List<String> invalid;
+}
@@ -0,0 +1,21 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SmsDeadLetterDto {
+
+    private Long id;
+    private Long smsId;
+    private String errorType;
+    private String errorMessage;
+    private int attempts;
+    private Instant createdAt;
+    private Instant replayedAt;
+}
@@ -1,7 +1,8 @@
 package com.coffeepaw.smsapi.model.dto;
 
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.phone.PhoneNumber;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,13 +13,22 @@ import lombok.NoArgsConstructor;
 public class SmsRequestDto {
 
     @NotBlank(message = "Sender must not be blank")
-    @Pattern(regexp = "^\\+?\\d{7,15}$", message = "Sender phone number is invalid")
+    @PhoneNumber(message = "Sender phone number is invalid")
     private String from;
 
     @NotBlank(message = "Recipient must not be blank")
-    @Pattern(regexp = "^\\+?\\d{7,15}$", message = "Recipient phone number is invalid")
+    @PhoneNumber(message = "Recipient phone number is invalid")
     private String to;
 
     @NotBlank(message = "Message content must not be blank")
     private String message;
-}
\ No newline at end of file
+
+    /**
+     * Optional delivery lane, {@link SmsPriority#NORMAL} when omitted.
+     */
+    private SmsPriority priority;
+
+    public SmsRequestDto(String from, String to, String message) {
+        this(from, to, message, null);
+    }
+}
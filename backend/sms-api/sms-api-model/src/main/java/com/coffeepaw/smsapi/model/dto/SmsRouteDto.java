@@ -0,0 +1,22 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SmsRouteDto {
+
+    @NotBlank(message = "Prefix must not be blank")
+    @Pattern(regexp = "[1-9][0-9]{0,14}", message = "Prefix must be 1 to 15 E.164 digits without '+'")
+    private String prefix;
+
+    @NotBlank(message = "Route must not be blank")
+    @Size(max = 64, message = "Route must be at most 64 characters")
+    private String route;
+}
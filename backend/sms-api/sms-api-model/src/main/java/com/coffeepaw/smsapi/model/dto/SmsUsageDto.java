@@ -0,0 +1,27 @@
+package com.coffeepaw.smsapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SmsUsageDto {
+
+    /**
+     * Sender in E.164 display form.
+     */
+    private String sender;
+
+    private long messages;
+
+    /**
+     * Billed parts: a message split into three parts counts three.
+     */
+    private long parts;
+
+    private long characters;
+}
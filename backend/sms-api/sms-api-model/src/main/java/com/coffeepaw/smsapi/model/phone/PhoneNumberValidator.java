@@ -0,0 +1,12 @@
+package com.coffeepaw.smsapi.model.phone;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || PhoneNumbers.isValid(value);
+    }
+}
@@ -0,0 +1,135 @@
+package com.coffeepaw.smsapi.model.phone;
+
+/**
+ * Parsing and normalization of phone numbers to E.164.
+ * <p>
+ * A number is accepted with or without a leading {@code +} or {@code 00} international prefix, and with spaces,
+ * dashes, dots and parentheses as separators. The remaining 7 to 15 digits must not start with 0, since no
+ * country code does. Without a prefix the digits are read as already including the country code, so
+ * {@code +44 7911 123456}, {@code 0044 7911 123456} and {@code 447911123456} are the same number.
+ * <p>
+ * The normalized number is kept as a key: the E.164 digits as a {@code long}, which fits since E.164 allows at most
+ * 15 digits. Parsing is a single pass over the input and allocates nothing.
+ */
+public final class PhoneNumbers {
+
+    /**
+     * Returned by {@link #parse(CharSequence)} for input that is not a valid number.
+     */
+    public static final long INVALID = -1;
+
+    public static final int MIN_DIGITS = 7;
+    public static final int MAX_DIGITS = 15;
+
+    /**
+     * Country codes are prefix-free: the one and two digit codes below are all there is, any other number
+     * starts with a three digit code.
+     */
+    private static final boolean[] TWO_DIGIT_CODES = new boolean[100];
+
+    static {
+        int[] codes = {20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49, 51, 52, 53, 54, 55, 56,
+                57, 58, 60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86, 90, 91, 92, 93, 94, 95, 98};
+        for (int code : codes) {
+            TWO_DIGIT_CODES[code] = true;
+        }
+    }
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Parses a number to its E.164 key, or {@link #INVALID}.
+     */
+    public static long parse(CharSequence number) {
+        if (number == null) {
+            return INVALID;
+        }
+        int length = number.length();
+        int i = 0;
+        while (i < length && isSeparator(number.charAt(i))) {
+            i++;
+        }
+        if (i < length && number.charAt(i) == '+') {
+            i++;
+        } else if (i + 1 < length && number.charAt(i) == '0' && number.charAt(i + 1) == '0') {
+            i += 2;
+        }
+        long key = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = number.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0 && c == '0' || digits == MAX_DIGITS) {
+                    return INVALID;
+                }
+                key = key * 10 + (c - '0');
+                digits++;
+            } else if (!isSeparator(c)) {
+                return INVALID;
+            }
+        }
+        return digits < MIN_DIGITS ? INVALID : key;
+    }
+
+    public static boolean isValid(CharSequence number) {
+        return parse(number) != INVALID;
+    }
+
+    /**
+     * Country calling code of a key returned by {@link #parse(CharSequence)}.
+     */
+    public static int countryCode(long key) {
+        int digits = digits(key);
+        int first = (int) (key / POWERS_OF_TEN[digits - 1]);
+        if (first == 1 || first == 7) {
+            return first;
+        }
+        int firstTwo = (int) (key / POWERS_OF_TEN[digits - 2]);
+        if (TWO_DIGIT_CODES[firstTwo]) {
+            return firstTwo;
+        }
+        return (int) (key / POWERS_OF_TEN[digits - 3]);
+    }
+
+    /**
+     * E.164 display form of a key, e.g. {@code +447911123456}.
+     */
+    public static String format(long key) {
+        return "+" + key;
+    }
+
+    /**
+     * Normalizes a number to its E.164 display form.
+     *
+     * @throws IllegalArgumentException if the number is not valid
+     */
+    public static String normalize(CharSequence number) {
+        long key = parse(number);
+        if (key == INVALID) {
+            throw new IllegalArgumentException("Invalid phone number: " + number);
+        }
+        return format(key);
+    }
+
+    private static int digits(long key) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && key >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '.' || c == '(' || c == ')';
+    }
+}
@@ -0,0 +1,148 @@
+package com.coffeepaw.smsapi.model.phone;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the previous storage and validation of phone numbers with the E.164 key:
+ * <ul>
+ *     <li>validation cost of the {@code @Pattern} regex against the single-pass {@link PhoneNumbers} parser</li>
+ *     <li>size of a recipient index on {@code VARCHAR(255)} numbers against one on the {@code BIGINT} key</li>
+ * </ul>
+ * Figures are published to the test report; run with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PhoneNumberBenchmarkTest {
+
+    private static final Pattern PREVIOUS_PATTERN = Pattern.compile("^\\+?\\d{7,15}$");
+    private static final int NUMBERS = 1024;
+    private static final int ROUNDS = 1_000;
+    private static final int ROWS = 200_000;
+
+    @Test
+    void parserValidation(TestReporter reporter) {
+        String[] numbers = numbers(new Random(42), NUMBERS);
+        PhoneNumberValidator validator = new PhoneNumberValidator();
+        for (int warmup = 0; warmup < 3; warmup++) {
+            assertEquals(regexRounds(numbers), parserRounds(validator, numbers));
+        }
+
+        long start = System.nanoTime();
+        regexRounds(numbers);
+        double regexNanos = (double) (System.nanoTime() - start) / ROUNDS / NUMBERS;
+        start = System.nanoTime();
+        parserRounds(validator, numbers);
+        double parserNanos = (double) (System.nanoTime() - start) / ROUNDS / NUMBERS;
+
+        reporter.publishEntry("validation", String.format("regex %.1f ns, parser %.1f ns per number (%.1fx)",
+                regexNanos, parserNanos, regexNanos / parserNanos));
+    }
+
+    @Test
+    void numericKeyIndexShouldBeSmallerThanVarcharIndex(@TempDir Path directory, TestReporter reporter)
+            throws SQLException, IOException {
+        String[] numbers = numbers(new Random(7), ROWS);
+        long varcharIndexBytes = indexBytes(directory.resolve("varchar"), "to_number VARCHAR(255)", "to_number",
+                numbers, false);
+        long keyIndexBytes = indexBytes(directory.resolve("key"), "to_key BIGINT, to_cc SMALLINT", "to_key",
+                numbers, true);
+
+        reporter.publishEntry("recipient index", String.format("%d rows: VARCHAR(255) %d KiB, BIGINT key %d KiB (%.1fx)",
+                ROWS, varcharIndexBytes / 1024, keyIndexBytes / 1024, (double) varcharIndexBytes / keyIndexBytes));
+        assertTrue(keyIndexBytes < varcharIndexBytes,
+                "Key index " + keyIndexBytes + " B is not smaller than VARCHAR index " + varcharIndexBytes + " B");
+    }
+
+    /**
+     * Index size as the growth of the compacted database file when the index is created.
+     */
+    private static long indexBytes(Path database, String columns, String indexedColumn, String[] numbers,
+                                   boolean numericKey) throws SQLException, IOException {
+        String url = "jdbc:h2:" + database;
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE sms (id BIGINT AUTO_INCREMENT PRIMARY KEY, " + columns + ")");
+            }
+            String insert = numericKey
+                    ? "INSERT INTO sms (to_key, to_cc) VALUES (?, ?)"
+                    : "INSERT INTO sms (to_number) VALUES (?)";
+            try (PreparedStatement statement = connection.prepareStatement(insert)) {
+                for (String number : numbers) {
+                    if (numericKey) {
+                        long key = PhoneNumbers.parse(number);
+                        statement.setLong(1, key);
+                        statement.setShort(2, (short) PhoneNumbers.countryCode(key));
+                    } else {
+                        statement.setString(1, number);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            shutdownCompact(connection);
+        }
+        Path file = Path.of(database + ".mv.db");
+        long withoutIndex = Files.size(file);
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX idx_sms_recipient ON sms (" + indexedColumn + ")");
+            }
+            shutdownCompact(connection);
+        }
+        return Files.size(file) - withoutIndex;
+    }
+
+    private static void shutdownCompact(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN COMPACT");
+        }
+    }
+
+    private static int regexRounds(String[] numbers) {
+        int accepted = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String number : numbers) {
+                if (PREVIOUS_PATTERN.matcher(number).matches()) {
+                    accepted++;
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private static int parserRounds(PhoneNumberValidator validator, String[] numbers) {
+        int accepted = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String number : numbers) {
+                if (validator.isValid(number, null)) {
+                    accepted++;
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private static String[] numbers(Random random, int count) {
+        String[] numbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = "+" + (1 + random.nextInt(9)) + String.format("%010d", random.nextLong(10_000_000_000L));
+        }
+        return numbers;
+    }
+}
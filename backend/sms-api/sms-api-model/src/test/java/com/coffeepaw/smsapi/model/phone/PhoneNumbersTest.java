@@ -0,0 +1,45 @@
+package com.coffeepaw.smsapi.model.phone;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumbersTest {
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "+447911123456      | 447911123456   | 44  | +447911123456",
+            "447911123456       | 447911123456   | 44  | +447911123456",
+            "0044 7911 123456   | 447911123456   | 44  | +447911123456",
+            "+1 (555) 123-4567  | 15551234567    | 1   | +15551234567",
+            "+7 912 345 67 89   | 79123456789    | 7   | +79123456789",
+            "+351.912.345.678   | 351912345678   | 351 | +351912345678",
+            "+8613812345678     | 8613812345678  | 86  | +8613812345678",
+            "1234567            | 1234567        | 1   | +1234567",
+            "+123456789012345   | 123456789012345| 1   | +123456789012345",
+            "+2125612345678     | 2125612345678  | 212 | +2125612345678"
+    })
+    void parseShouldNormalizeToE164(String input, long expectedKey, int expectedCountryCode, String expectedE164) {
+        long key = PhoneNumbers.parse(input.strip());
+
+        assertEquals(expectedKey, key);
+        assertEquals(expectedCountryCode, PhoneNumbers.countryCode(key));
+        assertEquals(expectedE164, PhoneNumbers.format(key));
+        assertEquals(expectedE164, PhoneNumbers.normalize(input.strip()));
+    }
+
+    @ParameterizedTest(name = "\"{0}\"")
+    @NullAndEmptySource
+    @ValueSource(strings = {"Service", "123456", "+1234567890123456", "07911123456", "+07911123456", "000441234567",
+            "+44 7911 12345a", "++447911123456", "+", "00", "447911+123456", "  "})
+    void parseShouldRejectInvalidNumbers(String input) {
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.parse(input));
+        if (input != null) {
+            assertFalse(new PhoneNumberValidator().isValid(input, null));
+        }
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumbers.normalize(input));
+    }
+}
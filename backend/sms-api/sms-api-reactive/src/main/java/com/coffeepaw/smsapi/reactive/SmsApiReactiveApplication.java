@@ -0,0 +1,14 @@
+package com.coffeepaw.smsapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+@SpringBootApplication
+@EnableR2dbcAuditing
+public class SmsApiReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SmsApiReactiveApplication.class, args);
+    }
+}
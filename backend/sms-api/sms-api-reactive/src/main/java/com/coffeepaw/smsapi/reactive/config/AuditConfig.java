@@ -0,0 +1,15 @@
+package com.coffeepaw.smsapi.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public ReactiveAuditorAware<String> auditorProvider() {
+        return () -> Mono.just("system_user");
+    }
+}
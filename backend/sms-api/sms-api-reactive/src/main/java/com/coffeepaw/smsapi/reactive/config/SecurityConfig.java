@@ -0,0 +1,67 @@
+package com.coffeepaw.smsapi.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@Configuration
+public class SecurityConfig {
+
+    @Value("${SMS_API_USER:admin}") // default "admin" if env var missing
+    private String username;
+
+    @Value("${SMS_API_PASSWORD:password}") // default "password" if env var missing
+    private String password;
+
+    @Value("${SMS_API_ROLES:USER}") // default role USER if missing
+    private String roles;
+
+    @Bean
+    @Profile("dev")
+    public SecurityWebFilterChain devSecurityFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange.anyExchange().permitAll())
+                .build();
+    }
+
+    @Bean
+    @Profile("prod")
+    public SecurityWebFilterChain filterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/actuator/**")
+                        .permitAll()
+                        .anyExchange()
+                        .authenticated()
+                )
+                .httpBasic(httpBasic -> {
+                })
+                .build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    @Bean
+    @Profile("prod")
+    public ReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        return new MapReactiveUserDetailsService(
+                User.withUsername(username)
+                        .password(passwordEncoder.encode(password))
+                        .roles(roles.split(","))
+                        .build()
+        );
+    }
+}
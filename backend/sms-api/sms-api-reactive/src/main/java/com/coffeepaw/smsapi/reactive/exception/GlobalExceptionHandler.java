@@ -0,0 +1,83 @@
+package com.coffeepaw.smsapi.reactive.exception;
+
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.List;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<MessageDto> handleValidationExceptions(WebExchangeBindException ex) {
+        List<String> errors = ex.getBindingResult()
+                .getAllErrors()
+                .stream()
+                .map(error -> error instanceof FieldError fieldError
+                        ? fieldError.getField() + ": " + error.getDefaultMessage()
+                        : error.getDefaultMessage())
+                .toList();
+
+        MessageDto response = MessageDto.builder()
+                .message("Validation failed for request")
+                .code(HttpStatus.BAD_REQUEST.value())
+                .errors(errors)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RecipientBlockedException.class)
+    public ResponseEntity<MessageDto> handleRecipientBlocked(RecipientBlockedException ex) {
+        MessageDto response = MessageDto.builder()
+                .message(ex.getMessage())
+                .code(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(DatabaseTransactionException.class)
+    public ResponseEntity<MessageDto> handleDatabaseTransaction(DatabaseTransactionException ex) {
+        logger.error("Database error while handling request", ex);
+        MessageDto response = MessageDto.builder()
+                .message("SMS could not be stored, please retry later.")
+                .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(SendingException.class)
+    public ResponseEntity<MessageDto> handleSending(SendingException ex) {
+        logger.error("Gateway error while handling request", ex);
+        MessageDto response = MessageDto.builder()
+                .message("SMS could not be delivered, please retry later.")
+                .code(HttpStatus.BAD_GATEWAY.value())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_GATEWAY);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleOtherExceptions(Exception ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unexpected error: " + ex.getMessage());
+    }
+}
@@ -0,0 +1,48 @@
+package com.coffeepaw.smsapi.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("sms_configuration")
+public class SmsConfigurationRecord {
+
+    @Id
+    private Long id;
+
+    @Column("max_sms_length")
+    private int maxSmsLength;
+
+    @Column("suffix_template")
+    private String suffixTemplate;
+
+    @CreatedBy
+    @Column("created_by")
+    private String createdBy;
+
+    @CreatedDate
+    @Column("created_at")
+    private Instant createdAt;
+
+    @LastModifiedBy
+    @Column("last_modified_by")
+    private String lastModifiedBy;
+
+    @LastModifiedDate
+    @Column("last_modified_date")
+    private Instant lastModifiedDate;
+}
@@ -0,0 +1,82 @@
+package com.coffeepaw.smsapi.reactive.model;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code sms} table. The parts live in {@code sms_content}, which R2DBC cannot map as a
+ * collection, so they are written separately by the service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("sms")
+public class SmsRecord {
+
+    @Id
+    private Long id;
+
+    @Column("to_number")
+    private String to;
+
+    @Column("to_key")
+    private Long toKey;
+
+    @Column("to_cc")
+    private Short toCountryCode;
+
+    @Column("from_number")
+    private String from;
+
+    @Column("from_key")
+    private Long fromKey;
+
+    @Column("from_cc")
+    private Short fromCountryCode;
+
+    @Column("size")
+    private int size;
+
+    @Column("parts")
+    private int parts;
+
+    @Column("priority")
+    private SmsPriority priority;
+
+    @Column("status")
+    private SmsStatus status;
+
+    @Column("sent_date")
+    private LocalDateTime sentDate;
+
+    @CreatedBy
+    @Column("created_by")
+    private String createdBy;
+
+    @CreatedDate
+    @Column("created_at")
+    private Instant createdAt;
+
+    @LastModifiedBy
+    @Column("last_modified_by")
+    private String lastModifiedBy;
+
+    @LastModifiedDate
+    @Column("last_modified_date")
+    private Instant lastModifiedDate;
+}
@@ -0,0 +1,11 @@
+package com.coffeepaw.smsapi.reactive.repository;
+
+import com.coffeepaw.smsapi.reactive.model.SmsConfigurationRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveSmsConfigurationRepository extends ReactiveCrudRepository<SmsConfigurationRecord, Long> {
+    Mono<SmsConfigurationRecord> findFirstByOrderByCreatedAtDesc();
+}
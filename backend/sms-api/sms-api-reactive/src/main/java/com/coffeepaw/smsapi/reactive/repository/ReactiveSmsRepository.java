@@ -0,0 +1,16 @@
+package com.coffeepaw.smsapi.reactive.repository;
+
+import com.coffeepaw.smsapi.reactive.model.SmsRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveSmsRepository extends ReactiveCrudRepository<SmsRecord, Long> {
+
+    @Modifying
+    @Query("UPDATE sms SET status = :status WHERE id = :id")
+    Mono<Integer> updateStatus(Long id, String status);
+}
@@ -0,0 +1,11 @@
+package com.coffeepaw.smsapi.reactive.service;
+
+import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
+import com.coffeepaw.smsapi.reactive.model.SmsConfigurationRecord;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSmsConfigurationService {
+    Mono<SmsConfigurationRecord> getCurrentConfiguration();
+
+    Mono<Void> createNewConfiguration(SmsConfigurationDto smsConfigurationDto);
+}
@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.reactive.service;
+
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSmsHandlerService {
+    Mono<Void> sendSms(SmsRequestDto smsRequestDTO);
+}
@@ -0,0 +1,57 @@
+package com.coffeepaw.smsapi.reactive.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
+import com.coffeepaw.smsapi.reactive.model.SmsConfigurationRecord;
+import com.coffeepaw.smsapi.reactive.repository.ReactiveSmsConfigurationRepository;
+import com.coffeepaw.smsapi.reactive.service.ReactiveSmsConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class ReactiveSmsConfigurationServiceImpl implements ReactiveSmsConfigurationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSmsConfigurationServiceImpl.class);
+
+    private final ReactiveSmsConfigurationRepository configurationRepository;
+    private final AtomicReference<SmsConfigurationRecord> currentConfiguration = new AtomicReference<>();
+
+    @Autowired
+    public ReactiveSmsConfigurationServiceImpl(ReactiveSmsConfigurationRepository configurationRepository) {
+        this.configurationRepository = configurationRepository;
+    }
+
+    @Override
+    public Mono<SmsConfigurationRecord> getCurrentConfiguration() {
+        SmsConfigurationRecord cached = currentConfiguration.get();
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        logger.debug("SMS configuration is not loaded");
+        return configurationRepository.findFirstByOrderByCreatedAtDesc()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No SMS configuration found")))
+                .doOnNext(configuration -> {
+                    currentConfiguration.compareAndSet(null, configuration);
+                    logger.debug("SMS configuration loaded: {}", configuration);
+                });
+    }
+
+    @Override
+    public Mono<Void> createNewConfiguration(SmsConfigurationDto configurationDto) {
+        logger.debug("Creating new SMS configuration");
+        SmsConfigurationRecord configuration = SmsConfigurationRecord.builder()
+                .maxSmsLength(configurationDto.getMaxSmsLength())
+                .suffixTemplate(configurationDto.getSuffixTemplate())
+                .build();
+        return configurationRepository.save(configuration)
+                .doOnNext(saved -> {
+                    currentConfiguration.set(saved);
+                    logger.debug("New configuration loaded: {}", saved);
+                })
+                .then();
+    }
+}
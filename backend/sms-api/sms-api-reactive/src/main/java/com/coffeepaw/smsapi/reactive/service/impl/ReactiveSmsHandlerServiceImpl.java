@@ -0,0 +1,118 @@
+package com.coffeepaw.smsapi.reactive.service.impl;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.model.phone.PhoneNumbers;
+import com.coffeepaw.smsapi.reactive.model.SmsRecord;
+import com.coffeepaw.smsapi.reactive.repository.ReactiveSmsRepository;
+import com.coffeepaw.smsapi.reactive.service.ReactiveSmsConfigurationService;
+import com.coffeepaw.smsapi.reactive.service.ReactiveSmsHandlerService;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.segment.SmsSegmenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class ReactiveSmsHandlerServiceImpl implements ReactiveSmsHandlerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSmsHandlerServiceImpl.class);
+
+    private final ReactiveSmsRepository smsRepository;
+    private final ReactiveSmsConfigurationService smsConfigurationService;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactiveSmsHandlerServiceImpl(ReactiveSmsRepository smsRepository,
+                                         ReactiveSmsConfigurationService smsConfigurationService,
+                                         DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.smsRepository = smsRepository;
+        this.smsConfigurationService = smsConfigurationService;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<Void> sendSms(SmsRequestDto smsRequestDTO) {
+        logger.debug("Sending SMS to {} from {}", smsRequestDTO.getTo(), smsRequestDTO.getFrom());
+        long toKey = PhoneNumbers.parse(smsRequestDTO.getTo());
+        long fromKey = PhoneNumbers.parse(smsRequestDTO.getFrom());
+        if (toKey == PhoneNumbers.INVALID || fromKey == PhoneNumbers.INVALID) {
+            return Mono.error(new IllegalArgumentException("Invalid phone number"));
+        }
+        return isBlocked(toKey)
+                .flatMap(blocked -> blocked
+                        ? Mono.error(new RecipientBlockedException(
+                                "Recipient " + PhoneNumbers.format(toKey) + " opted out of SMS"))
+                        : smsConfigurationService.getCurrentConfiguration())
+                .map(configuration -> SmsSegmenter.segment(smsRequestDTO.getMessage(),
+                        configuration.getMaxSmsLength(), configuration.getSuffixTemplate()))
+                .flatMap(messages -> saveSms(toRecord(smsRequestDTO, toKey, fromKey, messages), messages)
+                        .flatMap(sms -> sendSmsToRecipient(sms, messages)));
+    }
+
+    /**
+     * One indexed lookup per send; the servlet API keeps the blocklist in memory instead.
+     */
+    private Mono<Boolean> isBlocked(long toKey) {
+        return databaseClient.sql("SELECT 1 FROM sms_blocklist WHERE number_key = :numberKey")
+                .bind("numberKey", toKey)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    private SmsRecord toRecord(SmsRequestDto smsRequestDTO, long toKey, long fromKey, List<String> messages) {
+        return SmsRecord.builder()
+                .to(PhoneNumbers.format(toKey))
+                .toKey(toKey)
+                .toCountryCode((short) PhoneNumbers.countryCode(toKey))
+                .from(PhoneNumbers.format(fromKey))
+                .fromKey(fromKey)
+                .fromCountryCode((short) PhoneNumbers.countryCode(fromKey))
+                .size(smsRequestDTO.getMessage().length())
+                .parts(messages.size())
+                .priority(smsRequestDTO.getPriority() == null ? SmsPriority.NORMAL : smsRequestDTO.getPriority())
+                .status(SmsStatus.QUEUED)
+                .sentDate(LocalDateTime.now())
+                .build();
+    }
+
+    private Mono<SmsRecord> saveSms(SmsRecord sms, List<String> messages) {
+        return smsRepository.save(sms)
+                .flatMap(saved -> Flux.fromIterable(messages)
+                        .concatMap(part -> databaseClient
+                                .sql("INSERT INTO sms_content (sms_id, content_part) VALUES (:smsId, :part)")
+                                .bind("smsId", saved.getId())
+                                .bind("part", part)
+                                .fetch()
+                                .rowsUpdated())
+                        .then(Mono.just(saved)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> logger.debug("SMS saved successfully: {}", saved))
+                .onErrorMap(e -> new DatabaseTransactionException("Error while saving SMS", e));
+    }
+
+    private Mono<Void> sendSmsToRecipient(SmsRecord sms, List<String> messages) {
+        return Mono.fromRunnable(() -> {
+                    logger.info("Sending SMS to {}...", sms.getTo());
+                    messages.forEach(System.out::println);
+                })
+                .onErrorMap(e -> new SendingException("Error while sending SMS", e))
+                .then(smsRepository.updateStatus(sms.getId(), SmsStatus.SENT.name()))
+                .doOnNext(updated -> logger.info("SMS Sent to {}", sms.getTo()))
+                .then();
+    }
+}
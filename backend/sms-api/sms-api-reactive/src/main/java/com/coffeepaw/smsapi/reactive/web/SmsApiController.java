@@ -0,0 +1,34 @@
+package com.coffeepaw.smsapi.reactive.web;
+
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.reactive.service.ReactiveSmsHandlerService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/sms")
+public class SmsApiController {
+
+    private final ReactiveSmsHandlerService smsHandlerService;
+
+    @Autowired
+    public SmsApiController(ReactiveSmsHandlerService smsHandlerService) {
+        this.smsHandlerService = smsHandlerService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MessageDto>> sendSms(@Valid @RequestBody SmsRequestDto smsRequestDTO) {
+        return smsHandlerService.sendSms(smsRequestDTO)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(MessageDto.builder()
+                        .message("SMS sent successfully.")
+                        .code(200)
+                        .build())));
+    }
+}
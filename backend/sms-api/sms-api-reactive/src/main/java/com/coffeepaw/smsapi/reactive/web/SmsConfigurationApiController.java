@@ -0,0 +1,38 @@
+package com.coffeepaw.smsapi.reactive.web;
+
+import com.coffeepaw.smsapi.model.dto.MessageDto;
+import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
+import com.coffeepaw.smsapi.reactive.service.ReactiveSmsConfigurationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/sms/configuration")
+public class SmsConfigurationApiController {
+
+    private final ReactiveSmsConfigurationService smsConfigurationService;
+
+    @Autowired
+    public SmsConfigurationApiController(ReactiveSmsConfigurationService smsConfigurationService) {
+        this.smsConfigurationService = smsConfigurationService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MessageDto>> addSmsConfiguration(@Valid @RequestBody SmsConfigurationDto smsConfigurationDto) {
+        return smsConfigurationService.createNewConfiguration(smsConfigurationDto)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(MessageDto.builder()
+                        .message("New configuration added.")
+                        .code(200)
+                        .build())));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<SmsConfigurationDto>> getCurrentSmsConfiguration() {
+        return smsConfigurationService.getCurrentConfiguration()
+                .map(configuration -> ResponseEntity.ok(
+                        new SmsConfigurationDto(configuration.getMaxSmsLength(), configuration.getSuffixTemplate())));
+    }
+}
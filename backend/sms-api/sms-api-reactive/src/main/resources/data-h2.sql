@@ -0,0 +1,2 @@
+INSERT INTO sms_configuration (max_sms_length, suffix_template, created_by, created_at, last_modified_by, last_modified_date)
+VALUES (160, '... - Part %d of %d', 'system_user', TIMESTAMP '2025-05-30 12:00:00', 'system_user', TIMESTAMP '2025-05-30 12:00:00');
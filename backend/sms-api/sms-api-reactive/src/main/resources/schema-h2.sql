@@ -0,0 +1,51 @@
+-- Mirrors the Liquibase changelog of the servlet API for the in-memory R2DBC database
+CREATE TABLE IF NOT EXISTS sms (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    to_number VARCHAR(255),
+    to_key BIGINT,
+    to_cc SMALLINT,
+    from_number VARCHAR(255),
+    from_key BIGINT,
+    from_cc SMALLINT,
+    size INT,
+    parts INT,
+    priority VARCHAR(16),
+    status VARCHAR(16),
+    sent_date TIMESTAMP,
+    route VARCHAR(64),
+    created_by VARCHAR(100),
+    created_at TIMESTAMP,
+    last_modified_by VARCHAR(100),
+    last_modified_date TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_sms_to_key ON sms (to_key);
+CREATE INDEX IF NOT EXISTS idx_sms_from_key ON sms (from_key);
+CREATE INDEX IF NOT EXISTS idx_sms_to_cc ON sms (to_cc);
+
+CREATE TABLE IF NOT EXISTS sms_content (
+    sms_id BIGINT NOT NULL,
+    content_part VARCHAR(255),
+    CONSTRAINT fk_sms_content_sms FOREIGN KEY (sms_id) REFERENCES sms (id)
+);
+
+CREATE TABLE IF NOT EXISTS sms_configuration (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    max_sms_length INT NOT NULL,
+    suffix_template VARCHAR(255) NOT NULL,
+    created_by VARCHAR(100),
+    created_at TIMESTAMP,
+    last_modified_by VARCHAR(100),
+    last_modified_date TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS sms_blocklist (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    number_key BIGINT NOT NULL,
+    reason VARCHAR(255),
+    created_by VARCHAR(100),
+    created_at TIMESTAMP,
+    last_modified_by VARCHAR(100),
+    last_modified_date TIMESTAMP,
+    CONSTRAINT uk_sms_blocklist_number_key UNIQUE (number_key)
+);
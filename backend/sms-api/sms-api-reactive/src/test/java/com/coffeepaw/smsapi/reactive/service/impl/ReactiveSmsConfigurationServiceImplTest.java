@@ -0,0 +1,67 @@
+package com.coffeepaw.smsapi.reactive.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
+import com.coffeepaw.smsapi.reactive.model.SmsConfigurationRecord;
+import com.coffeepaw.smsapi.reactive.repository.ReactiveSmsConfigurationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSmsConfigurationServiceImplTest {
+
+    @Mock
+    private ReactiveSmsConfigurationRepository configurationRepository;
+
+    @InjectMocks
+    private ReactiveSmsConfigurationServiceImpl configurationService;
+
+    @Test
+    void getCurrentConfiguration_shouldLoadConfigurationOnlyOnce() {
+        SmsConfigurationRecord configuration = SmsConfigurationRecord.builder()
+                .maxSmsLength(160)
+                .suffixTemplate("... - Part %d of %d")
+                .build();
+        when(configurationRepository.findFirstByOrderByCreatedAtDesc()).thenReturn(Mono.just(configuration));
+
+        StepVerifier.create(configurationService.getCurrentConfiguration())
+                .expectNext(configuration)
+                .verifyComplete();
+        StepVerifier.create(configurationService.getCurrentConfiguration())
+                .expectNext(configuration)
+                .verifyComplete();
+
+        verify(configurationRepository, times(1)).findFirstByOrderByCreatedAtDesc();
+    }
+
+    @Test
+    void getCurrentConfiguration_shouldFailWhenNoConfigurationExists() {
+        when(configurationRepository.findFirstByOrderByCreatedAtDesc()).thenReturn(Mono.empty());
+
+        StepVerifier.create(configurationService.getCurrentConfiguration())
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void createNewConfiguration_shouldReplaceCachedConfiguration() {
+        when(configurationRepository.save(any(SmsConfigurationRecord.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(configurationService.createNewConfiguration(new SmsConfigurationDto(70, " (%d/%d)")))
+                .verifyComplete();
+        StepVerifier.create(configurationService.getCurrentConfiguration())
+                .expectNextMatches(configuration -> configuration.getMaxSmsLength() == 70)
+                .verifyComplete();
+
+        verify(configurationRepository).save(any(SmsConfigurationRecord.class));
+        verifyNoMoreInteractions(configurationRepository);
+    }
+}
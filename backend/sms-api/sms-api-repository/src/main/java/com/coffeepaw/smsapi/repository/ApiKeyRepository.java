@@ -0,0 +1,12 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+    Optional<ApiKey> findByKeyId(String keyId);
+}
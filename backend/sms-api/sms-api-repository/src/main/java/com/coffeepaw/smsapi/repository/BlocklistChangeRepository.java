@@ -0,0 +1,19 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BlocklistChangeRepository extends JpaRepository<BlocklistChange, Long> {
+    List<BlocklistChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<BlocklistChange> findByIdIn(Collection<Long> ids);
+
+    Optional<BlocklistChange> findTopByOrderByIdDesc();
+}
@@ -0,0 +1,22 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BlocklistEntryRepository extends JpaRepository<BlocklistEntry, Long> {
+    Optional<BlocklistEntry> findByNumberKey(Long numberKey);
+
+    @Query("select b.numberKey from BlocklistEntry b where b.numberKey in :numberKeys")
+    List<Long> findNumberKeysIn(@Param("numberKeys") Collection<Long> numberKeys);
+
+    List<BlocklistEntry> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -0,0 +1,52 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.PartitionLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PartitionLeaseRepository extends JpaRepository<PartitionLease, Integer> {
+
+    List<PartitionLease> findByOwnerId(String ownerId);
+
+    @Query("select l.partitionId from PartitionLease l")
+    List<Integer> findAllPartitionIds();
+
+    @Query("select l.partitionId from PartitionLease l where l.ownerId is null or l.leaseUntil < :now")
+    List<Integer> findClaimable(@Param("now") long now);
+
+    /**
+     * Takes over a free or expired lease, moving its fencing token on.
+     *
+     * @return 1 if the lease was claimed, 0 if another node holds it
+     */
+    @Transactional
+    @Modifying
+    @Query("update PartitionLease l set l.ownerId = :ownerId, l.fencingToken = l.fencingToken + 1, "
+            + "l.leaseUntil = :leaseUntil "
+            + "where l.partitionId = :partitionId and (l.ownerId is null or l.leaseUntil < :now)")
+    int claim(@Param("partitionId") int partitionId, @Param("ownerId") String ownerId,
+              @Param("leaseUntil") long leaseUntil, @Param("now") long now);
+
+    /**
+     * Extends every lease still held by the node. A lease that expired is extended too as long as no other node
+     * claimed it in the meantime, since then nobody else can have worked on the partition.
+     */
+    @Transactional
+    @Modifying
+    @Query("update PartitionLease l set l.leaseUntil = :leaseUntil where l.ownerId = :ownerId")
+    int renew(@Param("ownerId") String ownerId, @Param("leaseUntil") long leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("update PartitionLease l set l.ownerId = null, l.leaseUntil = 0 "
+            + "where l.partitionId = :partitionId and l.ownerId = :ownerId and l.fencingToken = :fencingToken")
+    int release(@Param("partitionId") int partitionId, @Param("ownerId") String ownerId,
+                @Param("fencingToken") long fencingToken);
+}
@@ -0,0 +1,12 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SmsDeadLetterRepository extends JpaRepository<SmsDeadLetter, Long> {
+    List<SmsDeadLetter> findByReplayedAtIsNullOrderByIdAsc();
+}
@@ -0,0 +1,25 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SmsNodeRepository extends JpaRepository<SmsNode, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update SmsNode n set n.heartbeatAt = :now where n.nodeId = :nodeId")
+    int heartbeat(@Param("nodeId") String nodeId, @Param("now") long now);
+
+    long countByHeartbeatAtGreaterThanEqual(long since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SmsNode n where n.heartbeatAt < :before")
+    int deleteSilentSince(@Param("before") long before);
+}
@@ -1,9 +1,67 @@
 package com.coffeepaw.smsapi.repository;
 
 import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SmsRepository extends JpaRepository<Sms, Long> {
+
+    @EntityGraph(attributePaths = "content")
+    Optional<Sms> findWithContentById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Sms s set s.status = :status where s.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") SmsStatus status);
+
+    /**
+     * The oldest queued or claimed message of every recipient in the given partitions, in id order, leaving out
+     * recipients whose oldest message is claimed under the current lease of its partition and so still in
+     * flight. A recipient with a long backlog takes a single row, so it cannot crowd the others out of a batch.
+     */
+    @Query("select s from Sms s where s.partitionId in :partitionIds and s.status in (:queued, :sending) "
+            + "and s.id = (select min(h.id) from Sms h where h.toKey = s.toKey and h.status in (:queued, :sending)) "
+            + "and not exists (select l.partitionId from PartitionLease l where l.partitionId = s.partitionId "
+            + "and s.status = :sending and s.claimToken = l.fencingToken) "
+            + "order by s.id asc")
+    List<Sms> findNextPerRecipient(@Param("partitionIds") Collection<Integer> partitionIds,
+                                   @Param("queued") SmsStatus queued, @Param("sending") SmsStatus sending,
+                                   Limit limit);
+
+    long countByPartitionIdAndStatusAndClaimToken(Integer partitionId, SmsStatus status, Long claimToken);
+
+    /**
+     * Claims a queued message, or one left claimed by an earlier owner of its partition, for delivery. Fenced:
+     * only succeeds while the node holds the partition lease with the given token.
+     *
+     * @return 1 if the message was claimed
+     */
+    @Transactional
+    @Modifying
+    @Query("update Sms s set s.status = :sending, s.claimToken = :token "
+            + "where s.id = :id and (s.status = :queued or (s.status = :sending and s.claimToken < :token)) "
+            + "and exists (select l.partitionId from PartitionLease l where l.partitionId = s.partitionId "
+            + "and l.ownerId = :ownerId and l.fencingToken = :token and l.leaseUntil >= :now)")
+    int claim(@Param("id") Long id, @Param("ownerId") String ownerId, @Param("token") long token,
+              @Param("now") long now, @Param("queued") SmsStatus queued, @Param("sending") SmsStatus sending);
+
+    /**
+     * Status update of a claimed message, fenced: does nothing once another owner claimed the message again.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Sms s set s.status = :status where s.id = :id and s.claimToken = :token")
+    int updateClaimedStatus(@Param("id") Long id, @Param("token") Long token, @Param("status") SmsStatus status);
 }
@@ -0,0 +1,12 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SmsRouteRepository extends JpaRepository<SmsRoute, Long> {
+    List<SmsRoute> findAllByOrderByPrefixAsc();
+}
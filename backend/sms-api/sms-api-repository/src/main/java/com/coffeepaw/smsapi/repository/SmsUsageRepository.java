@@ -0,0 +1,34 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SmsUsageRepository extends JpaRepository<SmsUsage, Long>, SmsUsageWriter {
+
+    /**
+     * Usage per sender over the minutes {@code [fromMinute, toMinute)}, of one sender if {@code senderKey} is set.
+     */
+    @Query("select u.senderKey as senderKey, sum(u.messages) as messages, sum(u.parts) as parts, "
+            + "sum(u.characters) as characters from SmsUsage u "
+            + "where u.bucketMinute >= :fromMinute and u.bucketMinute < :toMinute "
+            + "and (:senderKey is null or u.senderKey = :senderKey) "
+            + "group by u.senderKey order by u.senderKey")
+    List<SenderUsage> sumBySender(@Param("fromMinute") long fromMinute, @Param("toMinute") long toMinute,
+                                  @Param("senderKey") Long senderKey);
+
+    interface SenderUsage {
+        Long getSenderKey();
+
+        Long getMessages();
+
+        Long getParts();
+
+        Long getCharacters();
+    }
+}
@@ -0,0 +1,19 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsUsage;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Batched writes of usage rollup rows, which Spring Data JPA has no bulk form for.
+ */
+public interface SmsUsageWriter {
+
+    /**
+     * Sets the totals of the given rows, keyed by instance, sender and minute, inserting the rows that do not
+     * exist yet. Rows are written in JDBC batches in one transaction; ids of the given rows are ignored.
+     */
+    @Transactional
+    void upsertUsage(List<SmsUsage> usage);
+}
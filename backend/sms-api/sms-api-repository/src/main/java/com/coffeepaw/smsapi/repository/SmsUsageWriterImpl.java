@@ -0,0 +1,69 @@
+package com.coffeepaw.smsapi.repository;
+
+import com.coffeepaw.smsapi.model.SmsUsage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC batches: an update of every row, then an insert of the rows no update matched. Unlike a
+ * {@code MERGE} or {@code ON DUPLICATE KEY UPDATE} this runs unchanged on every supported database, and since
+ * only the owning instance writes its rows there is no concurrent insert of the same key to guard against.
+ * <p>
+ * Drivers may answer a batched statement with {@link Statement#SUCCESS_NO_INFO} instead of a row count; such rows
+ * are updated again one by one, since only a real count tells whether the row still has to be inserted.
+ */
+public class SmsUsageWriterImpl implements SmsUsageWriter {
+
+    private static final String UPDATE = "UPDATE sms_usage SET messages = ?, parts = ?, characters = ? "
+            + "WHERE instance_id = ? AND sender_key = ? AND bucket_minute = ?";
+    private static final String INSERT = "INSERT INTO sms_usage "
+            + "(instance_id, sender_key, bucket_minute, messages, parts, characters) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SmsUsageWriterImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertUsage(List<SmsUsage> usage) {
+        if (usage.isEmpty()) {
+            return;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE, usage, usage.size(), (ps, row) -> {
+            ps.setLong(1, row.getMessages());
+            ps.setLong(2, row.getParts());
+            ps.setLong(3, row.getCharacters());
+            ps.setString(4, row.getInstanceId());
+            ps.setLong(5, row.getSenderKey());
+            ps.setLong(6, row.getBucketMinute());
+        })[0];
+        List<SmsUsage> missing = new ArrayList<>();
+        for (int i = 0; i < usage.size(); i++) {
+            SmsUsage row = usage.get(i);
+            int count = updated[i] == Statement.SUCCESS_NO_INFO
+                    ? jdbcTemplate.update(UPDATE, row.getMessages(), row.getParts(), row.getCharacters(),
+                    row.getInstanceId(), row.getSenderKey(), row.getBucketMinute())
+                    : updated[i];
+            if (count == 0) {
+                missing.add(row);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, missing, missing.size(), (ps, row) -> {
+            ps.setString(1, row.getInstanceId());
+            ps.setLong(2, row.getSenderKey());
+            ps.setLong(3, row.getBucketMinute());
+            ps.setLong(4, row.getMessages());
+            ps.setLong(5, row.getParts());
+            ps.setLong(6, row.getCharacters());
+        });
+    }
+}
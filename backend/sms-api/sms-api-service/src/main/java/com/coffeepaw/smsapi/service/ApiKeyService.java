@@ -0,0 +1,18 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.service.auth.ApiKeyPrincipal;
+import com.coffeepaw.smsapi.service.auth.IssuedApiKey;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ApiKeyService {
+    Optional<ApiKeyPrincipal> authenticate(String presentedKey);
+
+    IssuedApiKey createApiKey(String tenant, String rateTier);
+
+    void revokeApiKey(String keyId);
+
+    List<ApiKey> getApiKeys();
+}
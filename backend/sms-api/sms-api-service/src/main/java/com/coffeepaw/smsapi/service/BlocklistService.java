@@ -0,0 +1,13 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.dto.BlocklistImportResultDto;
+
+import java.util.List;
+
+public interface BlocklistService {
+    boolean isBlocked(long numberKey);
+
+    BlocklistImportResultDto importNumbers(List<String> numbers, String reason);
+
+    void removeNumber(String number);
+}
@@ -0,0 +1,19 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+
+import java.util.List;
+
+public interface DeadLetterService {
+    List<SmsDeadLetter> getPendingDeadLetters();
+
+    void replay(Long deadLetterId);
+
+    /**
+     * Replays every pending dead letter; one that cannot be replayed stays pending and does not stop the others.
+     */
+    ReplayResult replayAll();
+
+    record ReplayResult(int replayed, int failed) {
+    }
+}
@@ -8,9 +8,13 @@ public interface SmsConfigurationService {
 
     void checkConfiguration();
 
-    int getMaxSmsLength();
-
-    String getSuffixTemplate();
+    /**
+     * The segmentation settings last loaded by {@link #checkConfiguration()}, both from the same configuration.
+     */
+    Segmentation getSegmentation();
 
     void createNewConfiguration(SmsConfigurationDto smsConfigurationDto);
+
+    record Segmentation(int maxSmsLength, String suffixTemplate) {
+    }
 }
\ No newline at end of file
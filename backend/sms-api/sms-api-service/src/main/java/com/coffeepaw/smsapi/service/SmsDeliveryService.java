@@ -0,0 +1,15 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.Sms;
+
+public interface SmsDeliveryService {
+    void deliver(Sms sms);
+
+    /**
+     * Delivers a message this node claimed as owner of its partition; its status updates are fenced on the
+     * claim token.
+     *
+     * @return false if the lane of the message is full and the message went back to the queue
+     */
+    boolean deliverClaimed(Sms sms);
+}
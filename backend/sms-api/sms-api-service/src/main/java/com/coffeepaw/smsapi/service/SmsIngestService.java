@@ -0,0 +1,19 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.service.ingest.IngestSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface SmsIngestService {
+
+    /**
+     * Sends every request of a {@link com.coffeepaw.smsapi.service.ingest.SmsFrames} stream as it is read,
+     * writing the result of each to the output as soon as the input runs dry. Input that is not framed correctly
+     * gets one last {@code INVALID} result and ends the stream.
+     *
+     * @throws IOException if writing the results fails
+     */
+    IngestSummary ingest(InputStream requests, OutputStream results) throws IOException;
+}
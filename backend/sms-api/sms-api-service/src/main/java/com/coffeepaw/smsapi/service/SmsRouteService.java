@@ -0,0 +1,13 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+
+import java.util.List;
+
+public interface SmsRouteService {
+    List<SmsRoute> getRoutes();
+
+    void replaceRoutes(List<SmsRoute> routes);
+
+    int reloadRoutes();
+}
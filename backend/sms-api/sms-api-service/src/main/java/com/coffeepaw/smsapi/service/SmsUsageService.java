@@ -0,0 +1,12 @@
+package com.coffeepaw.smsapi.service;
+
+import com.coffeepaw.smsapi.model.dto.SmsUsageDto;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SmsUsageService {
+    void recordUsage(long senderKey, int parts, int characters);
+
+    List<SmsUsageDto> getUsage(Instant from, Instant to, String sender);
+}
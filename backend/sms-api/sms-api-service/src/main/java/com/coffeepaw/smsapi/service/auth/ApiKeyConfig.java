@@ -0,0 +1,57 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.time.Duration;
+
+@Configuration
+public class ApiKeyConfig {
+
+    /**
+     * Placeholder pepper of the application properties, only good enough for local runs.
+     */
+    static final String DEV_PEPPER = "change-me";
+
+    @Value("${sms.security.api-key.pepper:" + DEV_PEPPER + "}")
+    private String pepper;
+
+    @Value("${sms.security.api-key.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${sms.security.api-key.cache.miss-max-size:1000}")
+    private int cacheMissMaxSize;
+
+    @Value("${sms.security.api-key.cache.ttl:60s}")
+    private Duration cacheTtl;
+
+    /**
+     * @throws IllegalStateException outside the dev and h2 profiles while the pepper is blank or the placeholder, as
+     *                               every stored secret would be hashed under a publicly known key
+     */
+    @Bean
+    public ApiKeyHasher apiKeyHasher(Environment environment) {
+        if ((pepper.isBlank() || DEV_PEPPER.equals(pepper)) && !environment.acceptsProfiles(Profiles.of("dev | h2"))) {
+            throw new IllegalStateException("Set SMS_API_KEY_PEPPER to a secret value: the default API key pepper "
+                    + "is only accepted with the dev or h2 profile");
+        }
+        return new ApiKeyHasher(pepper);
+    }
+
+    @Bean
+    public ApiKeyCredentialCache apiKeyCredentialCache(MeterRegistry meterRegistry) {
+        ApiKeyCredentialCache cache = new ApiKeyCredentialCache(cacheMaxSize, cacheMissMaxSize, cacheTtl);
+        Gauge.builder("sms.auth.api-key.cache.size", cache, ApiKeyCredentialCache::size)
+                .description("API key credentials held in the verified-credential cache")
+                .register(meterRegistry);
+        Gauge.builder("sms.auth.api-key.cache.miss.size", cache, ApiKeyCredentialCache::missSize)
+                .description("Unknown and revoked API key ids held in the cache")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,97 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of API key credentials loaded from the database, keyed by key id.
+ * <p>
+ * Entries expire after the TTL, which bounds how long a key revoked on another node stays usable here. Unknown
+ * and revoked key ids are cached as well, so repeated bad keys do not reach the database on every request, but
+ * in a smaller LRU of their own: a client cycling through made-up key ids only evicts other misses, never the
+ * credentials of valid keys.
+ */
+public class ApiKeyCredentialCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> misses;
+
+    /**
+     * @param maxSize     valid credentials held
+     * @param missMaxSize unknown and revoked key ids held
+     */
+    public ApiKeyCredentialCache(int maxSize, int missMaxSize, Duration ttl) {
+        if (maxSize <= 0 || missMaxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.entries = lru(maxSize);
+        this.misses = lru(missMaxSize);
+    }
+
+    /**
+     * Returns the cached credential, or {@code null} when the key id is not cached or its entry expired.
+     */
+    public synchronized Entry get(String keyId) {
+        Map<String, Entry> holder = entries.containsKey(keyId) ? entries : misses;
+        Entry entry = holder.get(keyId);
+        if (entry != null && System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+            holder.remove(keyId);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String keyId, Entry entry) {
+        (entry.isValid() ? misses : entries).remove(keyId);
+        (entry.isValid() ? entries : misses).put(keyId, entry);
+    }
+
+    public synchronized void invalidate(String keyId) {
+        entries.remove(keyId);
+        misses.remove(keyId);
+    }
+
+    /**
+     * Valid credentials held.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Unknown and revoked key ids held.
+     */
+    public synchronized int missSize() {
+        return misses.size();
+    }
+
+    private static Map<String, Entry> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * A credential as loaded from the database; {@code principal} is {@code null} for unknown or revoked keys.
+     */
+    public record Entry(byte[] secretHash, ApiKeyPrincipal principal, long loadedAt) {
+
+        public static Entry valid(byte[] secretHash, ApiKeyPrincipal principal) {
+            return new Entry(secretHash, principal, System.nanoTime());
+        }
+
+        public static Entry invalid() {
+            return new Entry(null, null, System.nanoTime());
+        }
+
+        public boolean isValid() {
+            return principal != null;
+        }
+    }
+}
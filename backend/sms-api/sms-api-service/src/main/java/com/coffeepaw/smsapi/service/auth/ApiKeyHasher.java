@@ -0,0 +1,53 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * HMAC-SHA256 of API key secrets under a server-side pepper.
+ * <p>
+ * Key secrets are 256 random bits, so unlike passwords they need no slow hash: a keyed hash is enough to keep a
+ * leaked {@code api_key} table useless without the pepper, and costs about a microsecond per request.
+ */
+public class ApiKeyHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Mac prototype;
+
+    public ApiKeyHasher(String pepper) {
+        if (pepper == null || pepper.isEmpty()) {
+            throw new IllegalArgumentException("API key pepper must not be empty");
+        }
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public byte[] hash(String secret) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 instance cannot be cloned", e);
+        }
+    }
+
+    public String hashHex(String secret) {
+        return HexFormat.of().formatHex(hash(secret));
+    }
+
+    /**
+     * Constant-time comparison of the hash of {@code secret} with a stored hash.
+     */
+    public boolean matches(String secret, byte[] expectedHash) {
+        return MessageDigest.isEqual(hash(secret), expectedHash);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffeepaw.smsapi.service.auth;
+
+/**
+ * Authenticated API client, with the key metadata loaded together with the credential.
+ */
+public record ApiKeyPrincipal(String keyId, String tenant, String rateTier) {
+}
@@ -0,0 +1,9 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+
+/**
+ * A newly created key together with its full value, which is not stored and cannot be shown again.
+ */
+public record IssuedApiKey(ApiKey apiKey, String rawKey) {
+}
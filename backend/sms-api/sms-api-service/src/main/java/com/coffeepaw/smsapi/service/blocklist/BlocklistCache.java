@@ -0,0 +1,206 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import com.coffeepaw.smsapi.repository.BlocklistChangeRepository;
+import com.coffeepaw.smsapi.repository.BlocklistEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of the opt-out blocklist, so checking a recipient never costs a database round trip.
+ * <p>
+ * On start the whole {@code sms_blocklist} table is loaded page by page. After that the copy is kept current by
+ * replaying {@code sms_blocklist_change} from the last change id applied, on a fixed delay and right after local
+ * imports. Changes are applied one key at a time to the live set, so there is no rebuild to wait for.
+ * <p>
+ * Change ids are handed out on insert but become visible on commit, so a change can show up after changes with
+ * higher ids were already applied. Skipped ids are therefore kept as gaps and looked up again on every refresh
+ * until they appear or {@link #GAP_TIMEOUT} passes (ids of rolled back inserts never appear). A late change is
+ * resolved against the current {@code sms_blocklist} row rather than replayed, because newer changes of the same
+ * number may already have been applied.
+ */
+public class BlocklistCache implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlocklistCache.class);
+    private static final int PAGE_SIZE = 10_000;
+    private static final int LOOKUP_SIZE = 1_000;
+    private static final int MAX_GAPS = 100_000;
+    private static final Duration GAP_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * Changes replayed after the initial load, to catch the ones still uncommitted while it ran.
+     */
+    private static final long LOAD_REPLAY = 10_000;
+
+    private final BlocklistEntryRepository entryRepository;
+    private final BlocklistChangeRepository changeRepository;
+    private final Duration refreshInterval;
+    private final LongHashSet numbers = new LongHashSet();
+    private final TreeMap<Long, Long> gapDeadlines = new TreeMap<>();
+
+    private ScheduledExecutorService refresher;
+    private long lastChangeId;
+    private volatile boolean running;
+
+    public BlocklistCache(BlocklistEntryRepository entryRepository, BlocklistChangeRepository changeRepository,
+                          Duration refreshInterval) {
+        this.entryRepository = entryRepository;
+        this.changeRepository = changeRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public boolean contains(long numberKey) {
+        return numbers.contains(numberKey);
+    }
+
+    public int size() {
+        return numbers.size();
+    }
+
+    public long memoryBytes() {
+        return numbers.memoryBytes();
+    }
+
+    /**
+     * Loads the full blocklist. Only called once, before any refresh.
+     */
+    public synchronized void load() {
+        long watermark = changeRepository.findTopByOrderByIdDesc().map(BlocklistChange::getId).orElse(0L);
+        long lastId = 0;
+        List<BlocklistEntry> page;
+        do {
+            page = entryRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(PAGE_SIZE));
+            for (BlocklistEntry entry : page) {
+                numbers.add(entry.getNumberKey());
+                lastId = entry.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        lastChangeId = Math.max(0, watermark - LOAD_REPLAY);
+        refresh();
+        logger.info("Loaded {} blocklisted numbers ({} KiB), last change id {}", numbers.size(),
+                numbers.memoryBytes() / 1024, lastChangeId);
+    }
+
+    /**
+     * Applies the changes logged since the last refresh, including late commits of skipped ids.
+     *
+     * @return the number of changes applied
+     */
+    public synchronized int refresh() {
+        int applied = resolveGaps();
+        List<BlocklistChange> changes;
+        do {
+            changes = changeRepository.findByIdGreaterThanOrderByIdAsc(lastChangeId, Limit.of(PAGE_SIZE));
+            for (BlocklistChange change : changes) {
+                trackGap(lastChangeId, change.getId());
+                switch (change.getAction()) {
+                    case ADD -> numbers.add(change.getNumberKey());
+                    case REMOVE -> numbers.remove(change.getNumberKey());
+                }
+                lastChangeId = change.getId();
+                applied++;
+            }
+        } while (changes.size() == PAGE_SIZE);
+        if (applied > 0) {
+            logger.debug("Applied {} blocklist changes, last change id {}", applied, lastChangeId);
+        }
+        return applied;
+    }
+
+    synchronized int pendingGaps() {
+        return gapDeadlines.size();
+    }
+
+    private void trackGap(long previousId, long id) {
+        long deadline = System.nanoTime() + GAP_TIMEOUT.toNanos();
+        for (long missing = previousId + 1; missing < id; missing++) {
+            if (gapDeadlines.size() >= MAX_GAPS) {
+                logger.warn("Too many blocklist change gaps, not tracking ids {} to {}", missing, id - 1);
+                return;
+            }
+            gapDeadlines.put(missing, deadline);
+        }
+    }
+
+    private int resolveGaps() {
+        if (gapDeadlines.isEmpty()) {
+            return 0;
+        }
+        int resolved = 0;
+        List<Long> ids = new ArrayList<>(gapDeadlines.keySet());
+        for (int from = 0; from < ids.size(); from += LOOKUP_SIZE) {
+            List<BlocklistChange> late = changeRepository.findByIdIn(ids.subList(from,
+                    Math.min(from + LOOKUP_SIZE, ids.size())));
+            if (late.isEmpty()) {
+                continue;
+            }
+            Set<Long> numberKeys = new HashSet<>();
+            late.forEach(change -> numberKeys.add(change.getNumberKey()));
+            Set<Long> blocked = new HashSet<>(entryRepository.findNumberKeysIn(numberKeys));
+            for (Long numberKey : numberKeys) {
+                if (blocked.contains(numberKey)) {
+                    numbers.add(numberKey);
+                } else {
+                    numbers.remove(numberKey);
+                }
+            }
+            late.forEach(change -> gapDeadlines.remove(change.getId()));
+            resolved += late.size();
+        }
+        long now = System.nanoTime();
+        gapDeadlines.values().removeIf(deadline -> deadline - now < 0);
+        return resolved;
+    }
+
+    @Override
+    public void start() {
+        load();
+        refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sms-blocklist-refresh").daemon().factory());
+        long intervalMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts well before the web server, so no request is checked against a blocklist that is not loaded yet.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Blocklist refresh failed, keeping the current copy", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import com.coffeepaw.smsapi.repository.BlocklistChangeRepository;
+import com.coffeepaw.smsapi.repository.BlocklistEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class BlocklistConfig {
+
+    @Value("${sms.blocklist.refresh-interval:5s}")
+    private Duration refreshInterval;
+
+    @Bean
+    public BlocklistCache blocklistCache(BlocklistEntryRepository blocklistEntryRepository,
+                                         BlocklistChangeRepository blocklistChangeRepository,
+                                         MeterRegistry meterRegistry) {
+        BlocklistCache cache = new BlocklistCache(blocklistEntryRepository, blocklistChangeRepository, refreshInterval);
+        Gauge.builder("sms.blocklist.size", cache, BlocklistCache::size)
+                .description("Numbers held in the in-memory opt-out blocklist")
+                .register(meterRegistry);
+        Gauge.builder("sms.blocklist.memory", cache, BlocklistCache::memoryBytes)
+                .description("Heap used by the in-memory opt-out blocklist table")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,185 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of positive {@code long} keys in a single open-addressing table with linear probing.
+ * <p>
+ * Keys are stored unboxed, so a million phone number keys take 16 MiB (one {@code long} per slot, at most 70%
+ * of the slots used) instead of the ~60 MiB of a {@code HashSet<Long>}. Zero marks an empty slot, which is why
+ * only positive keys are accepted. Removal shifts the following entries of the probe run back instead of
+ * leaving tombstones, so lookups never slow down as numbers are added and removed over time.
+ * <p>
+ * Meant for many readers and a single writer: {@link #contains} is an optimistic read that only takes the read
+ * lock when it raced with a write. Each write takes the single write lock over the whole table, which is held only
+ * for the insert or delete itself; growing the table copies it outside the lock and takes the lock just to swap it
+ * in, so readers are never blocked for a rebuild.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.7;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] table;
+    private volatile int size;
+
+    public LongHashSet() {
+        this(0);
+    }
+
+    public LongHashSet(int expectedSize) {
+        this.table = new long[capacityFor(expectedSize)];
+    }
+
+    public boolean contains(long key) {
+        if (key <= 0) {
+            return false;
+        }
+        long stamp = lock.tryOptimisticRead();
+        boolean found = find(table, key) >= 0;
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(table, key) >= 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return whether the key was added, {@code false} if it was already present
+     */
+    public boolean add(long key) {
+        checkKey(key);
+        if (find(table, key) >= 0) {
+            return false;
+        }
+        if (size + 1 > table.length * MAX_LOAD) {
+            long[] grown = rehash(table, table.length * 2);
+            long stamp = lock.writeLock();
+            try {
+                table = grown;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        long stamp = lock.writeLock();
+        try {
+            insert(table, key);
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the key was removed, {@code false} if it was not present
+     */
+    public boolean remove(long key) {
+        checkKey(key);
+        int slot = find(table, key);
+        if (slot < 0) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            delete(table, slot);
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bytes used by the key table, the only allocation that grows with the set.
+     */
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private static int find(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = table[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private static void insert(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+    }
+
+    /**
+     * Backward-shift deletion: entries after the freed slot move into it unless their home slot lies
+     * cyclically between the freed slot and their current position.
+     */
+    private static void delete(long[] table, int slot) {
+        int mask = table.length - 1;
+        int free = slot;
+        int next = free;
+        table[free] = EMPTY;
+        while (true) {
+            next = (next + 1) & mask;
+            long key = table[next];
+            if (key == EMPTY) {
+                return;
+            }
+            int home = hash(key) & mask;
+            boolean staysInPlace = free <= next ? free < home && home <= next : free < home || home <= next;
+            if (!staysInPlace) {
+                table[free] = key;
+                table[next] = EMPTY;
+                free = next;
+            }
+        }
+    }
+
+    private static long[] rehash(long[] table, int capacity) {
+        long[] rehashed = new long[capacity];
+        for (long key : table) {
+            if (key != EMPTY) {
+                insert(rehashed, key);
+            }
+        }
+        return rehashed;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * Phone number keys share long prefixes (country and area codes), so their bits are mixed before masking.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Only positive keys can be stored, got " + key);
+        }
+    }
+}
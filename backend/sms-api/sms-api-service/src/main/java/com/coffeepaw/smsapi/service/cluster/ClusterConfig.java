@@ -0,0 +1,56 @@
+package com.coffeepaw.smsapi.service.cluster;
+
+import com.coffeepaw.smsapi.repository.PartitionLeaseRepository;
+import com.coffeepaw.smsapi.repository.SmsNodeRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class ClusterConfig {
+
+    @Value("${sms.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sms.cluster.partitions:64}")
+    private int partitions;
+
+    @Value("${sms.cluster.lease-duration:15s}")
+    private Duration leaseDuration;
+
+    @Value("${sms.cluster.heartbeat-interval:5s}")
+    private Duration heartbeatInterval;
+
+    @Value("${sms.cluster.poll-interval:250ms}")
+    private Duration pollInterval;
+
+    @Value("${sms.cluster.poll-batch:1000}")
+    private int pollBatch;
+
+    @Bean
+    public PartitionOwnership partitionOwnership(PartitionLeaseRepository partitionLeaseRepository,
+                                                 SmsNodeRepository smsNodeRepository, SmsRepository smsRepository,
+                                                 MeterRegistry meterRegistry) {
+        PartitionOwnership ownership = new PartitionOwnership(partitionLeaseRepository, smsNodeRepository,
+                smsRepository, enabled, partitions, leaseDuration, heartbeatInterval, Clock.systemUTC());
+        Gauge.builder("sms.cluster.partitions.owned", ownership, PartitionOwnership::ownedCount)
+                .description("Delivery partitions leased by this node")
+                .register(meterRegistry);
+        return ownership;
+    }
+
+    @Bean
+    public PartitionedDeliveryWorker partitionedDeliveryWorker(PartitionOwnership partitionOwnership,
+                                                               SmsRepository smsRepository,
+                                                               SmsDeliveryService smsDeliveryService) {
+        return new PartitionedDeliveryWorker(partitionOwnership, smsRepository, smsDeliveryService, pollInterval,
+                pollBatch);
+    }
+}
@@ -0,0 +1,340 @@
+package com.coffeepaw.smsapi.service.cluster;
+
+import com.coffeepaw.smsapi.model.PartitionLease;
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsNode;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.PartitionLeaseRepository;
+import com.coffeepaw.smsapi.repository.SmsNodeRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which delivery partitions this node owns, through leases in {@code sms_partition_lease}.
+ * <p>
+ * Recipients are hashed into a fixed number of partitions and only the owner of a partition delivers its
+ * messages, so one node sees all messages of a recipient and can keep them in order. On every heartbeat a node
+ * renews its leases and moves towards its fair share of the partitions, {@code ceil(partitions / live nodes)}:
+ * it claims free or expired partitions while below it, and hands partitions back while above it, for example
+ * after a node joined. A partition is handed back gracefully: no new messages are claimed in it, and it is only
+ * released once the deliveries already claimed are done. A node that leaves releases everything; the leases of
+ * a node that dies expire after the lease duration.
+ * <p>
+ * Leases carry a fencing token that grows with every change of owner. Claims of messages are fenced on the
+ * current lease in the database and status updates on the token of the claim, so a node that lost a lease
+ * without noticing cannot claim more work in the partition, nor overwrite what the new owner did. Lease expiry
+ * compares clocks of different nodes, which are assumed to be within a fraction of the lease duration.
+ */
+public class PartitionOwnership implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionOwnership.class);
+
+    /**
+     * Nodes silent for this many lease durations are removed from {@code sms_node}.
+     */
+    private static final int NODE_EXPIRY_LEASES = 10;
+
+    private final PartitionLeaseRepository leaseRepository;
+    private final SmsNodeRepository nodeRepository;
+    private final SmsRepository smsRepository;
+    private final boolean enabled;
+    private final int partitions;
+    private final Duration leaseDuration;
+    private final Duration heartbeatInterval;
+    private final Clock clock;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Semaphore workSignal = new Semaphore(0);
+
+    /**
+     * Fencing token by owned partition, replaced as a whole on every change.
+     */
+    private volatile Map<Integer, Long> owned = Map.of();
+    private final Map<Integer, Long> drainDeadlines = new HashMap<>();
+
+    private ScheduledExecutorService heartbeat;
+    private volatile boolean running;
+
+    public PartitionOwnership(PartitionLeaseRepository leaseRepository, SmsNodeRepository nodeRepository,
+                              SmsRepository smsRepository, boolean enabled, int partitions, Duration leaseDuration,
+                              Duration heartbeatInterval, Clock clock) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        if (heartbeatInterval.compareTo(leaseDuration) >= 0) {
+            throw new IllegalArgumentException("Heartbeat interval must be shorter than the lease duration");
+        }
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.smsRepository = smsRepository;
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.leaseDuration = leaseDuration;
+        this.heartbeatInterval = heartbeatInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether deliveries go through partition owners, rather than straight to the local dispatcher.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @param toKey E.164 key of the recipient
+     * @return the partition of the recipient, the same on every node
+     */
+    public int partitionOf(long toKey) {
+        return Math.floorMod(Long.hashCode(toKey * 0x9E3779B97F4A7C15L), partitions);
+    }
+
+    /**
+     * Partitions owned by this node, with their fencing tokens, including the ones being handed back.
+     */
+    public Map<Integer, Long> ownedPartitions() {
+        return owned;
+    }
+
+    public int ownedCount() {
+        return owned.size();
+    }
+
+    /**
+     * Claims a message for delivery by this node.
+     *
+     * @return whether the message is now claimed with the token of its partition lease, which is set on it
+     */
+    public synchronized boolean claim(Sms sms) {
+        Long token = owned.get(sms.getPartitionId());
+        if (token == null || drainDeadlines.containsKey(sms.getPartitionId())) {
+            return false;
+        }
+        boolean claimed = smsRepository.claim(sms.getId(), nodeId, token, clock.millis(), SmsStatus.QUEUED,
+                SmsStatus.SENDING) == 1;
+        if (claimed) {
+            sms.setStatus(SmsStatus.SENDING);
+            sms.setClaimToken(token);
+        }
+        return claimed;
+    }
+
+    /**
+     * Signals that a message was queued in the partition, which wakes the local worker if this node owns it.
+     * Other owners pick it up on their next poll.
+     */
+    public void notifyQueued(Integer partitionId) {
+        if (partitionId != null && owned.containsKey(partitionId) && workSignal.availablePermits() == 0) {
+            workSignal.release();
+        }
+    }
+
+    /**
+     * Waits until a message is queued in an owned partition, or the timeout passes.
+     */
+    public void awaitWork(Duration timeout) throws InterruptedException {
+        if (workSignal.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            workSignal.drainPermits();
+        }
+    }
+
+    /**
+     * One heartbeat: renews the leases of this node and moves it towards its fair share of the partitions.
+     */
+    public synchronized void rebalance() {
+        long now = clock.millis();
+        if (nodeRepository.heartbeat(nodeId, now) == 0) {
+            nodeRepository.save(SmsNode.builder().nodeId(nodeId).heartbeatAt(now).build());
+        }
+        leaseRepository.renew(nodeId, now + leaseDuration.toMillis());
+        refreshOwned();
+
+        long liveNodes = Math.max(1, nodeRepository.countByHeartbeatAtGreaterThanEqual(now - leaseDuration.toMillis()));
+        int share = (int) ((partitions + liveNodes - 1) / liveNodes);
+        int keeping = owned.size() - drainDeadlines.size();
+        if (keeping > share) {
+            handBack(keeping - share, now);
+        } else if (keeping < share) {
+            claimFree(share - keeping, now);
+        }
+        releaseDrained(now);
+        nodeRepository.deleteSilentSince(now - leaseDuration.toMillis() * NODE_EXPIRY_LEASES);
+    }
+
+    private void refreshOwned() {
+        Map<Integer, Long> current = new TreeMap<>();
+        for (PartitionLease lease : leaseRepository.findByOwnerId(nodeId)) {
+            current.put(lease.getPartitionId(), lease.getFencingToken());
+        }
+        Set<Integer> lost = new HashSet<>(owned.keySet());
+        lost.removeAll(current.keySet());
+        if (!lost.isEmpty()) {
+            logger.warn("Lost the leases of partitions {} to other nodes", lost);
+        }
+        drainDeadlines.keySet().retainAll(current.keySet());
+        owned = Collections.unmodifiableMap(current);
+    }
+
+    private void handBack(int count, long now) {
+        List<Integer> candidates = new ArrayList<>(owned.keySet());
+        candidates.removeAll(drainDeadlines.keySet());
+        Collections.reverse(candidates);
+        for (Integer partitionId : candidates.subList(0, count)) {
+            drainDeadlines.put(partitionId, now + leaseDuration.toMillis());
+        }
+        logger.info("Handing back {} partitions over the fair share", count);
+    }
+
+    private void claimFree(int count, long now) {
+        List<Integer> claimable = leaseRepository.findClaimable(now);
+        // nodes starting together would otherwise all race for the same partitions
+        Collections.shuffle(claimable);
+        List<Integer> claimed = new ArrayList<>();
+        for (Integer partitionId : claimable) {
+            if (claimed.size() == count) {
+                break;
+            }
+            if (leaseRepository.claim(partitionId, nodeId, now + leaseDuration.toMillis(), now) == 1) {
+                claimed.add(partitionId);
+            }
+        }
+        if (!claimed.isEmpty()) {
+            refreshOwned();
+            logger.info("Claimed partitions {}, owning {}", claimed, owned.size());
+            workSignal.release();
+        }
+    }
+
+    /**
+     * Releases the partitions handed back once their claimed deliveries are done, or their drain time is up.
+     */
+    private void releaseDrained(long now) {
+        if (drainDeadlines.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> remaining = new TreeMap<>(owned);
+        for (Map.Entry<Integer, Long> entry : new ArrayList<>(drainDeadlines.entrySet())) {
+            Integer partitionId = entry.getKey();
+            Long token = owned.get(partitionId);
+            long sending = smsRepository.countByPartitionIdAndStatusAndClaimToken(partitionId, SmsStatus.SENDING,
+                    token);
+            if (sending > 0 && now < entry.getValue()) {
+                continue;
+            }
+            leaseRepository.release(partitionId, nodeId, token);
+            drainDeadlines.remove(partitionId);
+            remaining.remove(partitionId);
+            logger.info("Released partition {}{}", partitionId,
+                    sending > 0 ? " with " + sending + " deliveries still claimed" : "");
+        }
+        owned = Collections.unmodifiableMap(remaining);
+    }
+
+    private void ensureLeases() {
+        Set<Integer> existing = new HashSet<>(leaseRepository.findAllPartitionIds());
+        List<PartitionLease> missing = new ArrayList<>();
+        for (int partitionId = 0; partitionId < partitions; partitionId++) {
+            if (!existing.contains(partitionId)) {
+                missing.add(PartitionLease.builder().partitionId(partitionId).build());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            leaseRepository.saveAll(missing);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Partition leases were created by another node", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            running = true;
+            return;
+        }
+        ensureLeases();
+        rebalance();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sms-partition-lease").daemon().factory());
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::rebalanceQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Node {} owns {} of {} partitions", nodeId, owned.size(), partitions);
+    }
+
+    /**
+     * Releases every lease, so the other nodes take the partitions over on their next heartbeat instead of
+     * waiting for the leases to expire. Runs after the worker and the dispatcher stopped, so nothing claimed is
+     * still being delivered.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (!enabled) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        try {
+            heartbeat.awaitTermination(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                owned.forEach((partitionId, token) -> leaseRepository.release(partitionId, nodeId, token));
+                nodeRepository.deleteById(nodeId);
+                logger.info("Node {} released {} partitions", nodeId, owned.size());
+            } catch (Exception e) {
+                logger.warn("Could not release the partition leases, they expire in {}", leaseDuration, e);
+            }
+            owned = Map.of();
+            drainDeadlines.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the dispatcher (phase 0) and the worker.
+     */
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    private void rebalanceQuietly() {
+        try {
+            rebalance();
+        } catch (Exception e) {
+            logger.warn("Partition lease heartbeat failed", e);
+        }
+    }
+}
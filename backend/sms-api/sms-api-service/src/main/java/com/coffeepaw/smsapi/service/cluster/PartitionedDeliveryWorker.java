@@ -0,0 +1,148 @@
+package com.coffeepaw.smsapi.service.cluster;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers the queued messages of the partitions this node owns, whichever node accepted them.
+ * <p>
+ * Each poll reads the oldest queued or claimed message of every recipient in the owned partitions, in id order,
+ * and starts its delivery, unless that one is still being delivered. A recipient therefore has at most one
+ * message in flight, and its messages go out in the order they were accepted, also across retries and changes of
+ * owner. A batch holds one message per recipient, so a recipient with a long backlog does not hold up the others. Messages left claimed by an earlier owner of the partition are claimed again,
+ * so a delivery cut short by a crash is repeated: delivery is at least once.
+ * <p>
+ * A poll stops at the first message its lane has no room for, and the next poll waits for the poll interval, so a
+ * full lane is not answered by claiming and putting back the same messages over and over.
+ */
+public class PartitionedDeliveryWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedDeliveryWorker.class);
+
+    private final PartitionOwnership ownership;
+    private final SmsRepository smsRepository;
+    private final SmsDeliveryService smsDeliveryService;
+    private final Duration pollInterval;
+    private final int batchSize;
+
+    private Thread poller;
+    private volatile boolean running;
+
+    public PartitionedDeliveryWorker(PartitionOwnership ownership, SmsRepository smsRepository,
+                                     SmsDeliveryService smsDeliveryService, Duration pollInterval, int batchSize) {
+        this.ownership = ownership;
+        this.smsRepository = smsRepository;
+        this.smsDeliveryService = smsDeliveryService;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts the deliveries that are due in the owned partitions.
+     */
+    public PollResult pollOnce() {
+        Map<Integer, Long> owned = ownership.ownedPartitions();
+        if (owned.isEmpty()) {
+            return new PollResult(0, false);
+        }
+        List<Sms> next = smsRepository.findNextPerRecipient(owned.keySet(), SmsStatus.QUEUED, SmsStatus.SENDING,
+                Limit.of(batchSize));
+        int started = 0;
+        for (Sms sms : next) {
+            if (!ownership.claim(sms)) {
+                continue;
+            }
+            Long token = sms.getClaimToken();
+            Sms claimed = smsRepository.findWithContentById(sms.getId()).orElse(null);
+            if (claimed == null) {
+                continue;
+            }
+            claimed.setClaimToken(token);
+            if (!smsDeliveryService.deliverClaimed(claimed)) {
+                return new PollResult(started, true);
+            }
+            started++;
+        }
+        return new PollResult(started, false);
+    }
+
+    @Override
+    public void start() {
+        if (!ownership.isEnabled()) {
+            running = true;
+            return;
+        }
+        running = true;
+        poller = Thread.ofPlatform().name("sms-partition-poll").daemon().start(this::poll);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller == null) {
+            return;
+        }
+        poller.interrupt();
+        try {
+            poller.join(pollInterval.toMillis() * 4);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        poller = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts after the partitions are claimed and the dispatcher (phase 0) runs, and stops first, so the
+     * dispatcher drains what was claimed before the leases are released.
+     */
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                PollResult result = pollOnce();
+                if (result.saturated()) {
+                    Thread.sleep(pollInterval.toMillis());
+                } else if (result.started() == 0) {
+                    ownership.awaitWork(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Polling the owned partitions failed", e);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param started   deliveries started
+     * @param saturated whether the poll stopped at a message its lane had no room for
+     */
+    public record PollResult(int started, boolean saturated) {
+    }
+}
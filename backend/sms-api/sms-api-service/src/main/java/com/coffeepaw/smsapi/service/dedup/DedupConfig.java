@@ -0,0 +1,40 @@
+package com.coffeepaw.smsapi.service.dedup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class DedupConfig {
+
+    @Value("${sms.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sms.dedup.window:60s}")
+    private Duration window;
+
+    @Value("${sms.dedup.slots:6}")
+    private int slots;
+
+    @Value("${sms.dedup.max-entries:200000}")
+    private int maxEntries;
+
+    @Bean
+    public DuplicateWindow duplicateWindow(MeterRegistry meterRegistry) {
+        DuplicateWindow duplicateWindow = new DuplicateWindow(enabled, window, slots, maxEntries,
+                Clock.systemUTC(), meterRegistry);
+        Gauge.builder("sms.dedup.entries", duplicateWindow, DuplicateWindow::size)
+                .description("Recipient and text fingerprints remembered in the suppression window")
+                .register(meterRegistry);
+        Gauge.builder("sms.dedup.memory", duplicateWindow, DuplicateWindow::memoryBytes)
+                .description("Heap reserved for the suppression window tables")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return duplicateWindow;
+    }
+}
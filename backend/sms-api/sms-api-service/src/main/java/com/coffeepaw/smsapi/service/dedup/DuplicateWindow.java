@@ -0,0 +1,214 @@
+package com.coffeepaw.smsapi.service.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Remembers which texts were sent to which recipient during the suppression window, to catch repeats.
+ * <p>
+ * Each send is reduced to a 64-bit fingerprint of recipient and text. The window is split into slots of equal
+ * length, each a fixed-size open-addressing table of fingerprints, used in rotation: when time moves into a
+ * slot last used a full window ago, the slot is cleared and reused. A repeat is a fingerprint found in any slot
+ * of the window, so texts are remembered for between {@code slots - 1} and {@code slots} slot lengths.
+ * <p>
+ * All tables are allocated up front, {@code maxEntries} fingerprints over the window, so memory stays the same
+ * however many recipients go by. A slot that is full stops remembering until it rotates (counted as overflow):
+ * under such a burst repeats may get through, but sends are never rejected for lack of room. Two different
+ * sends share a fingerprint with a probability of about 2<sup>-63</sup>.
+ * <p>
+ * A disabled window takes no room and treats no send as a repeat, for load tests that send one text over and over.
+ */
+public class DuplicateWindow {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.7;
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final long slotMillis;
+    private final int slotCapacity;
+    private final long[][] tables;
+    private final long[] slotEpochs;
+    private final int[] slotSizes;
+    private final Counter suppressed;
+    private final Counter overflow;
+
+    public DuplicateWindow(boolean enabled, Duration window, int slots, int maxEntries, Clock clock,
+                           MeterRegistry meterRegistry) {
+        if (slots < 2 || window.toMillis() < slots) {
+            throw new IllegalArgumentException("Suppression window needs at least two slots of one millisecond");
+        }
+        this.enabled = enabled;
+        this.clock = clock;
+        this.slotMillis = window.toMillis() / slots;
+        this.slotCapacity = Math.max(1, maxEntries / slots);
+        int tableSize = Integer.highestOneBit((int) Math.ceil(slotCapacity / MAX_LOAD) - 1) << 1;
+        this.tables = new long[slots][enabled ? Math.max(16, tableSize) : 0];
+        this.slotEpochs = new long[slots];
+        Arrays.fill(slotEpochs, Long.MIN_VALUE);
+        this.slotSizes = new int[slots];
+        this.suppressed = Counter.builder("sms.dedup.suppressed")
+                .description("Sends rejected as repeats of the same text to the same recipient within the window")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("sms.dedup.overflow")
+                .description("Sends not remembered because the current slot of the suppression window was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the send, unless it repeats one recorded within the window.
+     *
+     * @param toKey   E.164 key of the recipient
+     * @param message text as requested, before segmentation
+     * @return whether the send is a repeat and should be suppressed
+     */
+    public boolean isRepeat(long toKey, String message) {
+        if (!enabled) {
+            return false;
+        }
+        long fingerprint = fingerprint(toKey, message);
+        long epoch = clock.millis() / slotMillis;
+        synchronized (this) {
+            int current = rotateTo(epoch);
+            for (int slot = 0; slot < tables.length; slot++) {
+                if (isLive(slot, epoch) && find(tables[slot], fingerprint) >= 0) {
+                    suppressed.increment();
+                    return true;
+                }
+            }
+            if (slotSizes[current] >= slotCapacity) {
+                overflow.increment();
+                return false;
+            }
+            insert(tables[current], fingerprint);
+            slotSizes[current]++;
+            return false;
+        }
+    }
+
+    /**
+     * Forgets a recorded send, so that a send which failed after {@link #isRepeat} can be retried right away.
+     */
+    public void forget(long toKey, String message) {
+        if (!enabled) {
+            return;
+        }
+        long fingerprint = fingerprint(toKey, message);
+        long epoch = clock.millis() / slotMillis;
+        synchronized (this) {
+            for (int slot = 0; slot < tables.length; slot++) {
+                int index = isLive(slot, epoch) ? find(tables[slot], fingerprint) : -1;
+                if (index >= 0) {
+                    delete(tables[slot], index);
+                    slotSizes[slot]--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fingerprints remembered in the window.
+     */
+    public synchronized int size() {
+        long epoch = clock.millis() / slotMillis;
+        int size = 0;
+        for (int slot = 0; slot < tables.length; slot++) {
+            size += isLive(slot, epoch) ? slotSizes[slot] : 0;
+        }
+        return size;
+    }
+
+    /**
+     * Bytes of the fingerprint tables, fixed at construction.
+     */
+    public long memoryBytes() {
+        return (long) tables.length * tables[0].length * Long.BYTES;
+    }
+
+    static long fingerprint(long toKey, String message) {
+        // FNV-1a over the UTF-16 chars, then mixed with the recipient
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < message.length(); i++) {
+            hash = (hash ^ message.charAt(i)) * 0x100000001b3L;
+        }
+        long fingerprint = mix(hash ^ mix(toKey)) & Long.MAX_VALUE;
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+
+    private int rotateTo(long epoch) {
+        int current = (int) Math.floorMod(epoch, (long) tables.length);
+        if (slotEpochs[current] != epoch) {
+            Arrays.fill(tables[current], EMPTY);
+            slotSizes[current] = 0;
+            slotEpochs[current] = epoch;
+        }
+        return current;
+    }
+
+    private boolean isLive(int slot, long epoch) {
+        return slotEpochs[slot] > epoch - tables.length;
+    }
+
+    private static int find(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+            long current = table[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private static void insert(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = (int) key & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+    }
+
+    /**
+     * Backward-shift deletion, as in {@link com.coffeepaw.smsapi.service.blocklist.LongHashSet}.
+     */
+    private static void delete(long[] table, int slot) {
+        int mask = table.length - 1;
+        int free = slot;
+        int next = free;
+        table[free] = EMPTY;
+        while (true) {
+            next = (next + 1) & mask;
+            long key = table[next];
+            if (key == EMPTY) {
+                return;
+            }
+            int home = (int) key & mask;
+            boolean staysInPlace = free <= next ? free < home && home <= next : free < home || home <= next;
+            if (!staysInPlace) {
+                table[free] = key;
+                table[next] = EMPTY;
+                free = next;
+            }
+        }
+    }
+
+    /**
+     * Murmur3 finalizer: fingerprints are already well mixed, so tables index them by their low bits directly.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.coffeepaw.smsapi.service.dispatch;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.service.gateway.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class DispatchConfig {
+
+    @Value("${sms.dispatch.high.weight:8}")
+    private int highWeight;
+
+    @Value("${sms.dispatch.high.concurrency:16}")
+    private int highConcurrency;
+
+    @Value("${sms.dispatch.high.capacity:1000}")
+    private int highCapacity;
+
+    @Value("${sms.dispatch.normal.weight:4}")
+    private int normalWeight;
+
+    @Value("${sms.dispatch.normal.concurrency:16}")
+    private int normalConcurrency;
+
+    @Value("${sms.dispatch.normal.capacity:10000}")
+    private int normalCapacity;
+
+    @Value("${sms.dispatch.low.weight:1}")
+    private int lowWeight;
+
+    @Value("${sms.dispatch.low.concurrency:8}")
+    private int lowConcurrency;
+
+    @Value("${sms.dispatch.low.capacity:100000}")
+    private int lowCapacity;
+
+    @Value("${sms.dispatch.drain-timeout:20s}")
+    private Duration drainTimeout;
+
+    @Bean
+    public SmsDispatcher smsDispatcher(AdaptiveConcurrencyLimiter gatewayConcurrencyLimiter, MeterRegistry meterRegistry) {
+        return new SmsDispatcher(Map.of(
+                SmsPriority.HIGH, new LaneSettings(highWeight, highConcurrency, highCapacity),
+                SmsPriority.NORMAL, new LaneSettings(normalWeight, normalConcurrency, normalCapacity),
+                SmsPriority.LOW, new LaneSettings(lowWeight, lowConcurrency, lowCapacity)
+        ), gatewayConcurrencyLimiter, drainTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.coffeepaw.smsapi.service.dispatch;
+
+/**
+ * Scheduling parameters of a single delivery lane.
+ *
+ * @param weight      share of dispatch slots the lane gets while other lanes have work queued
+ * @param concurrency maximum number of deliveries of the lane running at the same time
+ * @param capacity    maximum number of deliveries waiting in the lane before new ones are rejected
+ */
+public record LaneSettings(int weight, int concurrency, int capacity) {
+
+    public LaneSettings {
+        if (weight < 1 || concurrency < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Lane weight, concurrency and capacity must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.coffeepaw.smsapi.service.dispatch;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.gateway.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs SMS deliveries in separate priority lanes.
+ * <p>
+ * Every lane has its own bounded queue and concurrency limit, so a saturated lane can never take the
+ * worker slots of another one. While several lanes have work waiting, dispatch slots are shared by
+ * smooth weighted round-robin on the lane weights. Across all lanes, deliveries only start while the
+ * adaptive gateway concurrency limit has room, so a slow gateway backs work up into the bounded lanes.
+ * <p>
+ * Stopping drains: new deliveries are rejected right away, while queued and running ones still go out until
+ * they are done or the drain timeout passes. Only what is left then is dropped, and keeps its {@code QUEUED}
+ * row. The dispatcher starts before and stops after the web server, so requests still in flight while the
+ * server shuts down gracefully can queue their deliveries.
+ */
+public class SmsDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDispatcher.class);
+
+    private final Map<SmsPriority, Lane> lanes = new EnumMap<>(SmsPriority.class);
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Duration drainTimeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+
+    private ExecutorService workers;
+    private Thread scheduler;
+    private volatile boolean running;
+    private long drainDeadline;
+
+    public SmsDispatcher(Map<SmsPriority, LaneSettings> settings, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                         Duration drainTimeout, MeterRegistry meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.drainTimeout = drainTimeout;
+        for (SmsPriority priority : SmsPriority.values()) {
+            LaneSettings laneSettings = settings.get(priority);
+            if (laneSettings == null) {
+                throw new IllegalArgumentException("No lane settings for priority " + priority);
+            }
+            String tag = priority.name().toLowerCase();
+            Lane lane = new Lane(laneSettings, Timer.builder("sms.dispatch.wait")
+                    .description("Time deliveries spend queued in their lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+            Gauge.builder("sms.dispatch.queue.depth", this, d -> d.queueDepth(priority))
+                    .description("Deliveries waiting in the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("sms.dispatch.in.flight", this, d -> d.inFlight(priority))
+                    .description("Deliveries of the lane currently running")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            lanes.put(priority, lane);
+        }
+    }
+
+    /**
+     * Queues a delivery in the lane of the given priority.
+     *
+     * @throws LaneSaturatedException if the lane queue is full or the dispatcher is not running
+     */
+    public void dispatch(SmsPriority priority, Runnable delivery) {
+        SmsPriority lanePriority = priority == null ? SmsPriority.NORMAL : priority;
+        Lane lane = lanes.get(lanePriority);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new LaneSaturatedException("SMS dispatcher is not accepting deliveries");
+            }
+            if (lane.queue.size() >= lane.settings.capacity()) {
+                throw new LaneSaturatedException("Delivery lane " + lanePriority + " is full");
+            }
+            lane.queue.add(new QueuedDelivery(delivery, System.nanoTime()));
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth(SmsPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight(SmsPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            workers = Executors.newVirtualThreadPerTaskExecutor();
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        scheduler = Thread.ofPlatform().name("sms-dispatcher").daemon().start(this::schedule);
+        logger.debug("SMS dispatcher started");
+    }
+
+    /**
+     * Stops taking deliveries and waits up to the drain timeout for the queued and running ones.
+     */
+    @Override
+    public void stop() {
+        long start = System.nanoTime();
+        int queued;
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            drainDeadline = start + drainTimeout.toNanos();
+            queued = queuedDeliveries();
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("SMS dispatcher draining {} queued deliveries", queued);
+        boolean terminated = false;
+        try {
+            scheduler.join();
+            workers.shutdown();
+            terminated = workers.awaitTermination(Math.max(0, drainDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int dropped;
+        lock.lock();
+        try {
+            dropped = queuedDeliveries();
+            lanes.values().forEach(lane -> lane.queue.clear());
+        } finally {
+            lock.unlock();
+        }
+        if (dropped > 0 || !terminated) {
+            logger.warn("SMS dispatcher drain timed out after {} ms, dropped {} queued deliveries{}",
+                    drainTimeout.toMillis(), dropped, terminated ? "" : ", deliveries still running");
+        } else {
+            logger.info("SMS dispatcher drained in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server takes requests and stops only once it has finished the ones in flight.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void schedule() {
+        while (true) {
+            Lane lane;
+            QueuedDelivery delivery;
+            lock.lock();
+            try {
+                while ((lane = nextLaneWithinLimit()) == null) {
+                    if (!running && (queuedDeliveries() == 0 || drainDeadline - System.nanoTime() <= 0)) {
+                        return;
+                    }
+                    if (running) {
+                        workAvailable.awaitUninterruptibly();
+                    } else {
+                        workAvailable.awaitNanos(drainDeadline - System.nanoTime());
+                    }
+                }
+                if (!running && drainDeadline - System.nanoTime() <= 0) {
+                    concurrencyLimiter.release();
+                    return;
+                }
+                delivery = lane.queue.poll();
+                lane.inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            run(lane, delivery);
+        }
+    }
+
+    /**
+     * Must be called with the lock held.
+     */
+    private int queuedDeliveries() {
+        int queued = 0;
+        for (Lane lane : lanes.values()) {
+            queued += lane.queue.size();
+        }
+        return queued;
+    }
+
+    private Lane nextLaneWithinLimit() {
+        if (!concurrencyLimiter.tryAcquire()) {
+            return null;
+        }
+        Lane lane = nextLane();
+        if (lane == null) {
+            concurrencyLimiter.release();
+        }
+        return lane;
+    }
+
+    /**
+     * Smooth weighted round-robin over the lanes that have work queued and a free concurrency slot.
+     * Must be called with the lock held.
+     */
+    private Lane nextLane() {
+        Lane selected = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.queue.isEmpty() || lane.inFlight >= lane.settings.concurrency()) {
+                continue;
+            }
+            lane.currentWeight += lane.settings.weight();
+            totalWeight += lane.settings.weight();
+            if (selected == null || lane.currentWeight > selected.currentWeight) {
+                selected = lane;
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    private void run(Lane lane, QueuedDelivery delivery) {
+        lane.waitTimer.record(System.nanoTime() - delivery.enqueuedAt(), TimeUnit.NANOSECONDS);
+        workers.execute(() -> {
+            try {
+                delivery.task().run();
+            } catch (Exception e) {
+                logger.error("SMS delivery failed", e);
+            } finally {
+                concurrencyLimiter.release();
+                lock.lock();
+                try {
+                    lane.inFlight--;
+                    workAvailable.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private record QueuedDelivery(Runnable task, long enqueuedAt) {
+    }
+
+    private static final class Lane {
+        private final LaneSettings settings;
+        private final Timer waitTimer;
+        private final Queue<QueuedDelivery> queue = new ArrayDeque<>();
+        private int inFlight;
+        private int currentWeight;
+
+        private Lane(LaneSettings settings, Timer waitTimer) {
+            this.settings = settings;
+            this.waitTimer = waitTimer;
+        }
+    }
+}
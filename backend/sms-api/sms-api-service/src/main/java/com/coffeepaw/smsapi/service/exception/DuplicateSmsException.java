@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.exception;
+
+public class DuplicateSmsException extends RuntimeException {
+    public DuplicateSmsException(String message) {
+        super(message);
+    }
+
+}
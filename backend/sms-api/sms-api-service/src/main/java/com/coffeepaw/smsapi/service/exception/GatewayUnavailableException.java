@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.exception;
+
+public class GatewayUnavailableException extends RuntimeException {
+    public GatewayUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.exception;
+
+public class LaneSaturatedException extends RuntimeException {
+    public LaneSaturatedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.exception;
+
+public class RecipientBlockedException extends RuntimeException {
+    public RecipientBlockedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.exception;
+
+public class ShuttingDownException extends RuntimeException {
+    public ShuttingDownException(String message) {
+        super(message);
+    }
+
+}
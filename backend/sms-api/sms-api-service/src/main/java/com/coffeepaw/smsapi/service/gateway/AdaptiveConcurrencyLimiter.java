@@ -0,0 +1,70 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import java.time.Duration;
+
+/**
+ * AIMD limit on the number of deliveries in flight to the gateway.
+ * <p>
+ * Each call that completes faster than {@code latencyThreshold} while the limiter is at least half used
+ * grows the limit by {@code 1 / limit}, about one slot per round trip. A failed or slow call shrinks it
+ * multiplicatively by {@code backoffRatio}, so a slowing gateway quickly sees less concurrency instead
+ * of a growing pile of waiting requests.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release() {
+        inFlight--;
+    }
+
+    /**
+     * Adjusts the limit from one observed gateway call.
+     *
+     * @param dropped whether the call failed
+     */
+    public synchronized void onSample(long durationNanos, boolean dropped) {
+        if (dropped || durationNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,141 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} gateway calls.
+ * <p>
+ * The circuit opens when, with at least {@code minimumCalls} recorded, the failure rate or the rate of calls
+ * slower than {@code slowCallDuration} reaches its threshold. After {@code openDuration} it lets
+ * {@code halfOpenProbes} calls through: the circuit closes when all of them succeed in time and opens again
+ * on the first failing or slow probe.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, int slowCallRateThreshold,
+                          Duration slowCallDuration, Duration openDuration, int halfOpenProbes) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker window");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * Whether a call may go to the gateway now. Every permitted call must be followed by
+     * {@link #onSuccess(long)} or {@link #onError(long)}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        record(false, durationNanos >= slowCallNanos);
+    }
+
+    public synchronized void onError(long durationNanos) {
+        record(true, durationNanos >= slowCallNanos);
+    }
+
+    /**
+     * Whether calls are currently being rejected, without starting a half-open probe.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAt < openNanos;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (state == State.HALF_OPEN) {
+            if (failure || slow) {
+                open();
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recorded == windowSize) {
+            failureCount -= failures[next] ? 1 : 0;
+            slowCount -= slowCalls[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        slowCalls[next] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        next = (next + 1) % windowSize;
+
+        if (recorded >= minimumCalls
+                && (failureCount * 100 >= failureRateThreshold * recorded
+                || slowCount * 100 >= slowCallRateThreshold * recorded)) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+
+/**
+ * Mocked gateway that prints every part of the SMS to standard output.
+ */
+public class ConsoleSmsGateway implements SmsGateway {
+
+    @Override
+    public void send(Sms sms) {
+        sms.getContent().forEach(System.out::println);
+    }
+}
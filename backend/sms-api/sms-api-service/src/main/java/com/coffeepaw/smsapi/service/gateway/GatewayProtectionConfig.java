@@ -0,0 +1,72 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class GatewayProtectionConfig {
+
+    @Value("${sms.gateway.circuit.window-size:100}")
+    private int windowSize;
+
+    @Value("${sms.gateway.circuit.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${sms.gateway.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${sms.gateway.circuit.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    @Value("${sms.gateway.circuit.slow-call-duration:2s}")
+    private Duration slowCallDuration;
+
+    @Value("${sms.gateway.circuit.open-duration:10s}")
+    private Duration openDuration;
+
+    @Value("${sms.gateway.circuit.half-open-probes:5}")
+    private int halfOpenProbes;
+
+    @Value("${sms.gateway.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${sms.gateway.concurrency.min-limit:2}")
+    private int minLimit;
+
+    @Value("${sms.gateway.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${sms.gateway.concurrency.latency-threshold:500ms}")
+    private Duration latencyThreshold;
+
+    @Value("${sms.gateway.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Bean
+    public CircuitBreaker gatewayCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                slowCallRateThreshold, slowCallDuration, openDuration, halfOpenProbes);
+        Gauge.builder("sms.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Gateway circuit state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter gatewayConcurrencyLimiter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio);
+        Gauge.builder("sms.gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current limit of deliveries in flight to the gateway")
+                .register(meterRegistry);
+        Gauge.builder("sms.gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Deliveries currently in flight to the gateway")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,63 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a real provider, for load tests: every part takes the configured latency, give or take a
+ * uniform jitter, and a call fails with the configured probability. Nothing is printed, so the console does not
+ * become the bottleneck under load.
+ */
+public class SimulatedSmsGateway implements SmsGateway {
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double failureRate;
+    private final Counter sent;
+    private final Counter failed;
+
+    /**
+     * @param failureRate share of calls that fail, in percent
+     */
+    public SimulatedSmsGateway(Duration latency, Duration jitter, double failureRate, MeterRegistry meterRegistry) {
+        if (latency.isNegative() || jitter.isNegative() || jitter.compareTo(latency) > 0) {
+            throw new IllegalArgumentException("Simulated latency must be positive and at least the jitter");
+        }
+        if (failureRate < 0 || failureRate > 100) {
+            throw new IllegalArgumentException("Simulated failure rate must be between 0 and 100 percent");
+        }
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.failureRate = failureRate / 100;
+        this.sent = Counter.builder("sms.gateway.simulator.calls").tag("outcome", "sent")
+                .description("Calls answered by the simulated gateway")
+                .register(meterRegistry);
+        this.failed = Counter.builder("sms.gateway.simulator.calls").tag("outcome", "failed")
+                .description("Calls answered by the simulated gateway")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void send(Sms sms) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long perPart = latencyNanos - jitterNanos + random.nextLong(2 * jitterNanos + 1);
+        long delay = perPart * Math.max(1, sms.getContent().size());
+        if (delay > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(delay));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending", e);
+            }
+        }
+        if (random.nextDouble() < failureRate) {
+            failed.increment();
+            throw new IllegalStateException("Simulated gateway failure");
+        }
+        sent.increment();
+    }
+}
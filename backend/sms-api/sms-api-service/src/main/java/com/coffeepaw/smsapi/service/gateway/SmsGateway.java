@@ -0,0 +1,10 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+
+/**
+ * Downstream delivery of an already segmented SMS to its recipient.
+ */
+public interface SmsGateway {
+    void send(Sms sms);
+}
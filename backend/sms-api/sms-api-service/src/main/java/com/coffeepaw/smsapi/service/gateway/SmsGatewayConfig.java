@@ -0,0 +1,32 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SmsGatewayConfig {
+
+    @Value("${sms.gateway.simulator.enabled:false}")
+    private boolean simulatorEnabled;
+
+    @Value("${sms.gateway.simulator.latency:50ms}")
+    private Duration simulatorLatency;
+
+    @Value("${sms.gateway.simulator.jitter:20ms}")
+    private Duration simulatorJitter;
+
+    @Value("${sms.gateway.simulator.failure-rate:0}")
+    private double simulatorFailureRate;
+
+    @Bean
+    public SmsGateway smsGateway(MeterRegistry meterRegistry) {
+        if (simulatorEnabled) {
+            return new SimulatedSmsGateway(simulatorLatency, simulatorJitter, simulatorFailureRate, meterRegistry);
+        }
+        return new ConsoleSmsGateway();
+    }
+}
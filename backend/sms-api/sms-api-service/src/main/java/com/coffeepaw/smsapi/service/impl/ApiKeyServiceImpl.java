@@ -0,0 +1,134 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.repository.ApiKeyRepository;
+import com.coffeepaw.smsapi.service.ApiKeyService;
+import com.coffeepaw.smsapi.service.auth.ApiKeyCredentialCache;
+import com.coffeepaw.smsapi.service.auth.ApiKeyHasher;
+import com.coffeepaw.smsapi.service.auth.ApiKeyPrincipal;
+import com.coffeepaw.smsapi.service.auth.IssuedApiKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * API keys have the form {@code <keyId>.<secret>}. The key id selects the stored credential, the secret is
+ * checked against its HMAC. Credentials and their metadata are cached after the first lookup, so an
+ * authenticated request costs one HMAC and no database round trip.
+ */
+@Service
+public class ApiKeyServiceImpl implements ApiKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyServiceImpl.class);
+
+    private static final int KEY_ID_BYTES = 8;
+    private static final int SECRET_BYTES = 32;
+    private static final char SEPARATOR = '.';
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyHasher hasher;
+    private final ApiKeyCredentialCache cache;
+    private final SecureRandom random = new SecureRandom();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter cacheMisses;
+
+    @Autowired
+    public ApiKeyServiceImpl(ApiKeyRepository apiKeyRepository, ApiKeyHasher hasher, ApiKeyCredentialCache cache,
+                             MeterRegistry meterRegistry) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.hasher = hasher;
+        this.cache = cache;
+        this.accepted = Counter.builder("sms.auth.api-key")
+                .description("API key authentication attempts")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("sms.auth.api-key")
+                .description("API key authentication attempts")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("sms.auth.api-key.cache.misses")
+                .description("API key lookups that had to load the credential from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ApiKeyPrincipal> authenticate(String presentedKey) {
+        int separator = presentedKey == null ? -1 : presentedKey.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == presentedKey.length() - 1) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        String keyId = presentedKey.substring(0, separator);
+        String secret = presentedKey.substring(separator + 1);
+
+        ApiKeyCredentialCache.Entry credential = cache.get(keyId);
+        if (credential == null) {
+            credential = load(keyId);
+            cache.put(keyId, credential);
+        }
+        if (!credential.isValid() || !hasher.matches(secret, credential.secretHash())) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(credential.principal());
+    }
+
+    @Override
+    public IssuedApiKey createApiKey(String tenant, String rateTier) {
+        String keyId = HexFormat.of().formatHex(randomBytes(KEY_ID_BYTES));
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes(SECRET_BYTES));
+        ApiKey apiKey = apiKeyRepository.save(ApiKey.builder()
+                .keyId(keyId)
+                .secretHash(hasher.hashHex(secret))
+                .tenant(tenant)
+                .rateTier(rateTier)
+                .build());
+        cache.invalidate(keyId);
+        logger.info("API key {} created for tenant {}", keyId, tenant);
+        return new IssuedApiKey(apiKey, keyId + SEPARATOR + secret);
+    }
+
+    @Override
+    public void revokeApiKey(String keyId) {
+        ApiKey apiKey = apiKeyRepository.findByKeyId(keyId)
+                .orElseThrow(() -> new IllegalArgumentException("API key " + keyId + " not found"));
+        if (apiKey.getRevokedAt() == null) {
+            apiKey.setRevokedAt(Instant.now());
+            apiKeyRepository.save(apiKey);
+            logger.info("API key {} of tenant {} revoked", keyId, apiKey.getTenant());
+        }
+        cache.invalidate(keyId);
+    }
+
+    @Override
+    public List<ApiKey> getApiKeys() {
+        return apiKeyRepository.findAll();
+    }
+
+    private ApiKeyCredentialCache.Entry load(String keyId) {
+        cacheMisses.increment();
+        return apiKeyRepository.findByKeyId(keyId)
+                .filter(apiKey -> apiKey.getRevokedAt() == null)
+                .map(apiKey -> ApiKeyCredentialCache.Entry.valid(HexFormat.of().parseHex(apiKey.getSecretHash()),
+                        new ApiKeyPrincipal(apiKey.getKeyId(), apiKey.getTenant(), apiKey.getRateTier())))
+                .orElseGet(ApiKeyCredentialCache.Entry::invalid);
+    }
+
+    private byte[] randomBytes(int count) {
+        byte[] bytes = new byte[count];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
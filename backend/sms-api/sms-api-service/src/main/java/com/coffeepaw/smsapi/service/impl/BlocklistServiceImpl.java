@@ -0,0 +1,147 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.BlocklistAction;
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import com.coffeepaw.smsapi.model.dto.BlocklistImportResultDto;
+import com.coffeepaw.smsapi.model.phone.PhoneNumbers;
+import com.coffeepaw.smsapi.repository.BlocklistChangeRepository;
+import com.coffeepaw.smsapi.repository.BlocklistEntryRepository;
+import com.coffeepaw.smsapi.service.BlocklistService;
+import com.coffeepaw.smsapi.service.blocklist.BlocklistCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks go to the in-memory {@link BlocklistCache}. Imports and removals write the blocklist row and a change
+ * log entry in the same transaction, which every instance (this one right away) replays into its cache.
+ */
+@Service
+public class BlocklistServiceImpl implements BlocklistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlocklistServiceImpl.class);
+    private static final int BATCH_SIZE = 1_000;
+
+    private final BlocklistEntryRepository entryRepository;
+    private final BlocklistChangeRepository changeRepository;
+    private final BlocklistCache blocklistCache;
+    private final EntityManager entityManager;
+    private final Counter suppressed;
+
+    @Autowired
+    public BlocklistServiceImpl(BlocklistEntryRepository entryRepository, BlocklistChangeRepository changeRepository,
+                                BlocklistCache blocklistCache, EntityManager entityManager,
+                                MeterRegistry meterRegistry) {
+        this.entryRepository = entryRepository;
+        this.changeRepository = changeRepository;
+        this.blocklistCache = blocklistCache;
+        this.entityManager = entityManager;
+        this.suppressed = Counter.builder("sms.blocklist.suppressed")
+                .description("Sends suppressed because the recipient opted out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isBlocked(long numberKey) {
+        if (blocklistCache.contains(numberKey)) {
+            suppressed.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public BlocklistImportResultDto importNumbers(List<String> numbers, String reason) {
+        Set<Long> numberKeys = new LinkedHashSet<>();
+        List<String> invalid = new ArrayList<>();
+        for (String number : numbers) {
+            long key = PhoneNumbers.parse(number);
+            if (key == PhoneNumbers.INVALID) {
+                invalid.add(number);
+            } else {
+                numberKeys.add(key);
+            }
+        }
+
+        List<Long> keys = new ArrayList<>(numberKeys);
+        int added = 0;
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Long> batch = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            Set<Long> existing = new HashSet<>(entryRepository.findNumberKeysIn(batch));
+            List<BlocklistEntry> entries = new ArrayList<>();
+            List<BlocklistChange> changes = new ArrayList<>();
+            for (Long key : batch) {
+                if (!existing.contains(key)) {
+                    entries.add(BlocklistEntry.builder().numberKey(key).reason(reason).build());
+                    changes.add(change(key, BlocklistAction.ADD));
+                }
+            }
+            entryRepository.saveAll(entries);
+            changeRepository.saveAll(changes);
+            // written batch by batch, so a large import does not hold every new row in the persistence context
+            entityManager.flush();
+            entityManager.clear();
+            added += entries.size();
+        }
+        refreshAfterCommit();
+        logger.info("Blocklist import: {} added, {} already blocked, {} invalid", added, keys.size() - added,
+                invalid.size());
+        return new BlocklistImportResultDto(added, keys.size() - added, invalid);
+    }
+
+    @Override
+    @Transactional
+    public void removeNumber(String number) {
+        long key = PhoneNumbers.parse(number);
+        BlocklistEntry entry = entryRepository.findByNumberKey(key)
+                .orElseThrow(() -> new IllegalArgumentException("Number " + number + " is not blocklisted"));
+        entryRepository.delete(entry);
+        changeRepository.save(change(key, BlocklistAction.REMOVE));
+        refreshAfterCommit();
+        logger.info("Number {} removed from the blocklist", PhoneNumbers.format(key));
+    }
+
+    /**
+     * Refreshing inside the transaction would apply changes that can still roll back.
+     */
+    private void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            blocklistCache.refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    blocklistCache.refresh();
+                } catch (Exception e) {
+                    logger.warn("Blocklist refresh after commit failed, the next scheduled refresh will apply it", e);
+                }
+            }
+        });
+    }
+
+    private static BlocklistChange change(long numberKey, BlocklistAction action) {
+        return BlocklistChange.builder()
+                .numberKey(numberKey)
+                .action(action)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsDeadLetterRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.DeadLetterService;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterServiceImpl.class);
+
+    private final SmsDeadLetterRepository deadLetterRepository;
+    private final SmsRepository smsRepository;
+    private final SmsDeliveryService smsDeliveryService;
+
+    @Autowired
+    public DeadLetterServiceImpl(SmsDeadLetterRepository deadLetterRepository, SmsRepository smsRepository,
+                                 SmsDeliveryService smsDeliveryService) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.smsRepository = smsRepository;
+        this.smsDeliveryService = smsDeliveryService;
+    }
+
+    @Override
+    public List<SmsDeadLetter> getPendingDeadLetters() {
+        return deadLetterRepository.findByReplayedAtIsNullOrderByIdAsc();
+    }
+
+    @Override
+    public void replay(Long deadLetterId) {
+        SmsDeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+                .orElseThrow(() -> new IllegalArgumentException("Dead letter " + deadLetterId + " not found"));
+        if (deadLetter.getReplayedAt() != null) {
+            throw new IllegalArgumentException("Dead letter " + deadLetterId + " was already replayed");
+        }
+        replay(deadLetter);
+    }
+
+    @Override
+    public ReplayResult replayAll() {
+        int replayed = 0;
+        int failed = 0;
+        for (SmsDeadLetter deadLetter : getPendingDeadLetters()) {
+            try {
+                replay(deadLetter);
+                replayed++;
+            } catch (RuntimeException e) {
+                // stays pending, a later replay picks it up again
+                logger.warn("Could not replay dead letter {} for SMS {}", deadLetter.getId(), deadLetter.getSmsId(), e);
+                failed++;
+            }
+        }
+        return new ReplayResult(replayed, failed);
+    }
+
+    private void replay(SmsDeadLetter deadLetter) {
+        logger.info("Replaying dead letter {} for SMS {}", deadLetter.getId(), deadLetter.getSmsId());
+        Sms sms = smsRepository.findWithContentById(deadLetter.getSmsId())
+                .orElseThrow(() -> new IllegalStateException("SMS " + deadLetter.getSmsId() + " not found"));
+        if (sms.getStatus() == SmsStatus.SENT) {
+            logger.info("SMS {} was already sent, nothing to replay", sms.getId());
+        } else {
+            smsRepository.updateStatus(sms.getId(), SmsStatus.QUEUED);
+            sms.setStatus(SmsStatus.QUEUED);
+            smsDeliveryService.deliver(sms);
+        }
+        // only once delivery accepted the SMS, a rejected replay leaves the dead letter pending
+        deadLetter.setReplayedAt(Instant.now());
+        deadLetterRepository.save(deadLetter);
+    }
+}
@@ -9,19 +9,36 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+
 @Service
 public class SmsConfigurationServiceImpl implements SmsConfigurationService {
 
     private static final Logger logger = LoggerFactory.getLogger(SmsConfigurationServiceImpl.class);
-    private final SmsConfigurationRepository configurationRepository;
 
-    private int maxSmsLength = -1;
-    private String suffixTemplate = null;
+    /**
+     * How long a loaded configuration is used before it is read again, so a configuration created through
+     * another node reaches this one too.
+     */
+    static final Duration RELOAD_INTERVAL = Duration.ofSeconds(10);
+
+    private final SmsConfigurationRepository configurationRepository;
+    private final Clock clock;
 
+    /**
+     * Replaced as a whole, so a reader never mixes the length of one configuration with the suffix of another.
+     */
+    private volatile Loaded loaded;
 
     @Autowired
     public SmsConfigurationServiceImpl(SmsConfigurationRepository configurationRepository) {
+        this(configurationRepository, Clock.systemUTC());
+    }
+
+    SmsConfigurationServiceImpl(SmsConfigurationRepository configurationRepository, Clock clock) {
         this.configurationRepository = configurationRepository;
+        this.clock = clock;
     }
 
     @Override
@@ -33,25 +50,25 @@ public class SmsConfigurationServiceImpl implements SmsConfigurationService {
     @Override
     public void checkConfiguration() {
         logger.debug("Checking SMS configuration");
-        if (suffixTemplate == null || maxSmsLength == -1) {
-            logger.debug("SMS configuration is not loaded");
+        long now = clock.millis();
+        Loaded current = loaded;
+        if (current == null || now - current.loadedAt() >= RELOAD_INTERVAL.toMillis()) {
+            logger.debug("SMS configuration is not loaded or outdated");
             SmsConfiguration smsConfiguration = getCurrentConfiguration();
             logger.debug("loading SMS configuration...");
-            suffixTemplate = smsConfiguration.getSuffixTemplate();
-            maxSmsLength = smsConfiguration.getMaxSmsLength();
+            current = new Loaded(new Segmentation(smsConfiguration.getMaxSmsLength(),
+                    smsConfiguration.getSuffixTemplate()), now);
+            loaded = current;
             logger.debug("SMS configuration loaded");
         }
-        logger.debug("Configuration: {}", getCurrentConfiguration());
+        logger.debug("Configuration: maxSmsLength={}, suffixTemplate={}", current.segmentation().maxSmsLength(),
+                current.segmentation().suffixTemplate());
     }
 
     @Override
-    public int getMaxSmsLength() {
-        return maxSmsLength;
-    }
-
-    @Override
-    public String getSuffixTemplate() {
-        return suffixTemplate;
+    public Segmentation getSegmentation() {
+        Loaded current = loaded;
+        return current == null ? null : current.segmentation();
     }
 
     @Override
@@ -63,8 +80,11 @@ public class SmsConfigurationServiceImpl implements SmsConfigurationService {
                 .build();
         configurationRepository.save(configuration);
         logger.debug("New configuration created: {}", configuration);
-        maxSmsLength = configuration.getMaxSmsLength();
-        suffixTemplate = configurationDto.getSuffixTemplate();
+        loaded = new Loaded(new Segmentation(configuration.getMaxSmsLength(), configuration.getSuffixTemplate()),
+                clock.millis());
         logger.debug("New configuration loaded");
     }
+
+    private record Loaded(Segmentation segmentation, long loadedAt) {
+    }
 }
\ No newline at end of file
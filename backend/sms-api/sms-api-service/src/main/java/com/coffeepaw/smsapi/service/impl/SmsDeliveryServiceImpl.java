@@ -0,0 +1,224 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsDeadLetterRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import com.coffeepaw.smsapi.service.cluster.PartitionOwnership;
+import com.coffeepaw.smsapi.service.dispatch.SmsDispatcher;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.gateway.AdaptiveConcurrencyLimiter;
+import com.coffeepaw.smsapi.service.gateway.CircuitBreaker;
+import com.coffeepaw.smsapi.service.gateway.SmsGateway;
+import com.coffeepaw.smsapi.service.retry.RetryBudget;
+import com.coffeepaw.smsapi.service.retry.RetryPolicies;
+import com.coffeepaw.smsapi.service.retry.RetryPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class SmsDeliveryServiceImpl implements SmsDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDeliveryServiceImpl.class);
+
+    private final SmsDispatcher smsDispatcher;
+    private final SmsGateway smsGateway;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final SmsRepository smsRepository;
+    private final SmsDeadLetterRepository deadLetterRepository;
+    private final RetryPolicies retryPolicies;
+    private final RetryBudget retryBudget;
+    private final ScheduledExecutorService retryScheduler;
+    private final PartitionOwnership partitionOwnership;
+    private final Counter retries;
+    private final Counter throttledRetries;
+    private final Counter deadLetters;
+    private final Counter circuitRejections;
+
+    @Autowired
+    public SmsDeliveryServiceImpl(SmsDispatcher smsDispatcher, SmsGateway smsGateway, CircuitBreaker circuitBreaker,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter, SmsRepository smsRepository,
+                                  SmsDeadLetterRepository deadLetterRepository, RetryPolicies retryPolicies,
+                                  RetryBudget retryBudget,
+                                  @Qualifier("smsRetryScheduler") ScheduledExecutorService retryScheduler,
+                                  PartitionOwnership partitionOwnership, MeterRegistry meterRegistry) {
+        this.smsDispatcher = smsDispatcher;
+        this.smsGateway = smsGateway;
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.smsRepository = smsRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.retryPolicies = retryPolicies;
+        this.retryBudget = retryBudget;
+        this.retryScheduler = retryScheduler;
+        this.partitionOwnership = partitionOwnership;
+        this.retries = meterRegistry.counter("sms.delivery.retries");
+        this.throttledRetries = meterRegistry.counter("sms.delivery.retries.throttled");
+        this.deadLetters = meterRegistry.counter("sms.delivery.dead.letters");
+        this.circuitRejections = meterRegistry.counter("sms.gateway.circuit.rejected");
+    }
+
+    @Override
+    public void deliver(Sms sms) {
+        if (partitionOwnership.isEnabled()) {
+            // the owner of the partition delivers it, possibly on another node
+            partitionOwnership.notifyQueued(sms.getPartitionId());
+            return;
+        }
+        try {
+            smsDispatcher.dispatch(sms.getPriority(), () -> attempt(new DeliveryAttempt(sms, 1, false)));
+        } catch (LaneSaturatedException e) {
+            storeStatus(sms, SmsStatus.FAILED);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deliverClaimed(Sms sms) {
+        try {
+            smsDispatcher.dispatch(sms.getPriority(), () -> attempt(new DeliveryAttempt(sms, 1, false)));
+            return true;
+        } catch (LaneSaturatedException e) {
+            // back in the queue of the partition, a later poll claims it again
+            storeStatus(sms, SmsStatus.QUEUED);
+            return false;
+        }
+    }
+
+    private void attempt(DeliveryAttempt delivery) {
+        Sms sms = delivery.sms();
+        boolean sent = delivery.sent();
+        try {
+            if (!sent) {
+                sendSmsToRecipient(sms);
+                sent = true;
+            }
+            markSent(sms);
+        } catch (RuntimeException e) {
+            onFailure(new DeliveryAttempt(sms, delivery.number(), sent), e);
+        }
+    }
+
+    private void sendSmsToRecipient(Sms sms) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            throw new GatewayUnavailableException("SMS gateway circuit is open");
+        }
+        long start = System.nanoTime();
+        try {
+            logger.info("Sending SMS to {} via route {}...", sms.getTo(), sms.getRoute());
+            smsGateway.send(sms);
+        } catch (Exception e) {
+            long duration = System.nanoTime() - start;
+            circuitBreaker.onError(duration);
+            concurrencyLimiter.onSample(duration, true);
+            throw new SendingException("Error while sending SMS", e);
+        }
+        long duration = System.nanoTime() - start;
+        circuitBreaker.onSuccess(duration);
+        concurrencyLimiter.onSample(duration, false);
+        logger.info("SMS Sent to {}", sms.getTo());
+    }
+
+    private void markSent(Sms sms) {
+        try {
+            storeStatus(sms, SmsStatus.SENT);
+        } catch (Exception e) {
+            throw new DatabaseTransactionException("Error while updating SMS status", e);
+        }
+    }
+
+    private void onFailure(DeliveryAttempt failed, RuntimeException error) {
+        RetryPolicy policy = retryPolicies.policyFor(error);
+        if (!policy.canRetry(failed.number())) {
+            logger.warn("Giving up on SMS {} after {} attempts", failed.sms().getId(), failed.number(), error);
+            deadLetter(failed, error);
+            return;
+        }
+        if (!retryBudget.tryAcquire()) {
+            logger.warn("Retry budget exhausted, not retrying SMS {}", failed.sms().getId(), error);
+            throttledRetries.increment();
+            deadLetter(failed, error);
+            return;
+        }
+        Duration delay = policy.backoff(failed.number(), ThreadLocalRandom.current());
+        logger.debug("Retrying SMS {} in {} ms (attempt {})", failed.sms().getId(), delay.toMillis(), failed.number() + 1);
+        retries.increment();
+        DeliveryAttempt next = new DeliveryAttempt(failed.sms(), failed.number() + 1, failed.sent());
+        retryScheduler.schedule(() -> redispatch(next), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void redispatch(DeliveryAttempt delivery) {
+        try {
+            smsDispatcher.dispatch(delivery.sms().getPriority(), () -> attempt(delivery));
+        } catch (LaneSaturatedException e) {
+            onFailure(delivery, e);
+        }
+    }
+
+    private void deadLetter(DeliveryAttempt failed, RuntimeException error) {
+        deadLetters.increment();
+        try {
+            if (!failed.sent()) {
+                storeStatus(failed.sms(), SmsStatus.FAILED);
+            }
+            deadLetterRepository.save(SmsDeadLetter.builder()
+                    .smsId(failed.sms().getId())
+                    .errorType(error.getClass().getSimpleName())
+                    .errorMessage(describe(error))
+                    .attempts(failed.number())
+                    .build());
+        } catch (Exception e) {
+            logger.error("Could not record dead letter for SMS {}", failed.sms().getId(), e);
+        }
+    }
+
+    /**
+     * Stores the status of the message. A claimed message is only updated while the claim is current: once
+     * another owner of its partition claimed it again, that owner decides its status.
+     */
+    private void storeStatus(Sms sms, SmsStatus status) {
+        if (sms.getClaimToken() == null) {
+            smsRepository.updateStatus(sms.getId(), status);
+            sms.setStatus(status);
+            return;
+        }
+        if (smsRepository.updateClaimedStatus(sms.getId(), sms.getClaimToken(), status) == 0) {
+            logger.warn("SMS {} was claimed by another node, not marking it {}", sms.getId(), status);
+            return;
+        }
+        sms.setStatus(status);
+        if (status != SmsStatus.QUEUED) {
+            // the next message of the recipient may go now; a message put back in the queue waits for the next poll
+            partitionOwnership.notifyQueued(sms.getPartitionId());
+        }
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getCause() == null ? error.getMessage() : error.getMessage() + ": " + error.getCause().getMessage();
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    /**
+     * @param number attempt number, starting at 1
+     * @param sent   whether the gateway already accepted the SMS, so only the status update is left
+     */
+    private record DeliveryAttempt(Sms sms, int number, boolean sent) {
+    }
+}
@@ -1,19 +1,33 @@
 package com.coffeepaw.smsapi.service.impl;
 
 import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
 import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.model.phone.PhoneNumbers;
 import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.BlocklistService;
 import com.coffeepaw.smsapi.service.SmsConfigurationService;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
 import com.coffeepaw.smsapi.service.SmsHandlerService;
+import com.coffeepaw.smsapi.service.SmsUsageService;
+import com.coffeepaw.smsapi.service.cluster.PartitionOwnership;
+import com.coffeepaw.smsapi.service.dedup.DuplicateWindow;
 import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
-import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.ShuttingDownException;
+import com.coffeepaw.smsapi.service.gateway.CircuitBreaker;
+import com.coffeepaw.smsapi.service.lifecycle.SmsTrafficGate;
+import com.coffeepaw.smsapi.service.routing.SmsRouter;
+import com.coffeepaw.smsapi.service.segment.SmsSegmenter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,41 +37,97 @@ public class SmsHandlerServiceImpl implements SmsHandlerService {
 
     private final SmsRepository smsRepository;
     private final SmsConfigurationService smsConfigurationService;
+    private final SmsDeliveryService smsDeliveryService;
+    private final CircuitBreaker gatewayCircuitBreaker;
+    private final BlocklistService blocklistService;
+    private final SmsRouter smsRouter;
+    private final SmsUsageService smsUsageService;
+    private final SmsTrafficGate smsTrafficGate;
+    private final PartitionOwnership partitionOwnership;
+    private final DuplicateWindow duplicateWindow;
 
 
     @Autowired
-    public SmsHandlerServiceImpl(SmsRepository smsRepository, SmsConfigurationService smsConfigurationService) {
+    public SmsHandlerServiceImpl(SmsRepository smsRepository, SmsConfigurationService smsConfigurationService,
+                                 SmsDeliveryService smsDeliveryService, CircuitBreaker gatewayCircuitBreaker,
+                                 BlocklistService blocklistService, SmsRouter smsRouter,
+                                 SmsUsageService smsUsageService, SmsTrafficGate smsTrafficGate,
+                                 PartitionOwnership partitionOwnership, DuplicateWindow duplicateWindow) {
         this.smsRepository = smsRepository;
         this.smsConfigurationService = smsConfigurationService;
+        this.smsDeliveryService = smsDeliveryService;
+        this.gatewayCircuitBreaker = gatewayCircuitBreaker;
+        this.blocklistService = blocklistService;
+        this.smsRouter = smsRouter;
+        this.smsUsageService = smsUsageService;
+        this.smsTrafficGate = smsTrafficGate;
+        this.partitionOwnership = partitionOwnership;
+        this.duplicateWindow = duplicateWindow;
     }
 
     @Override
     public void sendSms(SmsRequestDto smsRequestDTO) {
         logger.debug("Sending SMS to {} from {}", smsRequestDTO.getTo(), smsRequestDTO.getFrom());
+        if (!smsTrafficGate.isAcceptingSends()) {
+            throw new ShuttingDownException("SMS service is shutting down, please retry");
+        }
+        if (gatewayCircuitBreaker.isOpen()) {
+            throw new GatewayUnavailableException("SMS gateway is unavailable, please retry later");
+        }
         smsConfigurationService.checkConfiguration();
+        long toKey = parsePhoneNumber(smsRequestDTO.getTo(), "recipient");
+        long fromKey = parsePhoneNumber(smsRequestDTO.getFrom(), "sender");
+        if (blocklistService.isBlocked(toKey)) {
+            logger.info("Suppressing SMS to {}, the number opted out", PhoneNumbers.format(toKey));
+            throw new RecipientBlockedException("Recipient " + PhoneNumbers.format(toKey) + " opted out of SMS");
+        }
+        if (duplicateWindow.isRepeat(toKey, smsRequestDTO.getMessage())) {
+            logger.info("Suppressing repeated SMS to {}", PhoneNumbers.format(toKey));
+            throw new DuplicateSmsException("The same message was just sent to " + PhoneNumbers.format(toKey));
+        }
+        try {
+            queueSms(smsRequestDTO, toKey, fromKey);
+        } catch (RuntimeException e) {
+            // not accepted, so a retry of the client is not a repeat
+            duplicateWindow.forget(toKey, smsRequestDTO.getMessage());
+            throw e;
+        }
+    }
+
+    private void queueSms(SmsRequestDto smsRequestDTO, long toKey, long fromKey) {
         List<String> messages = processMessage(smsRequestDTO);
+        SmsPriority priority = smsRequestDTO.getPriority() == null ? SmsPriority.NORMAL : smsRequestDTO.getPriority();
         Sms sms = Sms.builder()
-                .to(smsRequestDTO.getTo())
-                .from(smsRequestDTO.getFrom())
+                .to(PhoneNumbers.format(toKey))
+                .toKey(toKey)
+                .toCountryCode((short) PhoneNumbers.countryCode(toKey))
+                .from(PhoneNumbers.format(fromKey))
+                .fromKey(fromKey)
+                .fromCountryCode((short) PhoneNumbers.countryCode(fromKey))
                 .size(smsRequestDTO.getMessage().length())
                 .parts(messages.size())
+                .priority(priority)
+                .route(smsRouter.route(toKey))
+                .partitionId(partitionOwnership.partitionOf(toKey))
+                .status(SmsStatus.QUEUED)
                 .sentDate(LocalDateTime.now())
                 .content(messages)
                 .build();
 
         saveSms(sms);
         logger.debug("Sms: {}", sms);
-        logger.info("Sending SMS to {}...", sms.getTo());
-        sendSmsToRecipient(sms);
-        logger.info("SMS Sent to {}", sms.getTo());
+        logger.info("Queueing SMS to {} in {} lane", sms.getTo(), priority);
+        smsDeliveryService.deliver(sms);
+        // billed once accepted: a rejected send is answered with an error and may be retried by the client
+        smsUsageService.recordUsage(fromKey, sms.getParts(), sms.getSize());
     }
 
-    private void sendSmsToRecipient(Sms sms) {
-        try {
-            sms.getContent().forEach(System.out::println);
-        } catch (Exception e) {
-            throw new SendingException("Error while sending SMS", e);
+    private long parsePhoneNumber(String number, String role) {
+        long key = PhoneNumbers.parse(number);
+        if (key == PhoneNumbers.INVALID) {
+            throw new IllegalArgumentException("Invalid " + role + " phone number: " + number);
         }
+        return key;
     }
 
     private void saveSms(Sms sms) {
@@ -72,51 +142,8 @@ public class SmsHandlerServiceImpl implements SmsHandlerService {
 
     private List<String> processMessage(SmsRequestDto sms) {
         logger.debug("Calculating characteristics for {}", sms.getTo());
-        int totalLength = sms.getMessage().length();
-
-        if (totalLength <= smsConfigurationService.getMaxSmsLength()) {
-            return List.of(sms.getMessage());
-        }
-
-        int parts = 2;
-        while (true) {
-            List<String> messages = generateMessages(sms.getMessage(), parts);
-
-            int coveredLength = 0;
-            for (int i = 0; i < messages.size(); i++) {
-                String suffix = createSuffix(i + 1, parts);
-                coveredLength += messages.get(i).length() - suffix.length();
-            }
-
-            if (coveredLength >= totalLength) {
-                return messages;
-            }
-
-            parts++;
-        }
-    }
-
-    private List<String> generateMessages(String text, int parts) {
-        logger.debug("Generating Messages To Send");
-        List<String> messages = new ArrayList<>();
-
-        int start = 0;
-        for (int i = 1; i <= parts; i++) {
-            String suffix = createSuffix(i, parts);
-            int partLength = smsConfigurationService.getMaxSmsLength() - suffix.length();
-            if (partLength <= 0) {
-                throw new IllegalArgumentException("Suffix too long to fit in a single SMS part.");
-            }
-            int end = Math.min(start + partLength, text.length());
-            messages.add(new StringBuilder(text.substring(start, end)).append(suffix).toString());
-            start = end;
-        }
-
-        return messages;
-    }
-
-    private String createSuffix(int partNumber, int totalParts) {
-        return String.format(smsConfigurationService.getSuffixTemplate(), partNumber, totalParts);
+        SmsConfigurationService.Segmentation segmentation = smsConfigurationService.getSegmentation();
+        return SmsSegmenter.segment(sms.getMessage(), segmentation.maxSmsLength(), segmentation.suffixTemplate());
     }
 
 }
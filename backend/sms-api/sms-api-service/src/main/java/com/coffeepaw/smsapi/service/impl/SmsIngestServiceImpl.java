@@ -0,0 +1,126 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.service.SmsHandlerService;
+import com.coffeepaw.smsapi.service.SmsIngestService;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.ShuttingDownException;
+import com.coffeepaw.smsapi.service.ingest.IngestResult;
+import com.coffeepaw.smsapi.service.ingest.IngestSummary;
+import com.coffeepaw.smsapi.service.ingest.SmsFrameReader;
+import com.coffeepaw.smsapi.service.ingest.SmsFrames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Streaming ingest: frames are read, sent through the {@link SmsHandlerService} and answered one at a time,
+ * without Jackson or Bean Validation on the way; the handler validates the numbers as for JSON requests.
+ * Results are buffered while more input is already at hand and flushed whenever the reader would block, so
+ * producers streaming slowly see each result right away and bulk uploads are answered in large writes.
+ */
+@Service
+public class SmsIngestServiceImpl implements SmsIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsIngestServiceImpl.class);
+
+    private final SmsHandlerService smsHandlerService;
+    private final Map<IngestResult, Counter> frames = new EnumMap<>(IngestResult.class);
+
+    @Autowired
+    public SmsIngestServiceImpl(SmsHandlerService smsHandlerService, MeterRegistry meterRegistry) {
+        this.smsHandlerService = smsHandlerService;
+        for (IngestResult result : IngestResult.values()) {
+            frames.put(result, Counter.builder("sms.ingest.frames")
+                    .description("Frames read by the streaming ingest endpoint, by result")
+                    .tag("result", result.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public IngestSummary ingest(InputStream requests, OutputStream results) throws IOException {
+        SmsFrameReader reader = new SmsFrameReader(requests);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(results, 16 * 1024));
+        int accepted = 0;
+        int rejected = 0;
+        while (true) {
+            SmsRequestDto request;
+            try {
+                request = reader.next();
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                write(out, IngestResult.INVALID, e.getMessage());
+                continue;
+            } catch (IOException e) {
+                logger.info("Ending SMS stream after {} frames: {}", accepted + rejected, e.getMessage());
+                rejected++;
+                write(out, IngestResult.INVALID, "Stream not framed correctly: " + e.getMessage());
+                break;
+            }
+            if (request == null) {
+                break;
+            }
+            IngestResult result = send(request, out);
+            if (result == IngestResult.ACCEPTED) {
+                accepted++;
+            } else {
+                rejected++;
+            }
+            if (reader.available() == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+        logger.debug("SMS stream done: {} accepted, {} rejected", accepted, rejected);
+        return new IngestSummary(accepted, rejected);
+    }
+
+    private IngestResult send(SmsRequestDto request, DataOutputStream out) throws IOException {
+        IngestResult result;
+        String detail = null;
+        try {
+            smsHandlerService.sendSms(request);
+            result = IngestResult.ACCEPTED;
+        } catch (IllegalArgumentException e) {
+            result = IngestResult.INVALID;
+            detail = e.getMessage();
+        } catch (RecipientBlockedException e) {
+            result = IngestResult.BLOCKED;
+            detail = e.getMessage();
+        } catch (DuplicateSmsException e) {
+            result = IngestResult.DUPLICATE;
+            detail = e.getMessage();
+        } catch (ShuttingDownException | GatewayUnavailableException | LaneSaturatedException
+                 | DatabaseTransactionException e) {
+            result = IngestResult.UNAVAILABLE;
+            detail = e.getMessage();
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error while ingesting SMS to {}", request.getTo(), e);
+            result = IngestResult.FAILED;
+            detail = "Internal error";
+        }
+        write(out, result, detail);
+        return result;
+    }
+
+    private void write(DataOutputStream out, IngestResult result, String detail) throws IOException {
+        frames.get(result).increment();
+        SmsFrames.writeResult(out, result, detail);
+    }
+}
@@ -0,0 +1,74 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+import com.coffeepaw.smsapi.repository.SmsRouteRepository;
+import com.coffeepaw.smsapi.service.SmsRouteService;
+import com.coffeepaw.smsapi.service.routing.PrefixRouteTable;
+import com.coffeepaw.smsapi.service.routing.SmsRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SmsRouteServiceImpl implements SmsRouteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsRouteServiceImpl.class);
+
+    private final SmsRouteRepository smsRouteRepository;
+    private final SmsRouter smsRouter;
+
+    @Autowired
+    public SmsRouteServiceImpl(SmsRouteRepository smsRouteRepository, SmsRouter smsRouter) {
+        this.smsRouteRepository = smsRouteRepository;
+        this.smsRouter = smsRouter;
+    }
+
+    @Override
+    public List<SmsRoute> getRoutes() {
+        return smsRouteRepository.findAllByOrderByPrefixAsc();
+    }
+
+    /**
+     * Replaces the whole routing table. The new table is validated before anything is written and only swapped
+     * into the router once the transaction committed.
+     */
+    @Override
+    @Transactional
+    public void replaceRoutes(List<SmsRoute> routes) {
+        Map<String, String> prefixRoutes = new HashMap<>();
+        for (SmsRoute route : routes) {
+            if (prefixRoutes.put(route.getPrefix(), route.getRoute()) != null) {
+                throw new IllegalArgumentException("Duplicate route prefix: " + route.getPrefix());
+            }
+        }
+        PrefixRouteTable.of(prefixRoutes);
+
+        smsRouteRepository.deleteAllInBatch();
+        smsRouteRepository.flush();
+        smsRouteRepository.saveAll(routes);
+        logger.info("Routing table replaced with {} prefixes", routes.size());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    smsRouter.reload();
+                }
+            });
+        } else {
+            smsRouter.reload();
+        }
+    }
+
+    @Override
+    public int reloadRoutes() {
+        return smsRouter.reload();
+    }
+}
@@ -0,0 +1,64 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsUsageDto;
+import com.coffeepaw.smsapi.model.phone.PhoneNumbers;
+import com.coffeepaw.smsapi.repository.SmsUsageRepository;
+import com.coffeepaw.smsapi.service.SmsUsageService;
+import com.coffeepaw.smsapi.service.usage.SmsUsageCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Usage is counted in memory by {@link SmsUsageCounters} and read back from the {@code sms_usage} rollup, so stats
+ * trail live traffic by up to one flush interval.
+ */
+@Service
+public class SmsUsageServiceImpl implements SmsUsageService {
+
+    private final SmsUsageCounters usageCounters;
+    private final SmsUsageRepository usageRepository;
+
+    @Autowired
+    public SmsUsageServiceImpl(SmsUsageCounters usageCounters, SmsUsageRepository usageRepository) {
+        this.usageCounters = usageCounters;
+        this.usageRepository = usageRepository;
+    }
+
+    @Override
+    public void recordUsage(long senderKey, int parts, int characters) {
+        usageCounters.record(senderKey, parts, characters);
+    }
+
+    /**
+     * @param from   start of the period, rounded down to the minute
+     * @param to     end of the period, exclusive, rounded up to the minute
+     * @param sender only this sender if set, in any form {@link PhoneNumbers#parse(CharSequence)} accepts
+     */
+    @Override
+    public List<SmsUsageDto> getUsage(Instant from, Instant to, String sender) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Stats period must start before it ends");
+        }
+        Long senderKey = null;
+        if (sender != null) {
+            senderKey = PhoneNumbers.parse(sender);
+            if (senderKey == PhoneNumbers.INVALID) {
+                throw new IllegalArgumentException("Invalid sender phone number: " + sender);
+            }
+        }
+        long fromMinute = from.getEpochSecond() / 60;
+        long toMinute = to.plus(59, ChronoUnit.SECONDS).getEpochSecond() / 60;
+        return usageRepository.sumBySender(fromMinute, toMinute, senderKey).stream()
+                .map(usage -> SmsUsageDto.builder()
+                        .sender(PhoneNumbers.format(usage.getSenderKey()))
+                        .messages(usage.getMessages())
+                        .parts(usage.getParts())
+                        .characters(usage.getCharacters())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+/**
+ * Outcome of one frame of the streaming ingest endpoint.
+ */
+public enum IngestResult {
+    /**
+     * Stored and queued for delivery.
+     */
+    ACCEPTED(0),
+    /**
+     * Malformed frame or invalid field; not worth retrying.
+     */
+    INVALID(1),
+    /**
+     * The recipient opted out.
+     */
+    BLOCKED(2),
+    /**
+     * The same text was just sent to the recipient.
+     */
+    DUPLICATE(3),
+    /**
+     * Temporarily not accepted (shutting down, gateway or database unavailable, lanes full); retry later.
+     */
+    UNAVAILABLE(4),
+    /**
+     * Unexpected error.
+     */
+    FAILED(5);
+
+    private static final IngestResult[] BY_CODE = values();
+
+    private final int code;
+
+    IngestResult(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static IngestResult ofCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown ingest result code " + code);
+        }
+        return BY_CODE[code];
+    }
+}
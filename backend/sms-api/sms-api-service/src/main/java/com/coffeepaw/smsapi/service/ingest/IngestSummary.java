@@ -0,0 +1,8 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+/**
+ * @param accepted requests stored and queued for delivery
+ * @param rejected requests answered with any other result
+ */
+public record IngestSummary(int accepted, int rejected) {
+}
@@ -0,0 +1,97 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the send requests of a {@link SmsFrames} stream one frame at a time, so a request body of any size is
+ * handled in a fixed buffer of one frame.
+ * <p>
+ * A frame with invalid content is consumed whole before it is rejected, so the reader stays in step and the
+ * following frames are read normally. A frame length out of range or a stream ending inside a frame leaves no
+ * way to find the next frame, and ends the stream with an {@link IOException}.
+ */
+public class SmsFrameReader {
+
+    private final BufferedInputStream buffered;
+    private final DataInputStream in;
+    private final byte[] frame = new byte[SmsFrames.MAX_FRAME_BYTES];
+
+    public SmsFrameReader(InputStream body) {
+        this.buffered = new BufferedInputStream(body, 64 * 1024);
+        this.in = new DataInputStream(buffered);
+    }
+
+    /**
+     * @return the next request, or {@code null} at the end of the stream
+     * @throws IllegalArgumentException if the frame content is invalid; the next frame can still be read
+     * @throws IOException              if the stream is broken or not framed correctly
+     */
+    public SmsRequestDto next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        SmsFrames.checkLength(length);
+        try {
+            in.readFully(frame, 0, length);
+        } catch (EOFException e) {
+            throw new EOFException("Stream ended inside a frame of " + length + " bytes");
+        }
+        return decode(length);
+    }
+
+    /**
+     * Bytes that can be read without blocking; once none are left, results written so far are worth flushing.
+     */
+    public int available() throws IOException {
+        return buffered.available();
+    }
+
+    private SmsRequestDto decode(int length) {
+        int position = 0;
+        SmsRequestDto request = new SmsRequestDto();
+        request.setPriority(SmsFrames.priorityOf(frame[position++] & 0xFF));
+        int fromLength = frame[position++] & 0xFF;
+        request.setFrom(text(position, fromLength, length, "sender"));
+        position += fromLength;
+        int toLength = frame[checkIndex(position, length)] & 0xFF;
+        position++;
+        request.setTo(text(position, toLength, length, "recipient"));
+        position += toLength;
+        checkIndex(position + 1, length);
+        int messageLength = ((frame[position] & 0xFF) << 8) | (frame[position + 1] & 0xFF);
+        position += 2;
+        request.setMessage(text(position, messageLength, length, "message"));
+        if (position + messageLength != length) {
+            throw new IllegalArgumentException("Frame has " + (length - position - messageLength) + " trailing bytes");
+        }
+        return request;
+    }
+
+    private String text(int position, int length, int frameLength, String field) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty " + field);
+        }
+        checkIndex(position + length - 1, frameLength);
+        String text = new String(frame, position, length, StandardCharsets.UTF_8);
+        if (text.isBlank()) {
+            throw new IllegalArgumentException("Blank " + field);
+        }
+        return text;
+    }
+
+    private static int checkIndex(int index, int frameLength) {
+        if (index >= frameLength) {
+            throw new IllegalArgumentException("Field lengths exceed the frame length " + frameLength);
+        }
+        return index;
+    }
+}
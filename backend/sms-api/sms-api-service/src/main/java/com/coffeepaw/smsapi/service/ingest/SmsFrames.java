@@ -0,0 +1,103 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary framing of the streaming ingest endpoint, for high-volume internal producers.
+ * <p>
+ * A request body is a sequence of frames, read until the end of the stream. All integers are unsigned and big
+ * endian, all text is UTF-8:
+ * <pre>
+ * u32 frame length, of the bytes that follow
+ * u8  priority: 0 default (NORMAL), 1 HIGH, 2 NORMAL, 3 LOW
+ * u8  sender length,    sender
+ * u8  recipient length, recipient
+ * u16 message length,   message
+ * </pre>
+ * The response body has one result per frame, in the same order:
+ * <pre>
+ * u8  result code, see {@link IngestResult}
+ * u16 detail length, detail (empty when accepted)
+ * </pre>
+ */
+public final class SmsFrames {
+
+    public static final String MEDIA_TYPE = "application/x-sms-frames";
+
+    /**
+     * Largest frame body the format can describe.
+     */
+    public static final int MAX_FRAME_BYTES = 1 + 1 + 255 + 1 + 255 + 2 + 65_535;
+
+    private static final int MAX_DETAIL_CHARS = 1000;
+    private static final SmsPriority[] PRIORITIES = {null, SmsPriority.HIGH, SmsPriority.NORMAL, SmsPriority.LOW};
+
+    private SmsFrames() {
+    }
+
+    /**
+     * Writes a send request as one frame.
+     *
+     * @throws IllegalArgumentException if a field is too long for the format
+     */
+    public static void writeRequest(DataOutputStream out, SmsRequestDto request) throws IOException {
+        byte[] from = request.getFrom().getBytes(StandardCharsets.UTF_8);
+        byte[] to = request.getTo().getBytes(StandardCharsets.UTF_8);
+        byte[] message = request.getMessage().getBytes(StandardCharsets.UTF_8);
+        if (from.length > 255 || to.length > 255 || message.length > 65_535) {
+            throw new IllegalArgumentException("SMS request does not fit in a frame");
+        }
+        out.writeInt(1 + 1 + from.length + 1 + to.length + 2 + message.length);
+        out.writeByte(request.getPriority() == null ? 0 : request.getPriority().ordinal() + 1);
+        out.writeByte(from.length);
+        out.write(from);
+        out.writeByte(to.length);
+        out.write(to);
+        out.writeShort(message.length);
+        out.write(message);
+    }
+
+    public static void writeResult(DataOutputStream out, IngestResult result, String detail) throws IOException {
+        String text = detail == null ? "" : detail.length() > MAX_DETAIL_CHARS ? detail.substring(0, MAX_DETAIL_CHARS) : detail;
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(result.getCode());
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @return the next result, or {@code null} at the end of the stream
+     */
+    public static Result readResult(DataInputStream in) throws IOException {
+        int code = in.read();
+        if (code < 0) {
+            return null;
+        }
+        byte[] detail = new byte[in.readUnsignedShort()];
+        in.readFully(detail);
+        return new Result(IngestResult.ofCode(code), new String(detail, StandardCharsets.UTF_8));
+    }
+
+    static SmsPriority priorityOf(int code) {
+        if (code >= PRIORITIES.length) {
+            throw new IllegalArgumentException("Unknown priority code " + code);
+        }
+        return PRIORITIES[code];
+    }
+
+    static void checkLength(int frameLength) throws IOException {
+        if (frameLength < 1 + 1 + 1 + 2 || frameLength > MAX_FRAME_BYTES) {
+            throw new StreamCorruptedException("Frame length " + frameLength + " out of range");
+        }
+    }
+
+    public record Result(IngestResult result, String detail) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.coffeepaw.smsapi.service.lifecycle;
+
+import com.coffeepaw.smsapi.service.SmsConfigurationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LifecycleConfig {
+
+    @Value("${sms.warmup.enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${sms.warmup.connections:10}")
+    private int warmupConnections;
+
+    @Value("${sms.warmup.iterations:20000}")
+    private int warmupIterations;
+
+    @Bean
+    public SmsTrafficGate smsTrafficGate(SmsConfigurationService smsConfigurationService) {
+        Runnable warmup = warmupEnabled
+                ? new SmsWarmup(smsConfigurationService, warmupConnections, warmupIterations)
+                : () -> {
+                };
+        return new SmsTrafficGate(warmup);
+    }
+}
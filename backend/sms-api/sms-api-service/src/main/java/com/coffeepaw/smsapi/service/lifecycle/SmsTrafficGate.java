@@ -0,0 +1,90 @@
+package com.coffeepaw.smsapi.service.lifecycle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Whether this instance takes sends, and whether it is ready to be sent traffic.
+ * <p>
+ * The gate starts last, once the web server is up, and runs the warm-up in the background: the instance is live
+ * right away but only reports ready once the warm-up is done, so a load balancer keeps traffic on warm instances.
+ * It stops first, before the web server shuts down gracefully: from then on the instance reports not ready and
+ * rejects new sends, the web server finishes the requests in flight and the dispatcher drains their deliveries.
+ */
+public class SmsTrafficGate implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsTrafficGate.class);
+
+    public enum State {
+        STOPPED, WARMING_UP, READY, DRAINING
+    }
+
+    private final Runnable warmup;
+    private final AtomicReference<State> state = new AtomicReference<>(State.STOPPED);
+
+    public SmsTrafficGate(Runnable warmup) {
+        this.warmup = warmup;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isReady() {
+        return state.get() == State.READY;
+    }
+
+    /**
+     * Sends are taken while warming up too; only readiness waits for the warm-up.
+     */
+    public boolean isAcceptingSends() {
+        State current = state.get();
+        return current == State.WARMING_UP || current == State.READY;
+    }
+
+    @Override
+    public void start() {
+        if (!state.compareAndSet(State.STOPPED, State.WARMING_UP)) {
+            return;
+        }
+        Thread.ofPlatform().name("sms-warmup").daemon().start(this::warmUp);
+    }
+
+    @Override
+    public void stop() {
+        State previous = state.getAndSet(State.DRAINING);
+        if (previous != State.DRAINING) {
+            logger.info("No longer accepting SMS sends, draining");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return isAcceptingSends();
+    }
+
+    /**
+     * Starts after and stops before the web server (see {@link SmartLifecycle#DEFAULT_PHASE}).
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            warmup.run();
+        } catch (Exception e) {
+            logger.warn("Warm-up failed, reporting ready anyway", e);
+        }
+        if (state.compareAndSet(State.WARMING_UP, State.READY)) {
+            logger.info("Ready for traffic after {} ms of warm-up",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
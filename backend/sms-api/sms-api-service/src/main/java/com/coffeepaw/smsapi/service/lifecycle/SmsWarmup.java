@@ -0,0 +1,66 @@
+package com.coffeepaw.smsapi.service.lifecycle;
+
+import com.coffeepaw.smsapi.model.phone.PhoneNumbers;
+import com.coffeepaw.smsapi.service.SmsConfigurationService;
+import com.coffeepaw.smsapi.service.segment.SmsSegmenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Synthetic work that moves the first-request costs of a fresh instance to before it reports ready: it loads the
+ * cached SMS configuration, opens database connections with concurrent reads and runs number parsing and
+ * segmentation until the JIT has compiled them. Nothing is written.
+ */
+public class SmsWarmup implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsWarmup.class);
+    private static final String[] NUMBERS = {"+44 7911 123456", "0049 151 12345678", "1 (555) 123-4567",
+            "+33.6.12.34.56.78", "+61 412 345 678"};
+
+    private final SmsConfigurationService smsConfigurationService;
+    private final int connections;
+    private final int iterations;
+
+    /**
+     * @param connections concurrent configuration reads, at most the connection pool size
+     * @param iterations  parse and segmentation rounds
+     */
+    public SmsWarmup(SmsConfigurationService smsConfigurationService, int connections, int iterations) {
+        this.smsConfigurationService = smsConfigurationService;
+        this.connections = connections;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run() {
+        smsConfigurationService.checkConfiguration();
+        warmConnections();
+        warmSegmentation();
+    }
+
+    private void warmConnections() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                executor.execute(smsConfigurationService::getCurrentConfiguration);
+            }
+        }
+    }
+
+    private void warmSegmentation() {
+        SmsConfigurationService.Segmentation segmentation = smsConfigurationService.getSegmentation();
+        int maxSmsLength = segmentation.maxSmsLength();
+        String suffixTemplate = segmentation.suffixTemplate();
+        String[] texts = {"Your code is 123456", "A".repeat(maxSmsLength + 1), "Hello there. ".repeat(40),
+                "Ünïcödé ✓ ".repeat(30)};
+        long characters = 0;
+        long parts = 0;
+        for (int i = 0; i < iterations; i++) {
+            characters += PhoneNumbers.format(PhoneNumbers.parse(NUMBERS[i % NUMBERS.length])).length();
+            parts += SmsSegmenter.segment(texts[i % texts.length], maxSmsLength, suffixTemplate).size();
+        }
+        logger.debug("Warm-up formatted {} number characters and segmented {} parts", characters, parts);
+    }
+}
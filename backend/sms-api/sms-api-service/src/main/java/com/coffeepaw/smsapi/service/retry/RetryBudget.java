@@ -0,0 +1,34 @@
+package com.coffeepaw.smsapi.service.retry;
+
+/**
+ * Global token bucket shared by all retries. When the downstream gateway is down every delivery fails,
+ * and the budget caps the retry rate so the outage does not turn into a retry storm.
+ */
+public class RetryBudget {
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private double available;
+    private long lastRefill;
+
+    public RetryBudget(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Retry budget rate and burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.available = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        available = Math.min(burst, available + (now - lastRefill) / 1_000_000_000.0 * permitsPerSecond);
+        lastRefill = now;
+        if (available < 1) {
+            return false;
+        }
+        available--;
+        return true;
+    }
+}
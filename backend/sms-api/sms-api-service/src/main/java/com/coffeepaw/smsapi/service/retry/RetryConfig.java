@@ -0,0 +1,89 @@
+package com.coffeepaw.smsapi.service.retry;
+
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+public class RetryConfig {
+
+    @Value("${sms.retry.sending.max-attempts:5}")
+    private int sendingMaxAttempts;
+
+    @Value("${sms.retry.sending.initial-delay:500ms}")
+    private Duration sendingInitialDelay;
+
+    @Value("${sms.retry.sending.max-delay:60s}")
+    private Duration sendingMaxDelay;
+
+    @Value("${sms.retry.database.max-attempts:3}")
+    private int databaseMaxAttempts;
+
+    @Value("${sms.retry.database.initial-delay:200ms}")
+    private Duration databaseInitialDelay;
+
+    @Value("${sms.retry.database.max-delay:5s}")
+    private Duration databaseMaxDelay;
+
+    @Value("${sms.retry.saturated.max-attempts:5}")
+    private int saturatedMaxAttempts;
+
+    @Value("${sms.retry.saturated.initial-delay:1s}")
+    private Duration saturatedInitialDelay;
+
+    @Value("${sms.retry.saturated.max-delay:30s}")
+    private Duration saturatedMaxDelay;
+
+    @Value("${sms.retry.unavailable.max-attempts:5}")
+    private int unavailableMaxAttempts;
+
+    @Value("${sms.retry.unavailable.initial-delay:5s}")
+    private Duration unavailableInitialDelay;
+
+    @Value("${sms.retry.unavailable.max-delay:60s}")
+    private Duration unavailableMaxDelay;
+
+    @Value("${sms.retry.multiplier:2.0}")
+    private double multiplier;
+
+    @Value("${sms.retry.budget.per-second:20}")
+    private double budgetPerSecond;
+
+    @Value("${sms.retry.budget.burst:100}")
+    private int budgetBurst;
+
+    @Bean
+    public RetryPolicies retryPolicies() {
+        return new RetryPolicies()
+                .register(SendingException.class,
+                        new RetryPolicy(sendingMaxAttempts, sendingInitialDelay, sendingMaxDelay, multiplier))
+                .register(DatabaseTransactionException.class,
+                        new RetryPolicy(databaseMaxAttempts, databaseInitialDelay, databaseMaxDelay, multiplier))
+                .register(LaneSaturatedException.class,
+                        new RetryPolicy(saturatedMaxAttempts, saturatedInitialDelay, saturatedMaxDelay, multiplier))
+                .register(GatewayUnavailableException.class,
+                        new RetryPolicy(unavailableMaxAttempts, unavailableInitialDelay, unavailableMaxDelay, multiplier));
+    }
+
+    @Bean
+    public RetryBudget retryBudget() {
+        return new RetryBudget(budgetPerSecond, budgetBurst);
+    }
+
+    /**
+     * Only waits out backoff delays: due retries are handed back to the delivery lanes, so no worker
+     * thread is ever blocked while a retry is pending.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService smsRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sms-retry").daemon().factory());
+    }
+}
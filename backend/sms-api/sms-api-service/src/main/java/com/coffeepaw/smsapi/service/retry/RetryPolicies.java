@@ -0,0 +1,28 @@
+package com.coffeepaw.smsapi.service.retry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retry policies per error class. The policy of the most specific registered superclass applies,
+ * errors without a registered class are not retried.
+ */
+public class RetryPolicies {
+
+    private final Map<Class<? extends Throwable>, RetryPolicy> policies = new LinkedHashMap<>();
+
+    public RetryPolicies register(Class<? extends Throwable> errorClass, RetryPolicy policy) {
+        policies.put(errorClass, policy);
+        return this;
+    }
+
+    public RetryPolicy policyFor(Throwable error) {
+        for (Class<?> type = error.getClass(); type != null; type = type.getSuperclass()) {
+            RetryPolicy policy = policies.get(type);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return RetryPolicy.NO_RETRY;
+    }
+}
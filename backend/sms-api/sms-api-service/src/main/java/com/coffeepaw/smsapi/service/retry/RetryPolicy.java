@@ -0,0 +1,33 @@
+package com.coffeepaw.smsapi.service.retry;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exponential backoff with full jitter: the delay before attempt {@code n + 1} is drawn uniformly
+ * from {@code [0, min(maxDelay, initialDelay * multiplier^(n - 1))]}.
+ *
+ * @param maxAttempts total number of attempts, including the first one
+ */
+public record RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, double multiplier) {
+
+    public static final RetryPolicy NO_RETRY = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1);
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Backoff multiplier must be at least 1");
+        }
+    }
+
+    public boolean canRetry(int failedAttempt) {
+        return failedAttempt < maxAttempts;
+    }
+
+    public Duration backoff(int failedAttempt, RandomGenerator random) {
+        double ceiling = Math.min(maxDelay.toMillis(), initialDelay.toMillis() * Math.pow(multiplier, failedAttempt - 1));
+        return Duration.ofMillis((long) (random.nextDouble() * ceiling));
+    }
+}
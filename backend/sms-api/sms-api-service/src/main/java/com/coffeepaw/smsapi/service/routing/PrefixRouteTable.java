@@ -0,0 +1,150 @@
+package com.coffeepaw.smsapi.service.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable longest-prefix-match table from E.164 digit prefixes to route names.
+ * <p>
+ * The prefixes form a decimal digit trie stored in flat arrays: node {@code n} has its ten children at
+ * {@code children[n * 10 .. n * 10 + 9]} and its route, if a prefix ends there, at {@code routeOf[n]}. A lookup
+ * walks at most the 15 digits of the number, whatever the size of the table. Route names are interned into a
+ * small array, so a table of thousands of prefixes costs a few hundred KiB.
+ */
+public final class PrefixRouteTable {
+
+    private static final int RADIX = 10;
+    private static final int MAX_DIGITS = 15;
+    private static final int NONE = -1;
+    private static final long[] POW10 = new long[MAX_DIGITS + 4];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final int[] children;
+    private final int[] routeOf;
+    private final String[] routes;
+    private final int size;
+
+    private PrefixRouteTable(int[] children, int[] routeOf, String[] routes, int size) {
+        this.children = children;
+        this.routeOf = routeOf;
+        this.routes = routes;
+        this.size = size;
+    }
+
+    public static PrefixRouteTable empty() {
+        return of(Map.of());
+    }
+
+    /**
+     * @param prefixRoutes route name by prefix of 1 to 15 digits, not starting with 0
+     * @throws IllegalArgumentException if a prefix is not valid
+     */
+    public static PrefixRouteTable of(Map<String, String> prefixRoutes) {
+        Builder builder = new Builder();
+        prefixRoutes.forEach(builder::add);
+        return builder.build(prefixRoutes.size());
+    }
+
+    /**
+     * @param numberKey E.164 key of the number, see {@link com.coffeepaw.smsapi.model.phone.PhoneNumbers}
+     * @return the route of the longest prefix of the number, or {@code null} if no prefix matches
+     */
+    public String lookup(long numberKey) {
+        if (numberKey <= 0) {
+            return null;
+        }
+        int best = NONE;
+        int node = 0;
+        for (long divisor = POW10[digitCount(numberKey) - 1]; divisor > 0; divisor /= 10) {
+            int digit = (int) (numberKey / divisor % 10);
+            node = children[node * RADIX + digit];
+            if (node == 0) {
+                break;
+            }
+            if (routeOf[node] != NONE) {
+                best = routeOf[node];
+            }
+        }
+        return best == NONE ? null : routes[best];
+    }
+
+    /**
+     * Number of prefixes in the table.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return routeOf.length;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POW10.length && value >= POW10[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static final class Builder {
+        private int[] children = new int[64 * RADIX];
+        private int[] routeOf = new int[64];
+        private int nodes = 1;
+        private final List<String> routes = new ArrayList<>();
+        private final Map<String, Integer> routeIndex = new HashMap<>();
+
+        private Builder() {
+            routeOf[0] = NONE;
+        }
+
+        private void add(String prefix, String route) {
+            if (prefix == null || prefix.isEmpty() || prefix.length() > MAX_DIGITS || prefix.charAt(0) == '0') {
+                throw new IllegalArgumentException("Invalid route prefix: " + prefix);
+            }
+            if (route == null || route.isBlank()) {
+                throw new IllegalArgumentException("Route of prefix " + prefix + " must not be blank");
+            }
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int digit = prefix.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("Invalid route prefix: " + prefix);
+                }
+                int slot = node * RADIX + digit;
+                if (children[slot] == 0) {
+                    int child = newNode();
+                    children[slot] = child;
+                }
+                node = children[slot];
+            }
+            routeOf[node] = routeIndex.computeIfAbsent(route, name -> {
+                routes.add(name);
+                return routes.size() - 1;
+            });
+        }
+
+        private int newNode() {
+            if (nodes == routeOf.length) {
+                routeOf = Arrays.copyOf(routeOf, nodes * 2);
+                children = Arrays.copyOf(children, nodes * 2 * RADIX);
+            }
+            routeOf[nodes] = NONE;
+            return nodes++;
+        }
+
+        private PrefixRouteTable build(int size) {
+            return new PrefixRouteTable(Arrays.copyOf(children, nodes * RADIX), Arrays.copyOf(routeOf, nodes),
+                    routes.toArray(String[]::new), size);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.coffeepaw.smsapi.service.routing;
+
+import com.coffeepaw.smsapi.repository.SmsRouteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RoutingConfig {
+
+    @Value("${sms.routing.default-route:default}")
+    private String defaultRoute;
+
+    @Bean
+    public SmsRouter smsRouter(SmsRouteRepository smsRouteRepository, MeterRegistry meterRegistry) {
+        SmsRouter router = new SmsRouter(smsRouteRepository, defaultRoute, meterRegistry);
+        Gauge.builder("sms.routing.table.size", router, SmsRouter::size)
+                .description("Prefixes in the loaded routing table")
+                .register(meterRegistry);
+        return router;
+    }
+}
@@ -0,0 +1,107 @@
+package com.coffeepaw.smsapi.service.routing;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+import com.coffeepaw.smsapi.repository.SmsRouteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the delivery route of each recipient from the prefix routing table.
+ * <p>
+ * The table is immutable and published through a volatile field, so a reload builds the new table next to the
+ * old one and swaps it in atomically: routing never sees a half-loaded table and never waits for a reload.
+ * Recipients that match no prefix use the default route.
+ */
+public class SmsRouter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsRouter.class);
+
+    private final SmsRouteRepository routeRepository;
+    private final String defaultRoute;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> routedCounters = new ConcurrentHashMap<>();
+
+    private volatile PrefixRouteTable table = PrefixRouteTable.empty();
+    private volatile boolean running;
+
+    public SmsRouter(SmsRouteRepository routeRepository, String defaultRoute, MeterRegistry meterRegistry) {
+        this.routeRepository = routeRepository;
+        this.defaultRoute = defaultRoute;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param toKey E.164 key of the recipient
+     * @return the route to deliver through
+     */
+    public String route(long toKey) {
+        String route = table.lookup(toKey);
+        if (route == null) {
+            route = defaultRoute;
+        }
+        routedCounters.computeIfAbsent(route, this::routedCounter).increment();
+        return route;
+    }
+
+    /**
+     * Rebuilds the table from {@code sms_route} and swaps it in.
+     *
+     * @return the number of prefixes loaded
+     */
+    public int reload() {
+        List<SmsRoute> routes = routeRepository.findAll();
+        Map<String, String> prefixRoutes = new HashMap<>();
+        routes.forEach(route -> prefixRoutes.put(route.getPrefix(), route.getRoute()));
+        PrefixRouteTable loaded = PrefixRouteTable.of(prefixRoutes);
+        table = loaded;
+        logger.info("Routing table loaded: {} prefixes, {} trie nodes", loaded.size(), loaded.nodeCount());
+        return loaded.size();
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public String getDefaultRoute() {
+        return defaultRoute;
+    }
+
+    @Override
+    public void start() {
+        reload();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server, so the first requests are already routed by the stored table.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private Counter routedCounter(String route) {
+        return Counter.builder("sms.routing.routed")
+                .description("SMS assigned to each delivery route")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
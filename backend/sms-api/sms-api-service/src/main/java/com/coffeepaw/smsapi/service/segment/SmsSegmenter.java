@@ -0,0 +1,68 @@
+package com.coffeepaw.smsapi.service.segment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits message text into SMS parts of at most {@code maxSmsLength} characters, each part of a multi-part
+ * message ending with the suffix template formatted with its part number and the total number of parts.
+ * Stateless, so every API flavour shares the same segmentation.
+ */
+public final class SmsSegmenter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsSegmenter.class);
+
+    private SmsSegmenter() {
+    }
+
+    public static List<String> segment(String text, int maxSmsLength, String suffixTemplate) {
+        int totalLength = text.length();
+
+        if (totalLength <= maxSmsLength) {
+            return List.of(text);
+        }
+
+        int parts = 2;
+        while (true) {
+            List<String> messages = generateMessages(text, parts, maxSmsLength, suffixTemplate);
+
+            int coveredLength = 0;
+            for (int i = 0; i < messages.size(); i++) {
+                String suffix = createSuffix(suffixTemplate, i + 1, parts);
+                coveredLength += messages.get(i).length() - suffix.length();
+            }
+
+            if (coveredLength >= totalLength) {
+                return messages;
+            }
+
+            parts++;
+        }
+    }
+
+    public static List<String> generateMessages(String text, int parts, int maxSmsLength, String suffixTemplate) {
+        logger.debug("Generating Messages To Send");
+        List<String> messages = new ArrayList<>();
+
+        int start = 0;
+        for (int i = 1; i <= parts; i++) {
+            String suffix = createSuffix(suffixTemplate, i, parts);
+            int partLength = maxSmsLength - suffix.length();
+            if (partLength <= 0) {
+                throw new IllegalArgumentException("Suffix too long to fit in a single SMS part.");
+            }
+            int end = Math.min(start + partLength, text.length());
+            messages.add(new StringBuilder(text.substring(start, end)).append(suffix).toString());
+            start = end;
+        }
+
+        return messages;
+    }
+
+    private static String createSuffix(String suffixTemplate, int partNumber, int totalParts) {
+        return String.format(suffixTemplate, partNumber, totalParts);
+    }
+}
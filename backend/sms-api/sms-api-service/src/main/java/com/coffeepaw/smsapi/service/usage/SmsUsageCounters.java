@@ -0,0 +1,193 @@
+package com.coffeepaw.smsapi.service.usage;
+
+import com.coffeepaw.smsapi.model.SmsUsage;
+import com.coffeepaw.smsapi.repository.SmsUsageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory usage counters per sender and minute, rolled up into {@code sms_usage} on a fixed delay.
+ * <p>
+ * Sends only increment {@link LongAdder}s, which spread concurrent increments over cells instead of contending on
+ * one value, so counting adds no lock or database write to a send. A flush writes the running totals of every
+ * bucket that changed since the last successful flush, as rows owned by this instance run (see {@link SmsUsage}).
+ * Writing totals instead of deltas makes flushes idempotent: a retry after a failed or uncertain flush rewrites
+ * the same or larger totals, and a restart counts under a new instance id instead of overwriting or adding to
+ * the rows of the previous run. Counts not yet flushed when the process dies are lost; a graceful stop flushes.
+ * <p>
+ * Buckets stay in memory until their minute is {@link #RETENTION_MINUTES} behind and fully flushed, so a send
+ * that read the clock just before the minute turned still lands in a live bucket.
+ */
+public class SmsUsageCounters implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsUsageCounters.class);
+    private static final int BATCH_SIZE = 500;
+    private static final long RETENTION_MINUTES = 2;
+
+    private final SmsUsageRepository usageRepository;
+    private final Duration flushInterval;
+    private final Clock clock;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public SmsUsageCounters(SmsUsageRepository usageRepository, Duration flushInterval, Clock clock) {
+        this.usageRepository = usageRepository;
+        this.flushInterval = flushInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts one accepted message of the sender in the current minute.
+     *
+     * @param senderKey  E.164 key of the sender
+     * @param parts      parts the message was split into
+     * @param characters length of the message text
+     */
+    public void record(long senderKey, int parts, int characters) {
+        BucketKey key = new BucketKey(senderKey, currentMinute());
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        bucket.messages.increment();
+        bucket.parts.add(parts);
+        bucket.characters.add(characters);
+    }
+
+    /**
+     * Writes the totals of the buckets that changed since the last flush and drops old, fully flushed buckets.
+     * A failed flush leaves the buckets pending for the next one.
+     *
+     * @return the number of rows written
+     */
+    public synchronized int flush() {
+        List<SmsUsage> rows = new ArrayList<>();
+        List<Bucket> changed = new ArrayList<>();
+        List<long[]> totals = new ArrayList<>();
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            long[] total = bucket.totals();
+            if (Arrays.equals(total, bucket.flushed)) {
+                continue;
+            }
+            rows.add(SmsUsage.builder()
+                    .instanceId(instanceId)
+                    .senderKey(entry.getKey().senderKey())
+                    .bucketMinute(entry.getKey().minute())
+                    .messages(total[0])
+                    .parts(total[1])
+                    .characters(total[2])
+                    .build());
+            changed.add(bucket);
+            totals.add(total);
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, rows.size());
+            usageRepository.upsertUsage(rows.subList(from, to));
+            for (int i = from; i < to; i++) {
+                changed.get(i).flushed = totals.get(i);
+            }
+        }
+        evictFlushed();
+        if (!rows.isEmpty()) {
+            logger.debug("Flushed {} usage buckets", rows.size());
+        }
+        return rows.size();
+    }
+
+    /**
+     * Buckets held in memory, flushed or not.
+     */
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    String getInstanceId() {
+        return instanceId;
+    }
+
+    private void evictFlushed() {
+        long oldestLive = currentMinute() - RETENTION_MINUTES;
+        buckets.entrySet().removeIf(entry -> entry.getKey().minute() < oldestLive
+                && Arrays.equals(entry.getValue().totals(), entry.getValue().flushed));
+    }
+
+    private long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(clock.millis());
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sms-usage-flush").daemon().factory());
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Counting usage as instance {}", instanceId);
+    }
+
+    /**
+     * Flushes what was counted since the last flush. Runs after the web server stopped taking requests.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Usage flush failed, {} buckets stay pending", buckets.size(), e);
+        }
+    }
+
+    private record BucketKey(long senderKey, long minute) {
+    }
+
+    private static final class Bucket {
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder parts = new LongAdder();
+        private final LongAdder characters = new LongAdder();
+        private long[] flushed = new long[3];
+
+        /**
+         * The three sums are not read atomically: a send racing the flush can be counted in part, and the next
+         * flush writes the totals including the rest.
+         */
+        private long[] totals() {
+            return new long[]{messages.sum(), parts.sum(), characters.sum()};
+        }
+    }
+}
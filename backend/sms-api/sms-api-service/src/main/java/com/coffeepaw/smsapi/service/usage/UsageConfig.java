@@ -0,0 +1,27 @@
+package com.coffeepaw.smsapi.service.usage;
+
+import com.coffeepaw.smsapi.repository.SmsUsageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class UsageConfig {
+
+    @Value("${sms.usage.flush-interval:10s}")
+    private Duration flushInterval;
+
+    @Bean
+    public SmsUsageCounters smsUsageCounters(SmsUsageRepository smsUsageRepository, MeterRegistry meterRegistry) {
+        SmsUsageCounters counters = new SmsUsageCounters(smsUsageRepository, flushInterval, Clock.systemUTC());
+        Gauge.builder("sms.usage.buckets", counters, SmsUsageCounters::bucketCount)
+                .description("Sender and minute usage buckets held in memory until rolled up")
+                .register(meterRegistry);
+        return counters;
+    }
+}
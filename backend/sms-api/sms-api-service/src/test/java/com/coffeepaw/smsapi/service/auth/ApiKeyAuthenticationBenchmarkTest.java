@@ -0,0 +1,64 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.repository.ApiKeyRepository;
+import com.coffeepaw.smsapi.service.impl.ApiKeyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request authentication cost before (HTTP Basic verified with BCrypt on every call, as the prod profile
+ * did) and after (API key checked with one HMAC against the cached credential). Run with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ApiKeyAuthenticationBenchmarkTest {
+
+    private static final int BCRYPT_ROUNDS = 20;
+    private static final int API_KEY_ROUNDS = 200_000;
+
+    @Test
+    void authenticationCostPerRequest(TestReporter reporter) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        String encodedPassword = encoder.encode("password");
+        for (int i = 0; i < 3; i++) {
+            encoder.matches("password", encodedPassword);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < BCRYPT_ROUNDS; i++) {
+            assertTrue(encoder.matches("password", encodedPassword));
+        }
+        double bcryptMicros = (System.nanoTime() - start) / 1_000.0 / BCRYPT_ROUNDS;
+
+        ApiKeyRepository repository = mock(ApiKeyRepository.class);
+        when(repository.save(any(ApiKey.class))).thenAnswer(invocation -> {
+            ApiKey apiKey = invocation.getArgument(0);
+            when(repository.findByKeyId(apiKey.getKeyId())).thenReturn(Optional.of(apiKey));
+            return apiKey;
+        });
+        ApiKeyServiceImpl service = new ApiKeyServiceImpl(repository, new ApiKeyHasher("benchmark-pepper"),
+                new ApiKeyCredentialCache(1000, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        String rawKey = service.createApiKey("acme", "gold").rawKey();
+        for (int i = 0; i < 20_000; i++) {
+            service.authenticate(rawKey);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < API_KEY_ROUNDS; i++) {
+            assertTrue(service.authenticate(rawKey).isPresent());
+        }
+        double apiKeyMicros = (System.nanoTime() - start) / 1_000.0 / API_KEY_ROUNDS;
+
+        reporter.publishEntry("authentication", String.format("BCrypt %.1f us, API key %.2f us per request (%.0fx)",
+                bcryptMicros, apiKeyMicros, bcryptMicros / apiKeyMicros));
+    }
+}
@@ -0,0 +1,37 @@
+package com.coffeepaw.smsapi.service.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyConfigTest {
+
+    @Test
+    void apiKeyHasherShouldRefuseThePlaceholderPepperOutsideLocalProfiles() {
+        ApiKeyConfig config = config(ApiKeyConfig.DEV_PEPPER);
+
+        assertThrows(IllegalStateException.class, () -> config.apiKeyHasher(environment("prod", "mysql")));
+        assertThrows(IllegalStateException.class, () -> config("  ").apiKeyHasher(environment("prod")));
+        assertNotNull(config.apiKeyHasher(environment("dev", "h2")));
+        assertNotNull(config("a-real-secret").apiKeyHasher(environment("prod", "mysql")));
+    }
+
+    private static ApiKeyConfig config(String pepper) {
+        try {
+            ApiKeyConfig config = new ApiKeyConfig();
+            var field = ApiKeyConfig.class.getDeclaredField("pepper");
+            field.setAccessible(true);
+            field.set(config, pepper);
+            return config;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StandardEnvironment environment(String... profiles) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles(profiles);
+        return environment;
+    }
+}
@@ -0,0 +1,151 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import com.coffeepaw.smsapi.model.BlocklistAction;
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import com.coffeepaw.smsapi.repository.BlocklistChangeRepository;
+import com.coffeepaw.smsapi.repository.BlocklistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays an in-memory change log: {@link #commit} makes a change visible the way a database commit would,
+ * possibly after changes with higher ids.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BlocklistCacheTest {
+
+    @Mock
+    private BlocklistEntryRepository entryRepository;
+
+    @Mock
+    private BlocklistChangeRepository changeRepository;
+
+    private final List<BlocklistEntry> entries = new ArrayList<>();
+    private final List<BlocklistChange> committed = new ArrayList<>();
+    private BlocklistCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(entryRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return entries.stream().filter(entry -> entry.getId() > after).toList();
+        });
+        when(entryRepository.findNumberKeysIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> keys = invocation.getArgument(0);
+            return entries.stream().map(BlocklistEntry::getNumberKey).filter(keys::contains).toList();
+        });
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return committed.stream().filter(change -> change.getId() > after)
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId())).toList();
+        });
+        when(changeRepository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return committed.stream().filter(change -> ids.contains(change.getId())).toList();
+        });
+        when(changeRepository.findTopByOrderByIdDesc()).thenAnswer(invocation -> committed.stream()
+                .max((a, b) -> Long.compare(a.getId(), b.getId())));
+        cache = new BlocklistCache(entryRepository, changeRepository, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void loadShouldReadTheWholeBlocklist() {
+        commit(1, 100L, BlocklistAction.ADD);
+        commit(2, 200L, BlocklistAction.ADD);
+
+        cache.load();
+
+        assertTrue(cache.contains(100L));
+        assertTrue(cache.contains(200L));
+        assertFalse(cache.contains(300L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void refreshShouldApplyAdditionsAndRemovalsInOrder() {
+        commit(1, 100L, BlocklistAction.ADD);
+        cache.load();
+
+        commit(2, 200L, BlocklistAction.ADD);
+        commit(3, 100L, BlocklistAction.REMOVE);
+        commit(4, 200L, BlocklistAction.REMOVE);
+        commit(5, 200L, BlocklistAction.ADD);
+
+        assertEquals(4, cache.refresh());
+        assertFalse(cache.contains(100L));
+        assertTrue(cache.contains(200L));
+        assertEquals(0, cache.refresh());
+    }
+
+    @Test
+    void refreshShouldPickUpChangesCommittedAfterHigherIds() {
+        cache.load();
+
+        commit(2, 200L, BlocklistAction.ADD);
+        cache.refresh();
+        assertEquals(1, cache.pendingGaps());
+        assertFalse(cache.contains(100L));
+
+        commit(1, 100L, BlocklistAction.ADD);
+        assertEquals(1, cache.refresh());
+
+        assertTrue(cache.contains(100L));
+        assertTrue(cache.contains(200L));
+        assertEquals(0, cache.pendingGaps());
+    }
+
+    @Test
+    void lateChangeShouldNotUndoANewerChangeOfTheSameNumber() {
+        cache.load();
+
+        commit(2, 100L, BlocklistAction.REMOVE);
+        cache.refresh();
+        commit(1, 100L, BlocklistAction.ADD);
+        entries.removeIf(entry -> entry.getNumberKey() == 100L);
+
+        cache.refresh();
+
+        assertFalse(cache.contains(100L));
+    }
+
+    @Test
+    void loadShouldReplayRecentChangesThatWereUncommittedWhileLoading() {
+        commit(2, 200L, BlocklistAction.ADD);
+        cache.load();
+
+        commit(1, 100L, BlocklistAction.ADD);
+        cache.refresh();
+
+        assertTrue(cache.contains(100L));
+    }
+
+    private void commit(long id, long numberKey, BlocklistAction action) {
+        committed.add(new BlocklistChange(id, numberKey, action, Instant.now()));
+        if (action == BlocklistAction.ADD) {
+            entries.add(BlocklistEntry.builder().id(id).numberKey(numberKey).build());
+        } else {
+            entries.removeIf(entry -> entry.getNumberKey() == numberKey);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap needed to hold a million opted-out numbers: the primitive open-addressing set against the
+ * {@code HashSet<Long>} it replaces, and the lookup cost of both. Run with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BlocklistMemoryBenchmarkTest {
+
+    private static final int NUMBERS = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final double MIB = 1024 * 1024;
+
+    @Test
+    void millionNumbersShouldFitInAFractionOfAHashSet(TestReporter reporter) {
+        long[] keys = randomNumberKeys();
+
+        long before = usedHeap();
+        LongHashSet set = new LongHashSet();
+        for (long key : keys) {
+            set.add(key);
+        }
+        long setHeap = usedHeap() - before;
+
+        before = usedHeap();
+        Set<Long> boxed = new HashSet<>();
+        for (long key : keys) {
+            boxed.add(key);
+        }
+        long boxedHeap = usedHeap() - before;
+
+        double setLookupNanos = lookupNanos(set::contains, keys);
+        double boxedLookupNanos = lookupNanos(boxed::contains, keys);
+
+        reporter.publishEntry("blocklist", String.format("%,d numbers: LongHashSet table %.1f MiB (heap %.1f MiB), "
+                        + "HashSet<Long> heap %.1f MiB; lookup %.1f ns vs %.1f ns",
+                set.size(), set.memoryBytes() / MIB, setHeap / MIB, boxedHeap / MIB, setLookupNanos,
+                boxedLookupNanos));
+        assertTrue(set.memoryBytes() <= 16 * MIB, "Table takes " + set.memoryBytes() / MIB + " MiB per million");
+        assertEquals(boxed.size(), set.size());
+    }
+
+    private static long[] randomNumberKeys() {
+        Random random = new Random(1);
+        Set<Long> unique = new HashSet<>();
+        while (unique.size() < NUMBERS) {
+            unique.add(15_550_000_000L + random.nextInt(100_000_000));
+        }
+        return unique.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static double lookupNanos(KeyCheck check, long[] keys) {
+        Random random = new Random(2);
+        int found = 0;
+        for (int i = 0; i < LOOKUPS / 4; i++) {
+            found += check.contains(keys[random.nextInt(keys.length)] + (i & 1)) ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += check.contains(keys[random.nextInt(keys.length)] + (i & 1)) ? 1 : 0;
+        }
+        double nanos = (System.nanoTime() - start) / (double) LOOKUPS;
+        assertTrue(found > 0);
+        return nanos;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private interface KeyCheck {
+        boolean contains(long key);
+    }
+}
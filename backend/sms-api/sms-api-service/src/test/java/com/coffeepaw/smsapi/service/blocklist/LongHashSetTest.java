@@ -0,0 +1,116 @@
+package com.coffeepaw.smsapi.service.blocklist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void shouldAddContainAndRemoveKeys() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(15551234567L));
+        assertFalse(set.add(15551234567L));
+        assertTrue(set.contains(15551234567L));
+        assertFalse(set.contains(15551234568L));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(15551234567L));
+        assertFalse(set.remove(15551234567L));
+        assertFalse(set.contains(15551234567L));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void shouldRejectKeysThatCannotBeStored() {
+        LongHashSet set = new LongHashSet();
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    void shouldMatchHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(33);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            keys.add(4915100000000L + random.nextInt(1_000_000));
+        }
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long key : keys) {
+            assertEquals(expected.contains(key), set.contains(key), "Key " + key);
+        }
+    }
+
+    @Test
+    void shouldGrowAndKeepLoadBelowSeventyPercent() {
+        LongHashSet set = new LongHashSet();
+        for (long key = 1; key <= 100_000; key++) {
+            set.add(key);
+        }
+
+        assertEquals(100_000, set.size());
+        assertEquals(262_144L * Long.BYTES, set.memoryBytes());
+        for (long key = 1; key <= 100_000; key++) {
+            assertTrue(set.contains(key));
+        }
+    }
+
+    @Test
+    void readersShouldAlwaysSeeKeysThatAreNotBeingChanged() throws InterruptedException {
+        LongHashSet set = new LongHashSet();
+        for (long key = 1; key <= 10_000; key += 2) {
+            set.add(key);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                while (writing.get()) {
+                    for (long key = 1; key <= 10_000; key += 2) {
+                        if (!set.contains(key)) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            long key = 2 + 2L * random.nextInt(100_000);
+            if (!set.add(key)) {
+                set.remove(key);
+            }
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, misses.get(), "Stable keys were reported missing during concurrent writes");
+    }
+}
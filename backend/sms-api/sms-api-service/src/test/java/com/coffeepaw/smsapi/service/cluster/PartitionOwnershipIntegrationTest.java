@@ -0,0 +1,279 @@
+package com.coffeepaw.smsapi.service.cluster;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.PartitionLeaseRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import com.coffeepaw.smsapi.service.dispatch.DispatchConfig;
+import com.coffeepaw.smsapi.service.gateway.GatewayProtectionConfig;
+import com.coffeepaw.smsapi.service.gateway.SmsGateway;
+import com.coffeepaw.smsapi.service.impl.SmsDeliveryServiceImpl;
+import com.coffeepaw.smsapi.service.retry.RetryConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several nodes, each a full application context, sharing one in-memory database.
+ */
+class PartitionOwnershipIntegrationTest {
+
+    private static final int PARTITIONS = 8;
+    private static final List<Delivery> DELIVERIES = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private String databaseUrl;
+
+    @BeforeEach
+    void setUp() {
+        databaseUrl = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DELIVERIES.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void nodesShouldSplitThePartitionsAndDeliverEachSmsOnceInOrderPerRecipient() {
+        ConfigurableApplicationContext first = startNode("node-1");
+        startNode("node-2");
+        startNode("node-3");
+        awaitBalanced();
+
+        Set<Integer> owned = new HashSet<>();
+        for (ConfigurableApplicationContext node : nodes) {
+            Set<Integer> partitions = ownership(node).ownedPartitions().keySet();
+            assertTrue(partitions.size() <= 3, "Node owns " + partitions);
+            partitions.forEach(partitionId -> assertTrue(owned.add(partitionId), "Partition owned twice"));
+        }
+        assertEquals(PARTITIONS, owned.size());
+
+        List<Long> recipients = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            recipients.add(447911000000L + i * 7919L);
+        }
+        int count = 400;
+        for (int i = 0; i < count; i++) {
+            // accepted by any node, delivered by the owner of the recipient's partition
+            queue(nodes.get(i % nodes.size()), recipients.get(i % recipients.size()));
+        }
+
+        await(() -> DELIVERIES.size() >= count, Duration.ofSeconds(30));
+        await(() -> countSent(first) == count, Duration.ofSeconds(5));
+
+        Map<Long, Long> lastIdByRecipient = new HashMap<>();
+        Set<Long> delivered = new HashSet<>();
+        synchronized (DELIVERIES) {
+            assertEquals(count, DELIVERIES.size());
+            for (Delivery delivery : DELIVERIES) {
+                assertTrue(delivered.add(delivery.smsId()), "SMS " + delivery.smsId() + " delivered twice");
+                Long previous = lastIdByRecipient.put(delivery.toKey(), delivery.smsId());
+                assertTrue(previous == null || previous < delivery.smsId(),
+                        "SMS " + delivery.smsId() + " to " + delivery.toKey() + " overtook " + previous);
+            }
+            Map<Long, Set<String>> nodesByRecipient = new HashMap<>();
+            DELIVERIES.forEach(delivery -> nodesByRecipient.computeIfAbsent(delivery.toKey(), key -> new HashSet<>())
+                    .add(delivery.node()));
+            nodesByRecipient.forEach((toKey, senders) -> assertEquals(1, senders.size(), toKey + " sent by " + senders));
+        }
+    }
+
+    @Test
+    void partitionsShouldMoveToJoiningNodesAndBeTakenOverFromLeavingNodes() {
+        ConfigurableApplicationContext first = startNode("node-1");
+        assertEquals(PARTITIONS, ownership(first).ownedPartitions().size());
+
+        ConfigurableApplicationContext second = startNode("node-2");
+        awaitBalanced();
+        assertEquals(PARTITIONS / 2, ownership(first).ownedPartitions().size());
+        assertEquals(PARTITIONS / 2, ownership(second).ownedPartitions().size());
+
+        queue(second, 447911123456L);
+        queue(second, 4915112345678L);
+
+        nodes.remove(first);
+        first.close();
+        await(() -> ownership(second).ownedPartitions().size() == PARTITIONS, Duration.ofSeconds(5));
+        await(() -> countSent(second) == 2, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void staleOwnerShouldBeFencedOffOnceItsPartitionWasTakenOver() {
+        ConfigurableApplicationContext node = startNode("node-1");
+        node.getBean(PartitionedDeliveryWorker.class).stop();
+        PartitionOwnership ownership = ownership(node);
+        PartitionLeaseRepository leaseRepository = node.getBean(PartitionLeaseRepository.class);
+        SmsRepository smsRepository = node.getBean(SmsRepository.class);
+
+        Sms claimed = queue(node, 447911123456L);
+        Sms waiting = queue(node, 447911123456L);
+        int partitionId = claimed.getPartitionId();
+        long staleToken = ownership.ownedPartitions().get(partitionId);
+        assertTrue(ownership.claim(claimed));
+
+        // another node takes the partition over, as if the lease of this one had expired unnoticed
+        assertEquals(1, leaseRepository.claim(partitionId, "other-node", Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(1, smsRepository.claim(claimed.getId(), "other-node", staleToken + 1, System.currentTimeMillis(),
+                SmsStatus.QUEUED, SmsStatus.SENDING));
+
+        assertEquals(0, smsRepository.claim(waiting.getId(), ownership.getNodeId(), staleToken,
+                System.currentTimeMillis(), SmsStatus.QUEUED, SmsStatus.SENDING));
+        assertEquals(0, smsRepository.updateClaimedStatus(claimed.getId(), staleToken, SmsStatus.SENT));
+        assertEquals(SmsStatus.SENDING, smsRepository.findById(claimed.getId()).orElseThrow().getStatus());
+
+        ownership.rebalance();
+        assertFalse(ownership.ownedPartitions().containsKey(partitionId));
+        assertFalse(ownership.claim(waiting));
+    }
+
+    @Test
+    void recipientWithABacklogLargerThanAPollShouldNotStarveTheOthers() {
+        ConfigurableApplicationContext node = startNode("node-1", "sms.cluster.poll-batch=10");
+        PartitionedDeliveryWorker worker = node.getBean(PartitionedDeliveryWorker.class);
+        worker.stop();
+        for (int i = 0; i < 25; i++) {
+            queue(node, 447911123456L);
+        }
+        Sms other = queue(node, 4915112345678L);
+
+        assertEquals(2, worker.pollOnce().started());
+        await(() -> DELIVERIES.stream().anyMatch(delivery -> delivery.smsId() == other.getId()),
+                Duration.ofSeconds(5));
+    }
+
+    private ConfigurableApplicationContext startNode(String name, String... properties) {
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(ClusterNode.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=" + databaseUrl,
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.liquibase.change-log=classpath:db/changelog/db.changelog-master.yaml",
+                        "logging.level.root=WARN",
+                        "sms.node.name=" + name,
+                        "sms.cluster.enabled=true",
+                        "sms.cluster.partitions=" + PARTITIONS,
+                        "sms.cluster.lease-duration=2s",
+                        "sms.cluster.heartbeat-interval=100ms",
+                        "sms.cluster.poll-interval=50ms")
+                .run();
+        nodes.add(node);
+        return node;
+    }
+
+    private Sms queue(ConfigurableApplicationContext node, long toKey) {
+        Sms sms = node.getBean(SmsRepository.class).save(Sms.builder()
+                .to("+" + toKey)
+                .toKey(toKey)
+                .from("+15551234567")
+                .fromKey(15551234567L)
+                .priority(SmsPriority.NORMAL)
+                .status(SmsStatus.QUEUED)
+                .partitionId(ownership(node).partitionOf(toKey))
+                .content(List.of("Hello"))
+                .build());
+        node.getBean(SmsDeliveryService.class).deliver(sms);
+        return sms;
+    }
+
+    private void awaitBalanced() {
+        int share = (PARTITIONS + nodes.size() - 1) / nodes.size();
+        await(() -> {
+            int total = 0;
+            for (ConfigurableApplicationContext node : nodes) {
+                int owned = ownership(node).ownedPartitions().size();
+                if (owned == 0 || owned > share) {
+                    return false;
+                }
+                total += owned;
+            }
+            return total == PARTITIONS;
+        }, Duration.ofSeconds(10));
+    }
+
+    private static long countSent(ConfigurableApplicationContext node) {
+        return node.getBean(SmsRepository.class).findAll().stream()
+                .filter(sms -> sms.getStatus() == SmsStatus.SENT)
+                .count();
+    }
+
+    private static PartitionOwnership ownership(ConfigurableApplicationContext node) {
+        return node.getBean(PartitionOwnership.class);
+    }
+
+    private static void await(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private record Delivery(String node, long toKey, long smsId) {
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories(basePackageClasses = SmsRepository.class)
+    @EntityScan(basePackageClasses = Sms.class)
+    @Import({ClusterConfig.class, DispatchConfig.class, GatewayProtectionConfig.class, RetryConfig.class,
+            SmsDeliveryServiceImpl.class})
+    static class ClusterNode {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        SmsGateway smsGateway(@Value("${sms.node.name}") String name) {
+            return sms -> {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                DELIVERIES.add(new Delivery(name, sms.getToKey(), sms.getId()));
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.coffeepaw.smsapi.service.cluster;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PartitionedDeliveryWorkerTest {
+
+    private PartitionOwnership ownership;
+    private SmsRepository smsRepository;
+    private SmsDeliveryService smsDeliveryService;
+    private PartitionedDeliveryWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        ownership = mock(PartitionOwnership.class);
+        smsRepository = mock(SmsRepository.class);
+        smsDeliveryService = mock(SmsDeliveryService.class);
+        worker = new PartitionedDeliveryWorker(ownership, smsRepository, smsDeliveryService, Duration.ofMillis(250),
+                1000);
+        when(ownership.ownedPartitions()).thenReturn(Map.of(1, 7L));
+        when(ownership.claim(any())).thenAnswer(invocation -> {
+            invocation.<Sms>getArgument(0).setClaimToken(7L);
+            return true;
+        });
+        when(smsRepository.findNextPerRecipient(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(queued(1, 100), queued(2, 200), queued(3, 300)));
+        when(smsRepository.findWithContentById(any())).thenAnswer(invocation ->
+                Optional.of(queued(invocation.getArgument(0), 0)));
+    }
+
+    @Test
+    void pollOnceShouldStartTheOldestMessageOfEveryRecipient() {
+        when(smsDeliveryService.deliverClaimed(any())).thenReturn(true);
+
+        assertEquals(new PartitionedDeliveryWorker.PollResult(3, false), worker.pollOnce());
+        verify(smsDeliveryService, times(3)).deliverClaimed(any());
+    }
+
+    @Test
+    void pollOnceShouldStopAtTheFirstMessageOfASaturatedLane() {
+        when(smsDeliveryService.deliverClaimed(any())).thenReturn(true, false);
+
+        assertEquals(new PartitionedDeliveryWorker.PollResult(1, true), worker.pollOnce());
+        verify(smsDeliveryService, times(2)).deliverClaimed(any());
+        verify(smsRepository, times(2)).findWithContentById(any());
+        verify(ownership, times(2)).claim(any());
+    }
+
+    private static Sms queued(long id, long toKey) {
+        return Sms.builder().id(id).toKey(toKey).partitionId(1).status(SmsStatus.QUEUED).build();
+    }
+}
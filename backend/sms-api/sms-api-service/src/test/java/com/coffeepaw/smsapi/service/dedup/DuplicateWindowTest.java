@@ -0,0 +1,135 @@
+package com.coffeepaw.smsapi.service.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateWindowTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final Clock clock = new Clock() {
+        @Override
+        public long millis() {
+            return now.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    };
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void isRepeatShouldCatchTheSameTextToTheSameRecipientOnly() {
+        DuplicateWindow window = window(1000);
+
+        assertFalse(window.isRepeat(447911123456L, "Your code is 1234"));
+        assertTrue(window.isRepeat(447911123456L, "Your code is 1234"));
+        assertFalse(window.isRepeat(447911123456L, "Your code is 1235"));
+        assertFalse(window.isRepeat(447911123457L, "Your code is 1234"));
+
+        assertEquals(3, window.size());
+        assertEquals(1, meterRegistry.get("sms.dedup.suppressed").counter().count());
+    }
+
+    @Test
+    void isRepeatShouldForgetTextsOnceTheWindowPassed() {
+        DuplicateWindow window = window(1000);
+        window.isRepeat(447911123456L, "Hello");
+
+        now.addAndGet(49_000);
+        assertTrue(window.isRepeat(447911123456L, "Hello"));
+
+        now.addAndGet(11_000);
+        assertFalse(window.isRepeat(447911123456L, "Hello"));
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void forgetShouldLetAFailedSendBeRetried() {
+        DuplicateWindow window = window(1000);
+        for (int i = 0; i < 100; i++) {
+            window.isRepeat(447911000000L + i, "Hello");
+        }
+
+        window.forget(447911000042L, "Hello");
+
+        assertFalse(window.isRepeat(447911000042L, "Hello"));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(window.isRepeat(447911000000L + i, "Hello"), "Lost " + i);
+        }
+    }
+
+    @Test
+    void fullSlotShouldStopRememberingInsteadOfGrowing() {
+        DuplicateWindow window = window(60);
+
+        for (int i = 0; i < 20; i++) {
+            assertFalse(window.isRepeat(447911000000L + i, "Hello"));
+        }
+
+        assertEquals(10, window.size());
+        assertEquals(10, meterRegistry.get("sms.dedup.overflow").counter().count());
+        assertFalse(window.isRepeat(447911000015L, "Hello"));
+    }
+
+    @Test
+    void disabledWindowShouldLetRepeatsThrough() {
+        DuplicateWindow window = new DuplicateWindow(false, Duration.ofMinutes(1), 6, 1000, clock, meterRegistry);
+
+        assertFalse(window.isRepeat(447911123456L, "Your code is 1234"));
+        assertFalse(window.isRepeat(447911123456L, "Your code is 1234"));
+
+        assertEquals(0, window.size());
+        assertEquals(0, window.memoryBytes());
+    }
+
+    @Test
+    void memoryShouldStayBoundedUnderMillionsOfRecipientsPerHour() {
+        DuplicateWindow window = window(200_000);
+        long memory = window.memoryBytes();
+        int perSecond = 1000;
+
+        int recipients = 0;
+        for (int second = 0; second < 3600; second++) {
+            for (int i = 0; i < perSecond; i++) {
+                window.isRepeat(447000000000L + recipients++, "Your order has shipped");
+            }
+            now.addAndGet(1000);
+        }
+
+        assertEquals(memory, window.memoryBytes());
+        assertTrue(window.size() <= 60 * perSecond, "Remembered " + window.size());
+        assertEquals(0, meterRegistry.get("sms.dedup.overflow").counter().count());
+        assertEquals(0, meterRegistry.get("sms.dedup.suppressed").counter().count());
+    }
+
+    private DuplicateWindow window(int maxEntries) {
+        return new DuplicateWindow(true, Duration.ofMinutes(1), 6, maxEntries, clock, meterRegistry);
+    }
+}
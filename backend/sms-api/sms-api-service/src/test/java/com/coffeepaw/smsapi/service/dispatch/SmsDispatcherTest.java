@@ -0,0 +1,215 @@
+package com.coffeepaw.smsapi.service.dispatch;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.gateway.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsDispatcherTest {
+
+    private static final long HIGH_LANE_P99_SLO_MILLIS = 50;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMillis(500);
+
+    private SimpleMeterRegistry meterRegistry;
+    private SmsDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new SmsDispatcher(Map.of(
+                SmsPriority.HIGH, new LaneSettings(8, 4, 1000),
+                SmsPriority.NORMAL, new LaneSettings(4, 4, 1000),
+                SmsPriority.LOW, new LaneSettings(1, 4, 100_000)
+        ), new AdaptiveConcurrencyLimiter(100, 1, 100, Duration.ofSeconds(1), 0.9), DRAIN_TIMEOUT, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void highLaneShouldHoldLatencySloUnderSaturatingLowLaneLoad() throws InterruptedException {
+        for (int i = 0; i < 20_000; i++) {
+            dispatcher.dispatch(SmsPriority.LOW, () -> sleep(2));
+        }
+
+        int highRequests = 200;
+        long[] waitNanos = new long[highRequests];
+        CountDownLatch highDone = new CountDownLatch(highRequests);
+        for (int i = 0; i < highRequests; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            dispatcher.dispatch(SmsPriority.HIGH, () -> {
+                waitNanos[index] = System.nanoTime() - submittedAt;
+                sleep(2);
+                highDone.countDown();
+            });
+            sleep(3);
+        }
+
+        assertTrue(highDone.await(10, TimeUnit.SECONDS), "High lane deliveries did not complete");
+        assertTrue(dispatcher.queueDepth(SmsPriority.LOW) > 0, "Low lane was not saturated during the test");
+
+        Arrays.sort(waitNanos);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(waitNanos[(int) (highRequests * 0.99) - 1]);
+        assertTrue(p99Millis <= HIGH_LANE_P99_SLO_MILLIS,
+                "High lane p99 queue wait " + p99Millis + "ms exceeds " + HIGH_LANE_P99_SLO_MILLIS + "ms");
+    }
+
+    @Test
+    void laneShouldNeverExceedItsConcurrencyLimit() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(SmsPriority.LOW, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(1);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 4, "Low lane ran " + maxRunning.get() + " deliveries at once");
+    }
+
+    @Test
+    void dispatchShouldRejectWhenLaneIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            dispatcher.dispatch(SmsPriority.NORMAL, () -> await(release));
+        }
+        waitUntil(() -> dispatcher.inFlight(SmsPriority.NORMAL) == 4);
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.dispatch(SmsPriority.NORMAL, () -> {
+            });
+        }
+
+        assertThrows(LaneSaturatedException.class, () -> dispatcher.dispatch(SmsPriority.NORMAL, () -> {
+        }));
+        assertEquals(1000, meterRegistry.get("sms.dispatch.queue.depth").tag("lane", "normal").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void dispatchShouldUseNormalLaneWhenPriorityIsMissing() {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(null, () -> await(release));
+
+        waitUntil(() -> dispatcher.inFlight(SmsPriority.NORMAL) == 1);
+        release.countDown();
+    }
+
+    @Test
+    void dispatchShouldRejectWhenStopped() {
+        dispatcher.stop();
+
+        assertThrows(LaneSaturatedException.class, () -> dispatcher.dispatch(SmsPriority.HIGH, () -> {
+        }));
+    }
+
+    @Test
+    void stopShouldDrainQueuedAndRunningDeliveries() {
+        AtomicInteger delivered = new AtomicInteger();
+        for (int i = 0; i < 40; i++) {
+            dispatcher.dispatch(SmsPriority.values()[i % 3], () -> {
+                sleep(5);
+                delivered.incrementAndGet();
+            });
+        }
+
+        dispatcher.stop();
+
+        assertEquals(40, delivered.get());
+        assertFalse(dispatcher.isRunning());
+    }
+
+    @Test
+    void stopShouldDropWhatIsStillQueuedAtTheDrainTimeout() {
+        AtomicInteger delivered = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.dispatch(SmsPriority.LOW, () -> {
+                sleep(20);
+                delivered.incrementAndGet();
+            });
+        }
+
+        long start = System.nanoTime();
+        dispatcher.stop();
+        long stopMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(stopMillis < DRAIN_TIMEOUT.toMillis() + 300, "Stop took " + stopMillis + " ms");
+        assertTrue(delivered.get() > 0 && delivered.get() < 1000, delivered.get() + " deliveries ran");
+        assertEquals(0, dispatcher.queueDepth(SmsPriority.LOW));
+    }
+
+    @Test
+    void dispatchShouldNotExceedGatewayConcurrencyLimitAcrossLanes() throws InterruptedException {
+        dispatcher.stop();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 3, Duration.ofSeconds(1), 0.9);
+        dispatcher = new SmsDispatcher(Map.of(
+                SmsPriority.HIGH, new LaneSettings(8, 4, 1000),
+                SmsPriority.NORMAL, new LaneSettings(4, 4, 1000),
+                SmsPriority.LOW, new LaneSettings(1, 4, 1000)
+        ), limiter, DRAIN_TIMEOUT, new SimpleMeterRegistry());
+        dispatcher.start();
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(90);
+        for (int i = 0; i < 90; i++) {
+            dispatcher.dispatch(SmsPriority.values()[i % 3], () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(1);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 3, "Ran " + maxRunning.get() + " deliveries at once");
+        waitUntil(() -> limiter.getInFlight() == 0);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
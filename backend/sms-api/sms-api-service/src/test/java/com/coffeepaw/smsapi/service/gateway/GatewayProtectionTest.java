@@ -0,0 +1,142 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsDeadLetterRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.cluster.PartitionOwnership;
+import com.coffeepaw.smsapi.service.dispatch.LaneSettings;
+import com.coffeepaw.smsapi.service.dispatch.SmsDispatcher;
+import com.coffeepaw.smsapi.service.impl.SmsDeliveryServiceImpl;
+import com.coffeepaw.smsapi.service.retry.RetryBudget;
+import com.coffeepaw.smsapi.service.retry.RetryPolicies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the delivery path with a gateway whose latency and failures are injected, checking how the
+ * circuit breaker and the adaptive concurrency limit react. Retries are disabled so every delivery ends
+ * either sent or dead-lettered.
+ */
+class GatewayProtectionTest {
+
+    private final AtomicReference<CountDownLatch> completions = new AtomicReference<>();
+
+    private LatencyInjectingSmsGateway gateway;
+    private CircuitBreaker circuitBreaker;
+    private AdaptiveConcurrencyLimiter limiter;
+    private SmsDispatcher dispatcher;
+    private ScheduledExecutorService retryScheduler;
+    private SmsRepository smsRepository;
+    private SmsDeadLetterRepository deadLetterRepository;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new LatencyInjectingSmsGateway();
+        retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        smsRepository = mock(SmsRepository.class);
+        deadLetterRepository = mock(SmsDeadLetterRepository.class);
+        when(smsRepository.updateStatus(anyLong(), eq(SmsStatus.SENT))).thenAnswer(invocation -> {
+            completions.get().countDown();
+            return 1;
+        });
+        when(deadLetterRepository.save(any(SmsDeadLetter.class))).thenAnswer(invocation -> {
+            completions.get().countDown();
+            return invocation.getArgument(0);
+        });
+        circuitBreaker = new CircuitBreaker(20, 10, 50, 50, Duration.ofMillis(30), Duration.ofMillis(200), 3);
+        limiter = new AdaptiveConcurrencyLimiter(16, 2, 64, Duration.ofMillis(30), 0.8);
+        dispatcher = new SmsDispatcher(Map.of(
+                SmsPriority.HIGH, new LaneSettings(8, 64, 10_000),
+                SmsPriority.NORMAL, new LaneSettings(4, 64, 10_000),
+                SmsPriority.LOW, new LaneSettings(1, 64, 10_000)
+        ), limiter, Duration.ofMillis(500), new SimpleMeterRegistry());
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+        retryScheduler.shutdownNow();
+    }
+
+    @Test
+    void slowGatewayShouldOpenCircuitAndHalfOpenProbesShouldCloseIt() throws InterruptedException {
+        gateway.setLatencyMillis(50);
+        sendBatch(20);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isOpen());
+
+        int callsWhileOpen = gateway.getCalls();
+        sendBatch(20);
+        assertEquals(callsWhileOpen, gateway.getCalls(), "Gateway was called while the circuit was open");
+
+        gateway.setLatencyMillis(0);
+        Thread.sleep(250);
+        sendBatch(3);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void failingProbeShouldReopenCircuit() throws InterruptedException {
+        gateway.setFailing(true);
+        sendBatch(10);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(250);
+        sendBatch(1);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isOpen());
+    }
+
+    @Test
+    void concurrencyLimitShouldShrinkWhenGatewaySlowsDownAndRecoverWhenItSpeedsUp() throws InterruptedException {
+        circuitBreaker = new CircuitBreaker(20, 20, 100, 100, Duration.ofSeconds(10), Duration.ofSeconds(1), 1);
+
+        gateway.setLatencyMillis(40);
+        sendBatch(100);
+        int degradedLimit = limiter.getLimit();
+        assertTrue(degradedLimit < 16, "Limit did not shrink: " + degradedLimit);
+
+        gateway.setLatencyMillis(1);
+        sendBatch(2000);
+        assertTrue(limiter.getLimit() > degradedLimit,
+                "Limit did not recover: " + limiter.getLimit() + " <= " + degradedLimit);
+    }
+
+    private void sendBatch(int count) throws InterruptedException {
+        SmsDeliveryServiceImpl deliveryService = new SmsDeliveryServiceImpl(dispatcher, gateway, circuitBreaker, limiter,
+                smsRepository, deadLetterRepository, new RetryPolicies(), new RetryBudget(1, 1), retryScheduler,
+                mock(PartitionOwnership.class), new SimpleMeterRegistry());
+        CountDownLatch done = new CountDownLatch(count);
+        completions.set(done);
+        for (int i = 0; i < count; i++) {
+            deliveryService.deliver(Sms.builder()
+                    .id((long) i)
+                    .to("+1234567890")
+                    .priority(SmsPriority.NORMAL)
+                    .content(List.of("Hello"))
+                    .build());
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "Deliveries did not complete");
+    }
+}
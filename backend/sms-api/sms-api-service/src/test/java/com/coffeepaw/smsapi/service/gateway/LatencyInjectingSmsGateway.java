@@ -0,0 +1,42 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake gateway whose latency and failures can be changed while a test runs.
+ */
+class LatencyInjectingSmsGateway implements SmsGateway {
+
+    private volatile long latencyMillis;
+    private volatile boolean failing;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    int getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public void send(Sms sms) {
+        calls.incrementAndGet();
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failing) {
+            throw new IllegalStateException("Injected gateway failure");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.coffeepaw.smsapi.service.gateway;
+
+import com.coffeepaw.smsapi.model.Sms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedSmsGatewayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendShouldTakeTheConfiguredLatencyForEveryPart() {
+        SimulatedSmsGateway gateway = new SimulatedSmsGateway(Duration.ofMillis(30), Duration.ZERO, 0, meterRegistry);
+
+        long start = System.nanoTime();
+        gateway.send(sms("first part", "second part", "third part"));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis >= 90, "Three parts took " + elapsedMillis + " ms");
+        assertEquals(1, meterRegistry.get("sms.gateway.simulator.calls").tag("outcome", "sent").counter().count());
+    }
+
+    @Test
+    void sendShouldFailAtTheConfiguredRate() {
+        SimulatedSmsGateway gateway = new SimulatedSmsGateway(Duration.ZERO, Duration.ZERO, 25, meterRegistry);
+
+        int failures = 0;
+        for (int i = 0; i < 10_000; i++) {
+            try {
+                gateway.send(sms("Hello"));
+            } catch (IllegalStateException e) {
+                failures++;
+            }
+        }
+
+        assertTrue(failures > 2_000 && failures < 3_000, failures + " of 10000 calls failed");
+        assertEquals(failures, meterRegistry.get("sms.gateway.simulator.calls").tag("outcome", "failed").counter()
+                .count());
+    }
+
+    @Test
+    void constructorShouldRejectSettingsOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulatedSmsGateway(Duration.ofMillis(10), Duration.ofMillis(20), 0, meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulatedSmsGateway(Duration.ofMillis(10), Duration.ZERO, 101, meterRegistry));
+    }
+
+    private static Sms sms(String... parts) {
+        return Sms.builder().to("+447911123456").from("+15551234567").content(List.of(parts)).build();
+    }
+}
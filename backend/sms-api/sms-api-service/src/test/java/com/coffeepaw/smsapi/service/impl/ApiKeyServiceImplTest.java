@@ -0,0 +1,162 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.ApiKey;
+import com.coffeepaw.smsapi.repository.ApiKeyRepository;
+import com.coffeepaw.smsapi.service.auth.ApiKeyCredentialCache;
+import com.coffeepaw.smsapi.service.auth.ApiKeyHasher;
+import com.coffeepaw.smsapi.service.auth.ApiKeyPrincipal;
+import com.coffeepaw.smsapi.service.auth.IssuedApiKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ApiKeyServiceImplTest {
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @Captor
+    private ArgumentCaptor<ApiKey> apiKeyCaptor;
+
+    private final ApiKeyHasher hasher = new ApiKeyHasher("test-pepper");
+    private SimpleMeterRegistry meterRegistry;
+    private ApiKeyServiceImpl apiKeyService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        apiKeyService = service(new ApiKeyCredentialCache(100, 10, Duration.ofMinutes(1)));
+        when(apiKeyRepository.save(any(ApiKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private ApiKeyServiceImpl service(ApiKeyCredentialCache cache) {
+        return new ApiKeyServiceImpl(apiKeyRepository, hasher, cache, meterRegistry);
+    }
+
+    private String issueKey() {
+        IssuedApiKey issued = apiKeyService.createApiKey("acme", "gold");
+        verify(apiKeyRepository).save(apiKeyCaptor.capture());
+        when(apiKeyRepository.findByKeyId(issued.apiKey().getKeyId())).thenReturn(Optional.of(apiKeyCaptor.getValue()));
+        return issued.rawKey();
+    }
+
+    @Test
+    void createApiKey_shouldStoreOnlyKeyedHashOfSecret() {
+        IssuedApiKey issued = apiKeyService.createApiKey("acme", "gold");
+
+        verify(apiKeyRepository).save(apiKeyCaptor.capture());
+        ApiKey stored = apiKeyCaptor.getValue();
+        String secret = issued.rawKey().substring(issued.rawKey().indexOf('.') + 1);
+        assertEquals(stored.getKeyId() + "." + secret, issued.rawKey());
+        assertFalse(stored.getSecretHash().contains(secret));
+        assertEquals(hasher.hashHex(secret), stored.getSecretHash());
+        assertEquals("acme", stored.getTenant());
+        assertEquals("gold", stored.getRateTier());
+    }
+
+    @Test
+    void authenticate_shouldAcceptValidKeyAndLoadMetadataOnce() {
+        String rawKey = issueKey();
+
+        for (int i = 0; i < 10; i++) {
+            Optional<ApiKeyPrincipal> principal = apiKeyService.authenticate(rawKey);
+            assertTrue(principal.isPresent());
+            assertEquals("acme", principal.get().tenant());
+            assertEquals("gold", principal.get().rateTier());
+        }
+
+        verify(apiKeyRepository, times(1)).findByKeyId(any());
+        assertEquals(10, meterRegistry.get("sms.auth.api-key").tag("result", "accepted").counter().count());
+        assertEquals(1, meterRegistry.counter("sms.auth.api-key.cache.misses").count());
+    }
+
+    @Test
+    void authenticate_shouldRejectWrongSecretMalformedAndUnknownKeys() {
+        String rawKey = issueKey();
+        String keyId = rawKey.substring(0, rawKey.indexOf('.'));
+
+        assertTrue(apiKeyService.authenticate(keyId + ".wrong-secret").isEmpty());
+        assertTrue(apiKeyService.authenticate("no-separator").isEmpty());
+        assertTrue(apiKeyService.authenticate(keyId + ".").isEmpty());
+        assertTrue(apiKeyService.authenticate(null).isEmpty());
+        assertTrue(apiKeyService.authenticate("unknown.secret").isEmpty());
+        assertTrue(apiKeyService.authenticate("unknown.secret").isEmpty());
+
+        verify(apiKeyRepository, times(1)).findByKeyId("unknown");
+        assertEquals(6, meterRegistry.get("sms.auth.api-key").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void revokeApiKey_shouldRejectKeyImmediatelyOnThisNode() {
+        String rawKey = issueKey();
+        assertTrue(apiKeyService.authenticate(rawKey).isPresent());
+
+        apiKeyService.revokeApiKey(rawKey.substring(0, rawKey.indexOf('.')));
+
+        assertNotNull(apiKeyCaptor.getValue().getRevokedAt());
+        assertTrue(apiKeyService.authenticate(rawKey).isEmpty());
+    }
+
+    @Test
+    void revokeApiKey_shouldFailForUnknownKey() {
+        assertThrows(IllegalArgumentException.class, () -> apiKeyService.revokeApiKey("unknown"));
+    }
+
+    @Test
+    void authenticate_shouldSeeRevocationFromAnotherNodeAfterCacheTtl() throws InterruptedException {
+        apiKeyService = service(new ApiKeyCredentialCache(100, 10, Duration.ofMillis(50)));
+        String rawKey = issueKey();
+        assertTrue(apiKeyService.authenticate(rawKey).isPresent());
+
+        apiKeyCaptor.getValue().setRevokedAt(Instant.now());
+        assertTrue(apiKeyService.authenticate(rawKey).isPresent(), "Cached credential should still be used");
+
+        Thread.sleep(60);
+        assertTrue(apiKeyService.authenticate(rawKey).isEmpty());
+    }
+
+    @Test
+    void credentialCache_shouldEvictLeastRecentlyUsedBeyondMaxSize() {
+        ApiKeyCredentialCache cache = new ApiKeyCredentialCache(10, 2, Duration.ofMinutes(1));
+        cache.put("a", ApiKeyCredentialCache.Entry.invalid());
+        cache.put("b", ApiKeyCredentialCache.Entry.invalid());
+        cache.get("a");
+        cache.put("c", ApiKeyCredentialCache.Entry.invalid());
+
+        assertEquals(2, cache.missSize());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void credentialCache_shouldKeepValidCredentialsWhileMissesChurn() {
+        ApiKeyCredentialCache cache = new ApiKeyCredentialCache(2, 2, Duration.ofMinutes(1));
+        cache.put("valid", ApiKeyCredentialCache.Entry.valid(new byte[32],
+                new ApiKeyPrincipal("valid", "acme", "standard")));
+        for (int i = 0; i < 100; i++) {
+            cache.put("unknown-" + i, ApiKeyCredentialCache.Entry.invalid());
+        }
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.missSize());
+        assertTrue(cache.get("valid").isValid());
+    }
+}
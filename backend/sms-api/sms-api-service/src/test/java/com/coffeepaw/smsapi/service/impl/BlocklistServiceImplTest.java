@@ -0,0 +1,132 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.BlocklistAction;
+import com.coffeepaw.smsapi.model.BlocklistChange;
+import com.coffeepaw.smsapi.model.BlocklistEntry;
+import com.coffeepaw.smsapi.model.dto.BlocklistImportResultDto;
+import com.coffeepaw.smsapi.repository.BlocklistChangeRepository;
+import com.coffeepaw.smsapi.repository.BlocklistEntryRepository;
+import com.coffeepaw.smsapi.service.blocklist.BlocklistCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BlocklistServiceImplTest {
+
+    @Mock
+    private BlocklistEntryRepository entryRepository;
+
+    @Mock
+    private BlocklistChangeRepository changeRepository;
+
+    @Mock
+    private BlocklistCache blocklistCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<List<BlocklistEntry>> entriesCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<BlocklistChange>> changesCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlocklistServiceImpl blocklistService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        blocklistService = new BlocklistServiceImpl(entryRepository, changeRepository, blocklistCache, entityManager,
+                meterRegistry);
+    }
+
+    @Test
+    void isBlocked_shouldCheckTheCacheAndCountSuppressions() {
+        when(blocklistCache.contains(15551234567L)).thenReturn(true);
+
+        assertTrue(blocklistService.isBlocked(15551234567L));
+        assertFalse(blocklistService.isBlocked(15551234568L));
+        assertEquals(1, meterRegistry.counter("sms.blocklist.suppressed").count());
+        verifyNoInteractions(entryRepository, changeRepository);
+    }
+
+    @Test
+    void importNumbers_shouldStoreNewNumbersWithAChangeAndRefreshTheCache() {
+        when(entryRepository.findNumberKeysIn(anyCollection())).thenReturn(List.of(15551234567L));
+
+        BlocklistImportResultDto result = blocklistService.importNumbers(
+                List.of("+1 555 123 4567", "+15559876543", "(+1) 555-987-6543", "unsubscribe"), "STOP keyword");
+
+        assertEquals(1, result.getAdded());
+        assertEquals(1, result.getAlreadyBlocked());
+        assertEquals(List.of("unsubscribe"), result.getInvalid());
+        verify(entryRepository).saveAll(entriesCaptor.capture());
+        verify(changeRepository).saveAll(changesCaptor.capture());
+        BlocklistEntry entry = entriesCaptor.getValue().getFirst();
+        assertEquals(15559876543L, entry.getNumberKey());
+        assertEquals("STOP keyword", entry.getReason());
+        BlocklistChange change = changesCaptor.getValue().getFirst();
+        assertEquals(15559876543L, change.getNumberKey());
+        assertEquals(BlocklistAction.ADD, change.getAction());
+        verify(blocklistCache).refresh();
+    }
+
+    @Test
+    void importNumbers_shouldWriteLargeImportsInBatchesAndClearThePersistenceContextAfterEach() {
+        List<String> numbers = IntStream.range(0, 2_500).mapToObj(i -> "+1555" + (1_000_000 + i)).toList();
+
+        BlocklistImportResultDto result = blocklistService.importNumbers(numbers, "bulk");
+
+        assertEquals(2_500, result.getAdded());
+        verify(entryRepository, times(3)).saveAll(entriesCaptor.capture());
+        assertEquals(List.of(1_000, 1_000, 500), entriesCaptor.getAllValues().stream().map(List::size).toList());
+        var order = inOrder(entryRepository, changeRepository, entityManager);
+        for (int batch = 0; batch < 3; batch++) {
+            order.verify(entryRepository).saveAll(anyList());
+            order.verify(changeRepository).saveAll(anyList());
+            order.verify(entityManager).flush();
+            order.verify(entityManager).clear();
+        }
+    }
+
+    @Test
+    void removeNumber_shouldDeleteTheEntryAndLogARemoval() {
+        BlocklistEntry entry = BlocklistEntry.builder().id(1L).numberKey(15551234567L).build();
+        when(entryRepository.findByNumberKey(15551234567L)).thenReturn(Optional.of(entry));
+
+        blocklistService.removeNumber("+15551234567");
+
+        verify(entryRepository).delete(entry);
+        verify(changeRepository).save(argThat(change -> change.getAction() == BlocklistAction.REMOVE
+                && change.getNumberKey() == 15551234567L));
+        verify(blocklistCache).refresh();
+    }
+
+    @Test
+    void removeNumber_shouldRejectNumbersThatAreNotBlocklisted() {
+        when(entryRepository.findByNumberKey(15551234567L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> blocklistService.removeNumber("+15551234567"));
+        verifyNoInteractions(changeRepository);
+    }
+}
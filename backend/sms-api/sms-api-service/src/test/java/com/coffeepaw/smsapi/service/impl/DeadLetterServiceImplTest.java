@@ -0,0 +1,98 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsDeadLetterRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.DeadLetterService;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DeadLetterServiceImplTest {
+
+    @Mock
+    private SmsDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private SmsRepository smsRepository;
+
+    @Mock
+    private SmsDeliveryService smsDeliveryService;
+
+    private DeadLetterServiceImpl deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterService = new DeadLetterServiceImpl(deadLetterRepository, smsRepository, smsDeliveryService);
+    }
+
+    @Test
+    void replay_shouldMarkTheDeadLetterOnceDeliveryAcceptedTheSms() {
+        SmsDeadLetter deadLetter = deadLetter(1L, 10L);
+        when(deadLetterRepository.findById(1L)).thenReturn(Optional.of(deadLetter));
+        when(smsRepository.findWithContentById(10L)).thenReturn(Optional.of(failedSms(10L)));
+
+        deadLetterService.replay(1L);
+
+        verify(smsDeliveryService).deliver(argThat(sms -> sms.getStatus() == SmsStatus.QUEUED));
+        assertNotNull(deadLetter.getReplayedAt());
+        verify(deadLetterRepository).save(deadLetter);
+    }
+
+    @Test
+    void replay_shouldLeaveTheDeadLetterPendingWhenDeliveryRejectsTheSms() {
+        SmsDeadLetter deadLetter = deadLetter(1L, 10L);
+        when(deadLetterRepository.findById(1L)).thenReturn(Optional.of(deadLetter));
+        when(smsRepository.findWithContentById(10L)).thenReturn(Optional.of(failedSms(10L)));
+        doThrow(new LaneSaturatedException("full")).when(smsDeliveryService).deliver(any());
+
+        assertThrows(LaneSaturatedException.class, () -> deadLetterService.replay(1L));
+
+        assertNull(deadLetter.getReplayedAt());
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void replayAll_shouldContinueAfterAFailureAndCountIt() {
+        SmsDeadLetter rejected = deadLetter(1L, 10L);
+        SmsDeadLetter accepted = deadLetter(2L, 20L);
+        when(deadLetterRepository.findByReplayedAtIsNullOrderByIdAsc()).thenReturn(List.of(rejected, accepted));
+        when(smsRepository.findWithContentById(10L)).thenReturn(Optional.of(failedSms(10L)));
+        when(smsRepository.findWithContentById(20L)).thenReturn(Optional.of(failedSms(20L)));
+        doThrow(new LaneSaturatedException("full")).when(smsDeliveryService)
+                .deliver(argThat(sms -> sms.getId() == 10L));
+
+        DeadLetterService.ReplayResult result = deadLetterService.replayAll();
+
+        assertEquals(new DeadLetterService.ReplayResult(1, 1), result);
+        assertNull(rejected.getReplayedAt());
+        assertNotNull(accepted.getReplayedAt());
+        verify(deadLetterRepository).save(accepted);
+        verify(deadLetterRepository, never()).save(rejected);
+    }
+
+    private static SmsDeadLetter deadLetter(Long id, Long smsId) {
+        return SmsDeadLetter.builder().id(id).smsId(smsId).errorType("SendingException").attempts(3).build();
+    }
+
+    private static Sms failedSms(Long id) {
+        return Sms.builder().id(id).to("+447911123456").from("+15551234567").status(SmsStatus.FAILED).build();
+    }
+}
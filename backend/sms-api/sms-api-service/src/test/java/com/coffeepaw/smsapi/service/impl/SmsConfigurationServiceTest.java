@@ -3,10 +3,12 @@ package com.coffeepaw.smsapi.service.impl;
 import com.coffeepaw.smsapi.model.SmsConfiguration;
 import com.coffeepaw.smsapi.model.dto.SmsConfigurationDto;
 import com.coffeepaw.smsapi.repository.SmsConfigurationRepository;
+import com.coffeepaw.smsapi.service.SmsConfigurationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Clock;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,12 +63,33 @@ class SmsConfigurationServiceImplTest {
 
         service.checkConfiguration();
 
-        assertEquals(140, service.getMaxSmsLength());
-        assertEquals("[Part %d of %d]", service.getSuffixTemplate());
+        assertEquals(new SmsConfigurationService.Segmentation(140, "[Part %d of %d]"), service.getSegmentation());
 
         service.checkConfiguration();
 
-        verify(configurationRepository, times(3)).findTopByOrderByCreatedAtDesc();
+        verify(configurationRepository, times(1)).findTopByOrderByCreatedAtDesc();
+    }
+
+    @Test
+    void checkConfiguration_shouldReloadConfigurationCreatedElsewhereAfterReloadInterval() {
+        Clock clock = mock(Clock.class);
+        service = new SmsConfigurationServiceImpl(configurationRepository, clock);
+        when(configurationRepository.findTopByOrderByCreatedAtDesc()).thenReturn(
+                Optional.of(SmsConfiguration.builder().suffixTemplate("[%d/%d]").maxSmsLength(140).build()),
+                Optional.of(SmsConfiguration.builder().suffixTemplate("(%d/%d)").maxSmsLength(120).build()));
+
+        when(clock.millis()).thenReturn(1_000L);
+        service.checkConfiguration();
+        when(clock.millis()).thenReturn(1_000L + SmsConfigurationServiceImpl.RELOAD_INTERVAL.toMillis() - 1);
+        service.checkConfiguration();
+
+        assertEquals(140, service.getSegmentation().maxSmsLength());
+
+        when(clock.millis()).thenReturn(1_000L + SmsConfigurationServiceImpl.RELOAD_INTERVAL.toMillis());
+        service.checkConfiguration();
+
+        assertEquals(new SmsConfigurationService.Segmentation(120, "(%d/%d)"), service.getSegmentation());
+        verify(configurationRepository, times(2)).findTopByOrderByCreatedAtDesc();
     }
 
     @Test
@@ -82,7 +105,6 @@ class SmsConfigurationServiceImplTest {
         assertEquals(150, saved.getMaxSmsLength());
         assertEquals("[x/y]", saved.getSuffixTemplate());
 
-        assertEquals(150, service.getMaxSmsLength());
-        assertEquals("[x/y]", service.getSuffixTemplate());
+        assertEquals(new SmsConfigurationService.Segmentation(150, "[x/y]"), service.getSegmentation());
     }
 }
@@ -0,0 +1,280 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.Sms;
+import com.coffeepaw.smsapi.model.SmsDeadLetter;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
+import com.coffeepaw.smsapi.repository.SmsDeadLetterRepository;
+import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.cluster.PartitionOwnership;
+import com.coffeepaw.smsapi.service.dispatch.SmsDispatcher;
+import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.SendingException;
+import com.coffeepaw.smsapi.service.gateway.AdaptiveConcurrencyLimiter;
+import com.coffeepaw.smsapi.service.gateway.CircuitBreaker;
+import com.coffeepaw.smsapi.service.gateway.SmsGateway;
+import com.coffeepaw.smsapi.service.retry.RetryBudget;
+import com.coffeepaw.smsapi.service.retry.RetryPolicies;
+import com.coffeepaw.smsapi.service.retry.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SmsDeliveryServiceImplTest {
+
+    @Mock
+    private SmsDispatcher smsDispatcher;
+
+    @Mock
+    private SmsGateway smsGateway;
+
+    @Mock
+    private SmsRepository smsRepository;
+
+    @Mock
+    private SmsDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private ScheduledExecutorService retryScheduler;
+
+    @Mock
+    private PartitionOwnership partitionOwnership;
+
+    @Captor
+    private ArgumentCaptor<SmsDeadLetter> deadLetterCaptor;
+
+    private CircuitBreaker circuitBreaker;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final List<Long> scheduledDelays = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private Sms sms;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(10, 5, 50, 100, Duration.ofSeconds(1), Duration.ofMinutes(1), 1);
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(10, 1, 20, Duration.ofSeconds(1), 0.5);
+        sms = Sms.builder()
+                .id(42L)
+                .to("+1234567890")
+                .from("+1987654321")
+                .priority(SmsPriority.HIGH)
+                .status(SmsStatus.QUEUED)
+                .content(List.of("Hello"))
+                .build();
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(smsDispatcher).dispatch(any(), any());
+        doAnswer(invocation -> {
+            scheduledDelays.add(invocation.getArgument(1));
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(retryScheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private SmsDeliveryServiceImpl service(RetryBudget budget) {
+        RetryPolicies policies = new RetryPolicies()
+                .register(SendingException.class, new RetryPolicy(4, Duration.ofMillis(100), Duration.ofSeconds(1), 2))
+                .register(DatabaseTransactionException.class, new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(50), 2))
+                .register(LaneSaturatedException.class, new RetryPolicy(2, Duration.ofMillis(10), Duration.ofMillis(50), 2))
+                .register(GatewayUnavailableException.class, new RetryPolicy(2, Duration.ofMillis(10), Duration.ofMillis(50), 2));
+        return new SmsDeliveryServiceImpl(smsDispatcher, smsGateway, circuitBreaker, concurrencyLimiter, smsRepository,
+                deadLetterRepository, policies, budget, retryScheduler, partitionOwnership, meterRegistry);
+    }
+
+    @Test
+    void deliver_shouldSendInTheSmsLaneAndMarkSent() {
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verify(smsDispatcher).dispatch(eq(SmsPriority.HIGH), any());
+        verify(smsGateway).send(sms);
+        verify(smsRepository).updateStatus(42L, SmsStatus.SENT);
+        assertEquals(SmsStatus.SENT, sms.getStatus());
+        verifyNoInteractions(retryScheduler, deadLetterRepository);
+    }
+
+    @Test
+    void deliver_shouldRetryTransientGatewayFailure() {
+        doThrow(new IllegalStateException("timeout")).doNothing().when(smsGateway).send(sms);
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verify(smsGateway, times(2)).send(sms);
+        verify(smsRepository).updateStatus(42L, SmsStatus.SENT);
+        assertEquals(1, scheduledDelays.size());
+        assertEquals(1, meterRegistry.counter("sms.delivery.retries").count());
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void deliver_shouldDeadLetterAfterMaxAttempts() {
+        doThrow(new IllegalStateException("gateway down")).when(smsGateway).send(sms);
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verify(smsGateway, times(4)).send(sms);
+        verify(smsRepository).updateStatus(42L, SmsStatus.FAILED);
+        verify(deadLetterRepository).save(deadLetterCaptor.capture());
+        SmsDeadLetter deadLetter = deadLetterCaptor.getValue();
+        assertEquals(42L, deadLetter.getSmsId());
+        assertEquals("SendingException", deadLetter.getErrorType());
+        assertEquals(4, deadLetter.getAttempts());
+        assertEquals(1, meterRegistry.counter("sms.delivery.dead.letters").count());
+    }
+
+    @Test
+    void deliver_shouldRetryOnlyStatusUpdateWhenDatabaseFailsAfterSending() {
+        when(smsRepository.updateStatus(42L, SmsStatus.SENT))
+                .thenThrow(new RuntimeException("DB error"))
+                .thenReturn(1);
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verify(smsGateway, times(1)).send(sms);
+        verify(smsRepository, times(2)).updateStatus(42L, SmsStatus.SENT);
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void deliver_shouldDeadLetterWithoutRetryWhenBudgetIsExhausted() {
+        doThrow(new IllegalStateException("gateway down")).when(smsGateway).send(sms);
+        RetryBudget budget = new RetryBudget(0.001, 1);
+        budget.tryAcquire();
+
+        service(budget).deliver(sms);
+
+        verify(smsGateway, times(1)).send(sms);
+        verifyNoInteractions(retryScheduler);
+        verify(deadLetterRepository).save(any(SmsDeadLetter.class));
+        assertEquals(1, meterRegistry.counter("sms.delivery.retries.throttled").count());
+    }
+
+    @Test
+    void deliver_shouldFailSmsWhenLaneIsSaturated() {
+        doThrow(new LaneSaturatedException("full")).when(smsDispatcher).dispatch(any(), any());
+
+        assertThrows(LaneSaturatedException.class, () -> service(new RetryBudget(10, 10)).deliver(sms));
+        verify(smsRepository).updateStatus(42L, SmsStatus.FAILED);
+    }
+
+    @Test
+    void deliver_shouldLeaveTheSmsToItsPartitionOwnerInClusterMode() {
+        when(partitionOwnership.isEnabled()).thenReturn(true);
+        sms.setPartitionId(3);
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verify(partitionOwnership).notifyQueued(3);
+        verifyNoInteractions(smsDispatcher, smsGateway);
+    }
+
+    @Test
+    void deliverClaimed_shouldFenceTheStatusUpdateOnTheClaimToken() {
+        sms.setPartitionId(3);
+        sms.setClaimToken(5L);
+        when(smsRepository.updateClaimedStatus(42L, 5L, SmsStatus.SENT)).thenReturn(1);
+
+        assertTrue(service(new RetryBudget(10, 10)).deliverClaimed(sms));
+
+        verify(smsGateway).send(sms);
+        verify(smsRepository, never()).updateStatus(any(), any());
+        assertEquals(SmsStatus.SENT, sms.getStatus());
+        verify(partitionOwnership).notifyQueued(3);
+    }
+
+    @Test
+    void deliverClaimed_shouldNotOverwriteTheStatusOnceAnotherNodeClaimedTheSms() {
+        sms.setClaimToken(5L);
+        when(smsRepository.updateClaimedStatus(42L, 5L, SmsStatus.SENT)).thenReturn(0);
+
+        service(new RetryBudget(10, 10)).deliverClaimed(sms);
+
+        assertEquals(SmsStatus.QUEUED, sms.getStatus());
+        verifyNoInteractions(retryScheduler, deadLetterRepository);
+    }
+
+    @Test
+    void deliverClaimed_shouldRequeueTheSmsWhenLaneIsSaturated() {
+        sms.setClaimToken(5L);
+        doThrow(new LaneSaturatedException("full")).when(smsDispatcher).dispatch(any(), any());
+
+        when(smsRepository.updateClaimedStatus(42L, 5L, SmsStatus.QUEUED)).thenReturn(1);
+
+        assertFalse(service(new RetryBudget(10, 10)).deliverClaimed(sms));
+        verify(smsRepository).updateClaimedStatus(42L, 5L, SmsStatus.QUEUED);
+        // no wake-up for the poller, or it would claim the same message again at once
+        verify(partitionOwnership, never()).notifyQueued(any());
+    }
+
+    @Test
+    void deliver_shouldNotCallGatewayWhileCircuitIsOpen() {
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.onError(0);
+        }
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        verifyNoInteractions(smsGateway);
+        verify(deadLetterRepository).save(deadLetterCaptor.capture());
+        assertEquals("GatewayUnavailableException", deadLetterCaptor.getValue().getErrorType());
+        assertEquals(2, meterRegistry.counter("sms.gateway.circuit.rejected").count());
+    }
+
+    @Test
+    void deliver_shouldShrinkConcurrencyLimitOnGatewayFailure() {
+        doThrow(new IllegalStateException("gateway down")).when(smsGateway).send(sms);
+
+        service(new RetryBudget(10, 10)).deliver(sms);
+
+        assertTrue(concurrencyLimiter.getLimit() < 10);
+    }
+
+    @Test
+    void retryPolicy_shouldBackOffExponentiallyWithJitterUpToMaxDelay() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofSeconds(1), 2);
+        Random random = new Random(7);
+
+        for (int attempt = 1; attempt < 10; attempt++) {
+            long ceiling = Math.min(1000, 100L << (attempt - 1));
+            for (int i = 0; i < 100; i++) {
+                long delay = policy.backoff(attempt, random).toMillis();
+                assertTrue(delay >= 0 && delay <= ceiling, "Delay " + delay + " outside [0, " + ceiling + "]");
+            }
+        }
+        assertTrue(policy.canRetry(9));
+        assertFalse(policy.canRetry(10));
+    }
+
+    @Test
+    void retryPolicies_shouldNotRetryUnregisteredErrors() {
+        RetryPolicies policies = new RetryPolicies()
+                .register(RuntimeException.class, new RetryPolicy(3, Duration.ZERO, Duration.ZERO, 1));
+
+        assertEquals(3, policies.policyFor(new SendingException("x", null)).maxAttempts());
+        assertSame(RetryPolicy.NO_RETRY, policies.policyFor(new Exception("checked")));
+    }
+}
@@ -2,10 +2,26 @@ package com.coffeepaw.smsapi.service.impl;
 
 import com.coffeepaw.smsapi.model.Sms;
 import com.coffeepaw.smsapi.model.SmsConfiguration;
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.SmsStatus;
 import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
 import com.coffeepaw.smsapi.repository.SmsRepository;
+import com.coffeepaw.smsapi.service.BlocklistService;
 import com.coffeepaw.smsapi.service.SmsConfigurationService;
+import com.coffeepaw.smsapi.service.SmsDeliveryService;
+import com.coffeepaw.smsapi.service.SmsUsageService;
+import com.coffeepaw.smsapi.service.cluster.PartitionOwnership;
+import com.coffeepaw.smsapi.service.dedup.DuplicateWindow;
 import com.coffeepaw.smsapi.service.exception.DatabaseTransactionException;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.GatewayUnavailableException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.exception.ShuttingDownException;
+import com.coffeepaw.smsapi.service.gateway.CircuitBreaker;
+import com.coffeepaw.smsapi.service.lifecycle.SmsTrafficGate;
+import com.coffeepaw.smsapi.service.routing.SmsRouter;
+import com.coffeepaw.smsapi.service.segment.SmsSegmenter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +55,30 @@ class SmsHandlerServiceImplTest {
     @Mock
     private SmsConfigurationService smsConfigurationService;
 
+    @Mock
+    private SmsDeliveryService smsDeliveryService;
+
+    @Mock
+    private CircuitBreaker gatewayCircuitBreaker;
+
+    @Mock
+    private BlocklistService blocklistService;
+
+    @Mock
+    private SmsRouter smsRouter;
+
+    @Mock
+    private SmsUsageService smsUsageService;
+
+    @Mock
+    private SmsTrafficGate smsTrafficGate;
+
+    @Mock
+    private PartitionOwnership partitionOwnership;
+
+    @Mock
+    private DuplicateWindow duplicateWindow;
+
     @InjectMocks
     private SmsHandlerServiceImpl smsHandler;
 
@@ -53,28 +93,39 @@ class SmsHandlerServiceImplTest {
         config.setSuffixTemplate("... - Part %d of %d");
         config.setMaxSmsLength(160);
 
-        when(smsConfigurationService.getMaxSmsLength()).thenReturn(160);
-        when(smsConfigurationService.getSuffixTemplate()).thenReturn("... - Part %d of %d");
+        when(smsConfigurationService.getSegmentation())
+                .thenReturn(new SmsConfigurationService.Segmentation(160, "... - Part %d of %d"));
 
-        smsHandler = new SmsHandlerServiceImpl(smsRepository, smsConfigurationService);
+        smsHandler = new SmsHandlerServiceImpl(smsRepository, smsConfigurationService, smsDeliveryService, gatewayCircuitBreaker,
+                blocklistService, smsRouter, smsUsageService, smsTrafficGate, partitionOwnership,
+                duplicateWindow);
+        when(smsTrafficGate.isAcceptingSends()).thenReturn(true);
 
         validDto.setTo("+1234567890");
-        validDto.setFrom("Service");
+        validDto.setFrom("+1987654321");
         validDto.setMessage("Hello, this is a test message that fits in one SMS.");
     }
 
     @Test
     void testSendSms_SinglePart() {
         String message = "Hello, this is short.";
-        SmsRequestDto dto = new SmsRequestDto("123", "456", message);
+        SmsRequestDto dto = new SmsRequestDto("+1 (555) 123-4567", "0044 7911 123456", message);
+        when(smsRouter.route(447911123456L)).thenReturn("uk-mobile");
+        when(partitionOwnership.partitionOf(447911123456L)).thenReturn(17);
 
         smsHandler.sendSms(dto);
 
         verify(smsRepository).save(smsCaptor.capture());
         Sms savedSms = smsCaptor.getValue();
 
-        assertEquals("123", savedSms.getFrom());
-        assertEquals("456", savedSms.getTo());
+        assertEquals("+15551234567", savedSms.getFrom());
+        assertEquals(15551234567L, savedSms.getFromKey());
+        assertEquals((short) 1, savedSms.getFromCountryCode());
+        assertEquals("+447911123456", savedSms.getTo());
+        assertEquals(447911123456L, savedSms.getToKey());
+        assertEquals((short) 44, savedSms.getToCountryCode());
+        assertEquals("uk-mobile", savedSms.getRoute());
+        assertEquals(17, savedSms.getPartitionId());
         assertEquals(message.length(), savedSms.getSize());
         assertEquals(1, savedSms.getParts());
         assertEquals(List.of(message), savedSms.getContent());
@@ -83,25 +134,26 @@ class SmsHandlerServiceImplTest {
     @Test
     void testSendSms_MultiPart() {
         String longMessage = "A".repeat(400);  // Should split into 3 parts
-        SmsRequestDto dto = new SmsRequestDto("789", "101", longMessage);
+        SmsRequestDto dto = new SmsRequestDto("+4915112345678", "4915187654321", longMessage);
 
         smsHandler.sendSms(dto);
 
         verify(smsRepository).save(smsCaptor.capture());
         Sms savedSms = smsCaptor.getValue();
 
-        assertEquals("789", savedSms.getFrom());
-        assertEquals("101", savedSms.getTo());
+        assertEquals("+4915112345678", savedSms.getFrom());
+        assertEquals("+4915187654321", savedSms.getTo());
         assertEquals(longMessage.length(), savedSms.getSize());
         assertTrue(savedSms.getParts() > 1);
         assertEquals(savedSms.getParts(), savedSms.getContent().size());
+        verify(smsUsageService).recordUsage(4915112345678L, savedSms.getParts(), longMessage.length());
 
         int totalLength = savedSms.getContent().stream().mapToInt(String::length).sum();
         assertTrue(totalLength >= longMessage.length());
 
         for (int i = 0; i < savedSms.getParts(); i++) {
             String part = savedSms.getContent().get(i);
-            assertTrue(part.contains(String.format(smsConfigurationService.getSuffixTemplate(), i + 1, savedSms.getParts())));
+            assertTrue(part.contains(String.format(smsConfigurationService.getSegmentation().suffixTemplate(), i + 1, savedSms.getParts())));
         }
     }
 
@@ -129,8 +181,9 @@ class SmsHandlerServiceImplTest {
 
     @Test
     void testGenerateMessagesMultipleParts() {
-        String msg = "A".repeat(smsConfigurationService.getMaxSmsLength() + 1);
-        List<String> messages = invokeGenerateMessages(msg, 2);
+        String msg = "A".repeat(smsConfigurationService.getSegmentation().maxSmsLength() + 1);
+        List<String> messages = SmsSegmenter.generateMessages(msg, 2, smsConfigurationService.getSegmentation().maxSmsLength(),
+                smsConfigurationService.getSegmentation().suffixTemplate());
         assertEquals(2, messages.size());
         assertPartSuffixes(messages, 2);
         assertCombinedMessageEqualsOriginal(messages, msg);
@@ -140,6 +193,71 @@ class SmsHandlerServiceImplTest {
     void shouldThrowDatabaseTransactionExceptionWhenSavingFails() {
         doThrow(new RuntimeException("DB error")).when(smsRepository).save(any(Sms.class));
         assertThrows(DatabaseTransactionException.class, () -> smsHandler.sendSms(validDto));
+        verifyNoInteractions(smsDeliveryService, smsUsageService);
+        verify(duplicateWindow).forget(1234567890L, validDto.getMessage());
+    }
+
+    @Test
+    void shouldNotRecordUsageWhenDeliveryRejectsTheSms() {
+        doThrow(new LaneSaturatedException("full")).when(smsDeliveryService).deliver(any(Sms.class));
+
+        assertThrows(LaneSaturatedException.class, () -> smsHandler.sendSms(validDto));
+        verify(smsUsageService, never()).recordUsage(anyLong(), anyInt(), anyInt());
+        verify(duplicateWindow).forget(1234567890L, validDto.getMessage());
+    }
+
+    @Test
+    void testSendSms_QueuesSavedSmsForDelivery() {
+        smsHandler.sendSms(validDto);
+
+        verify(smsRepository).save(smsCaptor.capture());
+        Sms savedSms = smsCaptor.getValue();
+        assertEquals(SmsStatus.QUEUED, savedSms.getStatus());
+        assertEquals(SmsPriority.NORMAL, savedSms.getPriority());
+        verify(smsDeliveryService).deliver(savedSms);
+    }
+
+    @Test
+    void shouldRejectWithoutSavingWhileGatewayCircuitIsOpen() {
+        when(gatewayCircuitBreaker.isOpen()).thenReturn(true);
+
+        assertThrows(GatewayUnavailableException.class, () -> smsHandler.sendSms(validDto));
+        verifyNoInteractions(smsRepository, smsDeliveryService);
+    }
+
+    @Test
+    void shouldRejectWithoutSavingWhileShuttingDown() {
+        when(smsTrafficGate.isAcceptingSends()).thenReturn(false);
+
+        assertThrows(ShuttingDownException.class, () -> smsHandler.sendSms(validDto));
+        verifyNoInteractions(smsRepository, smsDeliveryService, smsUsageService);
+    }
+
+    @Test
+    void shouldRejectWithoutSavingWhenNumberIsNotValid() {
+        validDto.setTo("Service");
+
+        assertThrows(IllegalArgumentException.class, () -> smsHandler.sendSms(validDto));
+        verifyNoInteractions(smsRepository, smsDeliveryService);
+    }
+
+    @Test
+    void shouldSuppressWithoutSegmentingWhenRecipientOptedOut() {
+        when(blocklistService.isBlocked(1234567890L)).thenReturn(true);
+
+        assertThrows(RecipientBlockedException.class, () -> smsHandler.sendSms(validDto));
+        verify(smsConfigurationService, never()).getSegmentation();
+        verifyNoInteractions(smsRepository, smsDeliveryService);
+    }
+
+    @Test
+    void shouldSuppressWithoutSegmentingWhenTheSameTextWasJustSent() {
+        when(duplicateWindow.isRepeat(1234567890L, validDto.getMessage())).thenReturn(true);
+
+        assertThrows(DuplicateSmsException.class, () -> smsHandler.sendSms(validDto));
+        verify(smsConfigurationService, never()).getSegmentation();
+        verify(duplicateWindow, never()).forget(anyLong(), any());
+        verifyNoInteractions(smsRepository, smsDeliveryService, smsUsageService);
     }
 
     private static Stream<Arguments> messageProvider() {
@@ -170,16 +288,6 @@ class SmsHandlerServiceImplTest {
         throw new IllegalArgumentException("Cannot determine parts for message of length " + length);
     }
 
-    private List<String> invokeGenerateMessages(String msg, int parts) {
-        try {
-            var method = SmsHandlerServiceImpl.class.getDeclaredMethod("generateMessages", String.class, int.class);
-            method.setAccessible(true);
-            return (List<String>) method.invoke(smsHandler, msg, parts);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private List<String> invokeProcessMessage(SmsRequestDto dto) {
         try {
             var method = SmsHandlerServiceImpl.class.getDeclaredMethod("processMessage", SmsRequestDto.class);
@@ -201,7 +309,7 @@ class SmsHandlerServiceImplTest {
 
     private void assertPartSuffixes(List<String> messages, int totalParts) {
         for (int i = 0; i < totalParts; i++) {
-            String expectedSuffix = String.format(smsConfigurationService.getSuffixTemplate(), i + 1, totalParts);
+            String expectedSuffix = String.format(smsConfigurationService.getSegmentation().suffixTemplate(), i + 1, totalParts);
             assertTrue(messages.get(i).endsWith(expectedSuffix),
                     "Expected suffix not found: " + expectedSuffix);
         }
@@ -0,0 +1,146 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.coffeepaw.smsapi.service.SmsHandlerService;
+import com.coffeepaw.smsapi.service.exception.DuplicateSmsException;
+import com.coffeepaw.smsapi.service.exception.LaneSaturatedException;
+import com.coffeepaw.smsapi.service.exception.RecipientBlockedException;
+import com.coffeepaw.smsapi.service.ingest.IngestResult;
+import com.coffeepaw.smsapi.service.ingest.IngestSummary;
+import com.coffeepaw.smsapi.service.ingest.SmsFrames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class SmsIngestServiceImplTest {
+
+    private SmsHandlerService smsHandlerService;
+    private SimpleMeterRegistry meterRegistry;
+    private SmsIngestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        smsHandlerService = mock(SmsHandlerService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SmsIngestServiceImpl(smsHandlerService, meterRegistry);
+    }
+
+    @Test
+    void ingestShouldSendEveryFrameAndAnswerEachInOrder() throws IOException {
+        doThrow(new RecipientBlockedException("opted out")).when(smsHandlerService).sendSms(argThat(to("+2")));
+        doThrow(new DuplicateSmsException("again")).when(smsHandlerService).sendSms(argThat(to("+3")));
+        doThrow(new LaneSaturatedException("full")).when(smsHandlerService).sendSms(argThat(to("+4")));
+        doThrow(new IllegalArgumentException("Invalid recipient")).when(smsHandlerService).sendSms(argThat(to("+5")));
+        doThrow(new IllegalStateException("boom")).when(smsHandlerService).sendSms(argThat(to("+6")));
+
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+        IngestSummary summary = service.ingest(new ByteArrayInputStream(frames("+1", "+2", "+3", "+4", "+5", "+6")),
+                results);
+
+        assertEquals(new IngestSummary(1, 5), summary);
+        assertEquals(List.of(IngestResult.ACCEPTED, IngestResult.BLOCKED, IngestResult.DUPLICATE,
+                IngestResult.UNAVAILABLE, IngestResult.INVALID, IngestResult.FAILED), results(results));
+        verify(smsHandlerService, times(6)).sendSms(any());
+        assertEquals(1, meterRegistry.get("sms.ingest.frames").tag("result", "accepted").counter().count());
+        assertEquals(1, meterRegistry.get("sms.ingest.frames").tag("result", "duplicate").counter().count());
+    }
+
+    @Test
+    void ingestShouldNotAnswerUnexpectedFailuresWithTheirMessage() throws IOException {
+        doThrow(new IllegalStateException("jdbc:postgresql://db:5432/sms")).when(smsHandlerService).sendSms(any());
+
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+        service.ingest(new ByteArrayInputStream(frames("+1")), results);
+
+        SmsFrames.Result result = SmsFrames.readResult(new DataInputStream(new ByteArrayInputStream(
+                results.toByteArray())));
+        assertEquals(IngestResult.FAILED, result.result());
+        assertEquals("Internal error", result.detail());
+    }
+
+    @Test
+    void ingestShouldEndWithAnInvalidResultWhenTheStreamBreaks() throws IOException {
+        byte[] frames = frames("+1", "+2");
+        byte[] truncated = Arrays.copyOf(frames, frames.length - 3);
+
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+        IngestSummary summary = service.ingest(new ByteArrayInputStream(truncated), results);
+
+        assertEquals(new IngestSummary(1, 1), summary);
+        assertEquals(List.of(IngestResult.ACCEPTED, IngestResult.INVALID), results(results));
+        verify(smsHandlerService, times(1)).sendSms(any());
+    }
+
+    @Test
+    void ingestShouldAnswerEachFrameBeforeWaitingForTheNext() throws IOException {
+        byte[] first = frames("+1");
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+        // a producer that sends one frame, then waits for its result before sending more
+        InputStream slowProducer = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                if (position < first.length) {
+                    return first[position++] & 0xFF;
+                }
+                if (position == first.length) {
+                    position++;
+                    assertTrue(results.size() > 0, "Result not flushed before blocking on the next frame");
+                }
+                return -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position >= first.length) {
+                    return read() < 0 ? -1 : 0;
+                }
+                int count = Math.min(length, first.length - position);
+                System.arraycopy(first, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+
+        service.ingest(slowProducer, results);
+
+        assertEquals(List.of(IngestResult.ACCEPTED), results(results));
+    }
+
+    private static org.mockito.ArgumentMatcher<SmsRequestDto> to(String to) {
+        return request -> request != null && to.equals(request.getTo());
+    }
+
+    private static byte[] frames(String... recipients) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (String to : recipients) {
+            SmsFrames.writeRequest(out, new SmsRequestDto("+15551234567", to, "Hello"));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<IngestResult> results(ByteArrayOutputStream bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        List<IngestResult> results = new ArrayList<>();
+        for (SmsFrames.Result result = SmsFrames.readResult(in); result != null; result = SmsFrames.readResult(in)) {
+            results.add(result.result());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,97 @@
+package com.coffeepaw.smsapi.service.impl;
+
+import com.coffeepaw.smsapi.model.dto.SmsUsageDto;
+import com.coffeepaw.smsapi.repository.SmsUsageRepository;
+import com.coffeepaw.smsapi.service.usage.SmsUsageCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SmsUsageServiceImplTest {
+
+    private static final Instant FROM = Instant.parse("2026-10-19T12:00:00Z");
+    private static final long FROM_MINUTE = FROM.getEpochSecond() / 60;
+
+    @Mock
+    private SmsUsageCounters usageCounters;
+
+    @Mock
+    private SmsUsageRepository usageRepository;
+
+    private SmsUsageServiceImpl usageService;
+
+    @BeforeEach
+    void setUp() {
+        usageService = new SmsUsageServiceImpl(usageCounters, usageRepository);
+    }
+
+    @Test
+    void recordUsage_shouldOnlyTouchTheInMemoryCounters() {
+        usageService.recordUsage(15551234567L, 3, 400);
+
+        verify(usageCounters).record(15551234567L, 3, 400);
+        verifyNoInteractions(usageRepository);
+    }
+
+    @Test
+    void getUsage_shouldSumTheRollupOverWholeMinutes() {
+        when(usageRepository.sumBySender(anyLong(), anyLong(), any()))
+                .thenReturn(List.of(usage(15551234567L, 10, 25, 3000)));
+
+        List<SmsUsageDto> usage = usageService.getUsage(FROM.plusSeconds(30), FROM.plusSeconds(3630), null);
+
+        verify(usageRepository).sumBySender(FROM_MINUTE, FROM_MINUTE + 61, null);
+        assertEquals(List.of(new SmsUsageDto("+15551234567", 10, 25, 3000)), usage);
+    }
+
+    @Test
+    void getUsage_shouldFilterOnTheNormalizedSender() {
+        usageService.getUsage(FROM, FROM.plusSeconds(60), "+1 (555) 123-4567");
+
+        verify(usageRepository).sumBySender(FROM_MINUTE, FROM_MINUTE + 1, 15551234567L);
+    }
+
+    @Test
+    void getUsage_shouldRejectInvalidSendersAndPeriods() {
+        assertThrows(IllegalArgumentException.class, () -> usageService.getUsage(FROM, FROM.plusSeconds(60), "Shop"));
+        assertThrows(IllegalArgumentException.class, () -> usageService.getUsage(FROM, FROM, null));
+        verifyNoInteractions(usageRepository);
+    }
+
+    private static SmsUsageRepository.SenderUsage usage(long senderKey, long messages, long parts, long characters) {
+        return new SmsUsageRepository.SenderUsage() {
+            @Override
+            public Long getSenderKey() {
+                return senderKey;
+            }
+
+            @Override
+            public Long getMessages() {
+                return messages;
+            }
+
+            @Override
+            public Long getParts() {
+                return parts;
+            }
+
+            @Override
+            public Long getCharacters() {
+                return characters;
+            }
+        };
+    }
+}
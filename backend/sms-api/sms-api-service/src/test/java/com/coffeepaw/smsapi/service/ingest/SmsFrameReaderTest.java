@@ -0,0 +1,92 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsFrameReaderTest {
+
+    @Test
+    void nextShouldReadBackWrittenRequestsUntilTheEndOfTheStream() throws IOException {
+        SmsRequestDto first = new SmsRequestDto("+15551234567", "+447911123456", "Grüße 👋", SmsPriority.HIGH);
+        SmsRequestDto second = new SmsRequestDto("+15551234567", "0044 7911 123456", "x".repeat(5000));
+
+        SmsFrameReader reader = new SmsFrameReader(new ByteArrayInputStream(encode(first, second)));
+
+        assertEquals(first, reader.next());
+        assertEquals(second, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextShouldRejectInvalidContentAndCarryOnWithTheNextFrame() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        // priority 9, then a recipient length running past the frame
+        out.writeInt(7);
+        out.write(new byte[]{9, 1, '1', 1, '2', 0, 1});
+        out.writeInt(8);
+        out.write(new byte[]{0, 1, '1', 9, '2', 0, 1, 'x'});
+        SmsRequestDto valid = new SmsRequestDto("+15551234567", "+447911123456", "Hello");
+        SmsFrames.writeRequest(out, valid);
+        SmsRequestDto blank = new SmsRequestDto("+15551234567", "+447911123456", "   ");
+        SmsFrames.writeRequest(out, blank);
+
+        SmsFrameReader reader = new SmsFrameReader(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals(valid, reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextShouldFailWhenTheStreamIsNotFramed() {
+        byte[] valid = encode(new SmsRequestDto("+15551234567", "+447911123456", "Hello"));
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 2);
+        byte[] oversized = {0x7F, 0, 0, 0, 1};
+
+        assertThrows(EOFException.class, () -> new SmsFrameReader(new ByteArrayInputStream(truncated)).next());
+        assertThrows(StreamCorruptedException.class, () -> new SmsFrameReader(new ByteArrayInputStream(oversized)).next());
+    }
+
+    @Test
+    void resultsShouldRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        SmsFrames.writeResult(out, IngestResult.ACCEPTED, null);
+        SmsFrames.writeResult(out, IngestResult.DUPLICATE, "The same message was just sent");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(new SmsFrames.Result(IngestResult.ACCEPTED, ""), SmsFrames.readResult(in));
+        assertEquals(new SmsFrames.Result(IngestResult.DUPLICATE, "The same message was just sent"),
+                SmsFrames.readResult(in));
+        assertNull(SmsFrames.readResult(in));
+    }
+
+    static byte[] encode(SmsRequestDto... requests) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (SmsRequestDto request : requests) {
+                SmsFrames.writeRequest(out, request);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.coffeepaw.smsapi.service.ingest;
+
+import com.coffeepaw.smsapi.model.SmsPriority;
+import com.coffeepaw.smsapi.model.dto.SmsRequestDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Decoding cost and size of a batch of send requests: a JSON array bound by Jackson and checked by Bean
+ * Validation, as a JSON bulk upload would be, against the binary frames of the streaming endpoint. The decoding
+ * rates are only measured with {@code -Pbenchmark}.
+ */
+class SmsIngestBenchmarkTest {
+
+    private static final int REQUESTS = 50_000;
+    private static final TypeReference<List<SmsRequestDto>> REQUEST_LIST = new TypeReference<>() {
+    };
+
+    @Test
+    void framesShouldBeSmallerThanJson() throws IOException {
+        List<SmsRequestDto> requests = requests();
+        byte[] json = new ObjectMapper().writeValueAsBytes(requests);
+        byte[] frames = SmsFrameReaderTest.encode(requests.toArray(SmsRequestDto[]::new));
+
+        decodeFrames(frames);
+        assertTrue(frames.length < json.length, "Frames take " + frames.length + " bytes, JSON " + json.length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void decodingRate(TestReporter reporter) throws IOException {
+        List<SmsRequestDto> requests = requests();
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] json = objectMapper.writeValueAsBytes(requests);
+        byte[] frames = SmsFrameReaderTest.encode(requests.toArray(SmsRequestDto[]::new));
+
+        try (ValidatorFactory validatorFactory = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory()) {
+            Validator validator = validatorFactory.getValidator();
+            for (int round = 0; round < 3; round++) {
+                decodeJson(objectMapper, validator, json);
+                decodeFrames(frames);
+            }
+            double jsonRate = REQUESTS / seconds(() -> decodeJson(objectMapper, validator, json));
+            double framesRate = REQUESTS / seconds(() -> decodeFrames(frames));
+
+            reporter.publishEntry("ingest decoding", String.format("%d requests: JSON %.0f/s, %.1f bytes each; "
+                            + "frames %.0f/s, %.1f bytes each", REQUESTS, jsonRate, json.length / (double) REQUESTS,
+                    framesRate, frames.length / (double) REQUESTS));
+        }
+    }
+
+    private static void decodeJson(ObjectMapper objectMapper, Validator validator, byte[] json) throws IOException {
+        List<SmsRequestDto> decoded = objectMapper.readValue(json, REQUEST_LIST);
+        int violations = 0;
+        for (SmsRequestDto request : decoded) {
+            violations += validator.validate(request).size();
+        }
+        assertEquals(REQUESTS, decoded.size());
+        assertEquals(0, violations);
+    }
+
+    private static void decodeFrames(byte[] frames) throws IOException {
+        SmsFrameReader reader = new SmsFrameReader(new ByteArrayInputStream(frames));
+        int decoded = 0;
+        while (reader.next() != null) {
+            decoded++;
+        }
+        assertEquals(REQUESTS, decoded);
+    }
+
+    private static List<SmsRequestDto> requests() {
+        Random random = new Random(39);
+        SmsPriority[] priorities = SmsPriority.values();
+        List<SmsRequestDto> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            // mostly single-part texts, some long campaign messages
+            int length = random.nextInt(10) == 0 ? 300 + random.nextInt(400) : 20 + random.nextInt(120);
+            StringBuilder message = new StringBuilder(length);
+            while (message.length() < length) {
+                message.append((char) ('a' + random.nextInt(26)));
+                if (random.nextInt(6) == 0) {
+                    message.append(' ');
+                }
+            }
+            requests.add(new SmsRequestDto("+1555" + (1_000_000 + random.nextInt(9_000_000)),
+                    "+44791" + (1_000_000 + random.nextInt(9_000_000)), message.toString(),
+                    random.nextBoolean() ? null : priorities[random.nextInt(priorities.length)]));
+        }
+        return requests;
+    }
+
+    private static double seconds(IoTask task) throws IOException {
+        long start = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+}
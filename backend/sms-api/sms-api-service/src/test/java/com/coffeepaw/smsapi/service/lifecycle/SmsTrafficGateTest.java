@@ -0,0 +1,101 @@
+package com.coffeepaw.smsapi.service.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmsTrafficGateTest {
+
+    @Test
+    void shouldAcceptSendsWhileWarmingUpButOnlyReportReadyAfterwards() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        SmsTrafficGate gate = new SmsTrafficGate(() -> await(release));
+        assertFalse(gate.isAcceptingSends());
+
+        gate.start();
+
+        assertEquals(SmsTrafficGate.State.WARMING_UP, gate.getState());
+        assertTrue(gate.isAcceptingSends());
+        assertFalse(gate.isReady());
+        release.countDown();
+        waitUntil(gate::isReady);
+        assertTrue(gate.isRunning());
+    }
+
+    @Test
+    void shouldReportReadyEvenWhenWarmUpFails() {
+        SmsTrafficGate gate = new SmsTrafficGate(() -> {
+            throw new IllegalStateException("No SMS configuration found");
+        });
+
+        gate.start();
+
+        waitUntil(gate::isReady);
+    }
+
+    @Test
+    void stopShouldRejectSendsAndWithdrawReadiness() {
+        SmsTrafficGate gate = new SmsTrafficGate(() -> {
+        });
+        gate.start();
+        waitUntil(gate::isReady);
+
+        gate.stop();
+
+        assertEquals(SmsTrafficGate.State.DRAINING, gate.getState());
+        assertFalse(gate.isAcceptingSends());
+        assertFalse(gate.isReady());
+        assertFalse(gate.isRunning());
+    }
+
+    @Test
+    void warmUpFinishingAfterStopShouldNotReportReady() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        SmsTrafficGate gate = new SmsTrafficGate(() -> {
+            await(release);
+            finished.countDown();
+        });
+        gate.start();
+
+        gate.stop();
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(SmsTrafficGate.State.DRAINING, gate.getState());
+    }
+
+    @Test
+    void shouldStartAfterAndStopBeforeTheWebServer() {
+        // the web server lifecycles run in phases DEFAULT_PHASE - 1024 and - 2048
+        assertTrue(new SmsTrafficGate(() -> {
+        }).getPhase() > Integer.MAX_VALUE - 1024);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
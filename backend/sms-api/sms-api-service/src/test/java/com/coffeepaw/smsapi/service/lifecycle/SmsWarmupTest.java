@@ -0,0 +1,33 @@
+package com.coffeepaw.smsapi.service.lifecycle;
+
+import com.coffeepaw.smsapi.service.SmsConfigurationService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class SmsWarmupTest {
+
+    private final SmsConfigurationService smsConfigurationService = mock(SmsConfigurationService.class);
+
+    @Test
+    void runShouldLoadTheConfigurationAndReadItOncePerConnection() {
+        when(smsConfigurationService.getSegmentation())
+                .thenReturn(new SmsConfigurationService.Segmentation(160, "... - Part %d of %d"));
+
+        new SmsWarmup(smsConfigurationService, 8, 1000).run();
+
+        verify(smsConfigurationService).checkConfiguration();
+        verify(smsConfigurationService, times(8)).getCurrentConfiguration();
+        verify(smsConfigurationService, never()).createNewConfiguration(any());
+    }
+
+    @Test
+    void runShouldFailWithoutAConfiguration() {
+        doThrow(new IllegalStateException("No SMS configuration found"))
+                .when(smsConfigurationService).checkConfiguration();
+
+        assertThrows(IllegalStateException.class, () -> new SmsWarmup(smsConfigurationService, 8, 1000).run());
+        verify(smsConfigurationService, never()).getCurrentConfiguration();
+    }
+}
@@ -0,0 +1,90 @@
+package com.coffeepaw.smsapi.service.routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixRouteTableTest {
+
+    private final PrefixRouteTable table = PrefixRouteTable.of(Map.of(
+            "1", "us-bulk",
+            "1555", "us-premium",
+            "44", "uk",
+            "447", "uk-mobile",
+            "4479", "uk-carrier-x",
+            "49", "de"
+    ));
+
+    @ParameterizedTest
+    @CsvSource({
+            "15551234567, us-premium",
+            "12125550100, us-bulk",
+            "447911123456, uk-carrier-x",
+            "447411123456, uk-mobile",
+            "442071234567, uk",
+            "4915112345678, de"
+    })
+    void lookupShouldReturnTheRouteOfTheLongestMatchingPrefix(long numberKey, String route) {
+        assertEquals(route, table.lookup(numberKey));
+    }
+
+    @Test
+    void lookupShouldReturnNullWhenNoPrefixMatches() {
+        assertNull(table.lookup(33123456789L));
+        assertNull(table.lookup(4));
+        assertNull(table.lookup(0));
+        assertNull(table.lookup(-1));
+    }
+
+    @Test
+    void sizeShouldCountPrefixesAndEmptyTableShouldMatchNothing() {
+        assertEquals(6, table.size());
+        assertEquals(0, PrefixRouteTable.empty().size());
+        assertNull(PrefixRouteTable.empty().lookup(15551234567L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0044", "+44", "44a", "1234567890123456"})
+    void ofShouldRejectInvalidPrefixes(String prefix) {
+        assertThrows(IllegalArgumentException.class, () -> PrefixRouteTable.of(Map.of(prefix, "route")));
+    }
+
+    @Test
+    void ofShouldRejectBlankRoutes() {
+        assertThrows(IllegalArgumentException.class, () -> PrefixRouteTable.of(Map.of("44", " ")));
+    }
+
+    @Test
+    void lookupShouldMatchALinearScanOnALargeTable() {
+        Random random = new Random(34);
+        Map<String, String> prefixRoutes = new HashMap<>();
+        while (prefixRoutes.size() < 5_000) {
+            String prefix = String.valueOf(1 + random.nextInt(9)) + random.nextInt(100_000);
+            prefixRoutes.put(prefix.substring(0, 1 + random.nextInt(prefix.length())), "route-" + random.nextInt(20));
+        }
+        PrefixRouteTable large = PrefixRouteTable.of(prefixRoutes);
+
+        for (int i = 0; i < 10_000; i++) {
+            long numberKey = 10_000_000_000L + (long) (random.nextDouble() * 89_999_999_999L);
+            assertEquals(linearScan(prefixRoutes, numberKey), large.lookup(numberKey), "Number " + numberKey);
+        }
+    }
+
+    private static String linearScan(Map<String, String> prefixRoutes, long numberKey) {
+        String digits = Long.toString(numberKey);
+        String best = null;
+        for (Map.Entry<String, String> entry : prefixRoutes.entrySet()) {
+            if (digits.startsWith(entry.getKey()) && (best == null || entry.getKey().length() > best.length())) {
+                best = entry.getKey();
+            }
+        }
+        return best == null ? null : prefixRoutes.get(best);
+    }
+}
@@ -0,0 +1,134 @@
+package com.coffeepaw.smsapi.service.routing;
+
+import com.coffeepaw.smsapi.model.SmsRoute;
+import com.coffeepaw.smsapi.repository.SmsRouteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SmsRouterTest {
+
+    private SmsRouteRepository routeRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private SmsRouter router;
+
+    @BeforeEach
+    void setUp() {
+        routeRepository = mock(SmsRouteRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        router = new SmsRouter(routeRepository, "default", meterRegistry);
+    }
+
+    @Test
+    void routeShouldUseTheDefaultRouteUntilATableIsLoaded() {
+        assertEquals("default", router.route(447911123456L));
+        assertEquals(0, router.size());
+    }
+
+    @Test
+    void reloadShouldSwapInTheStoredTableAndCountRoutesPerRoute() {
+        when(routeRepository.findAll()).thenReturn(List.of(route("44", "uk"), route("447", "uk-mobile")));
+        router.start();
+
+        assertEquals("uk-mobile", router.route(447911123456L));
+        assertEquals("uk-mobile", router.route(447411123456L));
+        assertEquals("uk", router.route(442071234567L));
+        assertEquals("default", router.route(15551234567L));
+
+        assertEquals(2, meterRegistry.get("sms.routing.routed").tag("route", "uk-mobile").counter().count());
+        assertEquals(1, meterRegistry.get("sms.routing.routed").tag("route", "uk").counter().count());
+        assertEquals(1, meterRegistry.get("sms.routing.routed").tag("route", "default").counter().count());
+
+        when(routeRepository.findAll()).thenReturn(List.of(route("1", "us")));
+        assertEquals(1, router.reload());
+
+        assertEquals("us", router.route(15551234567L));
+        assertEquals("default", router.route(447911123456L));
+    }
+
+    @Test
+    void lookupShouldFindTheLongestMatchingPrefixOfALargeTable() {
+        Map<String, String> prefixRoutes = randomTable(20_000);
+        PrefixRouteTable table = PrefixRouteTable.of(prefixRoutes);
+        long[] numbers = new Random(2).longs(1 << 12, 10_000_000_000L, 999_999_999_999_999L).toArray();
+
+        for (long number : numbers) {
+            assertEquals(scan(prefixRoutes, number), table.lookup(number), "Route of " + number);
+        }
+    }
+
+    /**
+     * Run with {@code -Pbenchmark}: a scan would slow down with 2000 times the prefixes, the trie only pays for
+     * cache misses.
+     */
+    @Test
+    @Tag("benchmark")
+    void lookupCostWithTableSize(TestReporter reporter) {
+        PrefixRouteTable small = PrefixRouteTable.of(randomTable(10));
+        PrefixRouteTable large = PrefixRouteTable.of(randomTable(20_000));
+        long[] numbers = new Random(2).longs(1 << 16, 10_000_000_000L, 999_999_999_999_999L).toArray();
+
+        measure(small, numbers);
+        measure(large, numbers);
+        double smallNanos = measure(small, numbers);
+        double largeNanos = measure(large, numbers);
+
+        reporter.publishEntry("route lookup", String.format("%.1f ns with %d prefixes (%d nodes), "
+                        + "%.1f ns with %d prefixes (%d nodes)", smallNanos, small.size(), small.nodeCount(),
+                largeNanos, large.size(), large.nodeCount()));
+    }
+
+    private static double measure(PrefixRouteTable table, long[] numbers) {
+        int rounds = 20;
+        int matched = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (long number : numbers) {
+                matched += table.lookup(number) == null ? 0 : 1;
+            }
+        }
+        double nanos = (System.nanoTime() - start) / (double) (rounds * numbers.length);
+        assertTrue(matched >= 0);
+        return nanos;
+    }
+
+    private static String scan(Map<String, String> prefixRoutes, long number) {
+        String digits = Long.toString(number);
+        String longest = null;
+        for (String prefix : prefixRoutes.keySet()) {
+            if (digits.startsWith(prefix) && (longest == null || prefix.length() > longest.length())) {
+                longest = prefix;
+            }
+        }
+        return longest == null ? null : prefixRoutes.get(longest);
+    }
+
+    private static Map<String, String> randomTable(int size) {
+        Random random = new Random(size);
+        Map<String, String> prefixRoutes = new HashMap<>();
+        while (prefixRoutes.size() < size) {
+            int length = 1 + random.nextInt(7);
+            StringBuilder prefix = new StringBuilder().append(1 + random.nextInt(9));
+            while (prefix.length() < length) {
+                prefix.append(random.nextInt(10));
+            }
+            prefixRoutes.put(prefix.toString(), "route-" + random.nextInt(50));
+        }
+        return prefixRoutes;
+    }
+
+    private static SmsRoute route(String prefix, String route) {
+        return SmsRoute.builder().prefix(prefix).route(route).build();
+    }
+}
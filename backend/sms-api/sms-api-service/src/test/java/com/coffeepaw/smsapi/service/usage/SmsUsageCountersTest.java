@@ -0,0 +1,181 @@
+package com.coffeepaw.smsapi.service.usage;
+
+import com.coffeepaw.smsapi.model.SmsUsage;
+import com.coffeepaw.smsapi.repository.SmsUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class SmsUsageCountersTest {
+
+    private static final long SENDER = 15551234567L;
+    private static final long OTHER_SENDER = 447911123456L;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-19T12:00:30Z"));
+    private SmsUsageRepository usageRepository;
+    private SmsUsageCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        usageRepository = mock(SmsUsageRepository.class);
+        counters = new SmsUsageCounters(usageRepository, Duration.ofSeconds(10), clock);
+    }
+
+    @Test
+    void flushShouldWriteTheTotalsOfEachSenderAndMinute() {
+        long minute = clock.millis() / 60_000;
+        counters.record(SENDER, 1, 20);
+        counters.record(SENDER, 3, 400);
+        counters.record(OTHER_SENDER, 2, 200);
+        clock.advance(Duration.ofMinutes(1));
+        counters.record(SENDER, 1, 10);
+
+        assertEquals(3, counters.flush());
+
+        List<SmsUsage> rows = flushedRows(1);
+        assertRow(rows.get(0), SENDER, minute, 2, 4, 420);
+        assertRow(rows.get(1), SENDER, minute + 1, 1, 1, 10);
+        assertRow(rows.get(2), OTHER_SENDER, minute, 1, 2, 200);
+        assertTrue(rows.stream().allMatch(row -> counters.getInstanceId().equals(row.getInstanceId())));
+    }
+
+    @Test
+    void flushShouldRewriteRunningTotalsOfChangedBucketsOnly() {
+        counters.record(SENDER, 1, 20);
+        counters.record(OTHER_SENDER, 1, 20);
+        counters.flush();
+
+        assertEquals(0, counters.flush());
+        counters.record(SENDER, 2, 300);
+        assertEquals(1, counters.flush());
+
+        List<SmsUsage> rows = flushedRows(2);
+        assertEquals(1, rows.size());
+        assertRow(rows.getFirst(), SENDER, clock.millis() / 60_000, 2, 3, 320);
+    }
+
+    @Test
+    void failedFlushShouldLeaveBucketsPendingForTheNextFlush() {
+        counters.record(SENDER, 1, 20);
+        doThrow(new RuntimeException("Database down")).doNothing().when(usageRepository).upsertUsage(anyList());
+
+        assertThrows(RuntimeException.class, counters::flush);
+        counters.record(SENDER, 1, 20);
+        assertEquals(1, counters.flush());
+
+        List<SmsUsage> rows = flushedRows(2);
+        assertRow(rows.getFirst(), SENDER, clock.millis() / 60_000, 2, 2, 40);
+    }
+
+    @Test
+    void flushShouldDropOldBucketsOnceFullyFlushed() {
+        counters.record(SENDER, 1, 20);
+        clock.advance(Duration.ofMinutes(3));
+        counters.record(OTHER_SENDER, 1, 20);
+        assertEquals(2, counters.bucketCount());
+
+        counters.flush();
+
+        assertEquals(1, counters.bucketCount());
+        counters.flush();
+        verify(usageRepository, times(1)).upsertUsage(anyList());
+    }
+
+    @Test
+    void everyRunShouldCountUnderItsOwnInstanceId() {
+        SmsUsageCounters restarted = new SmsUsageCounters(usageRepository, Duration.ofSeconds(10), clock);
+
+        assertNotEquals(counters.getInstanceId(), restarted.getInstanceId());
+    }
+
+    @Test
+    void concurrentRecordsShouldAllBeCounted() throws Exception {
+        int threads = 8;
+        int sendsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < sendsPerThread; i++) {
+                    counters.record(SENDER, 2, 300);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        counters.flush();
+
+        long sends = (long) threads * sendsPerThread;
+        assertRow(flushedRows(1).getFirst(), SENDER, clock.millis() / 60_000, sends, sends * 2, sends * 300);
+    }
+
+    private List<SmsUsage> flushedRows(int flushes) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SmsUsage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(usageRepository, times(flushes)).upsertUsage(captor.capture());
+        List<SmsUsage> rows = new ArrayList<>(captor.getValue());
+        rows.sort(Comparator.comparing(SmsUsage::getSenderKey).thenComparing(SmsUsage::getBucketMinute));
+        return rows;
+    }
+
+    private static void assertRow(SmsUsage row, long senderKey, long minute, long messages, long parts,
+                                  long characters) {
+        assertEquals(senderKey, row.getSenderKey());
+        assertEquals(minute, row.getBucketMinute());
+        assertEquals(messages, row.getMessages());
+        assertEquals(parts, row.getParts());
+        assertEquals(characters, row.getCharacters());
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis;
+
+        private MutableClock(Instant start) {
+            this.millis = new AtomicLong(start.toEpochMilli());
+        }
+
+        private void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}